@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.cloud.google;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
+
+/**
+ * The blob operations {@link GoogleTempFileStore} is built on, so that it can be tested against a
+ * fake rather than a bucket.
+ */
+interface BlobStore {
+
+  /** Most blobs a single {@link #compose} call can combine, as set by Cloud Storage. */
+  int MAX_COMPOSE_SOURCES = 32;
+
+  /** Writes {@code content} to blob {@code name}, replacing anything already there. */
+  void write(String name, byte[] content) throws IOException;
+
+  /**
+   * Streams {@code content} to blob {@code name}, replacing anything already there. Nothing is
+   * written if reading {@code content} fails.
+   */
+  void write(String name, InputStream content) throws IOException;
+
+  /**
+   * Writes the concatenation of the {@code sourceNames} blobs, in order, to blob {@code
+   * targetName}. At most {@link #MAX_COMPOSE_SOURCES} blobs can be combined at once.
+   */
+  void compose(List<String> sourceNames, String targetName) throws IOException;
+
+  /** Deletes the named blobs, ignoring any that don't exist. */
+  void delete(List<String> names);
+
+  InputStreamWrapper read(String name) throws IOException;
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.cloud.google;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Bucket;
+import com.google.cloud.storage.Storage.ComposeRequest;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
+
+/** {@link BlobStore} backed by a Cloud Storage bucket. */
+class GcsBlobStore implements BlobStore {
+  private final Bucket bucket;
+
+  GcsBlobStore(Bucket bucket) {
+    this.bucket = bucket;
+  }
+
+  @Override
+  public void write(String name, byte[] content) {
+    bucket.create(name, content);
+  }
+
+  @Override
+  public void write(String name, InputStream content) throws IOException {
+    WriteChannel writer =
+        bucket.getStorage().writer(BlobInfo.newBuilder(bucket.getName(), name).build());
+    ByteStreams.copy(content, Channels.newOutputStream(writer));
+    // Closing the channel is what finishes the upload, so it's left open if the copy fails
+    writer.close();
+  }
+
+  @Override
+  public void compose(List<String> sourceNames, String targetName) {
+    bucket
+        .getStorage()
+        .compose(
+            ComposeRequest.newBuilder()
+                .addSource(sourceNames)
+                .setTarget(BlobInfo.newBuilder(bucket.getName(), targetName).build())
+                .build());
+  }
+
+  @Override
+  public void delete(List<String> names) {
+    if (names.isEmpty()) {
+      return;
+    }
+    bucket
+        .getStorage()
+        .delete(
+            names.stream()
+                .map(name -> BlobId.of(bucket.getName(), name))
+                .collect(Collectors.toList()));
+  }
+
+  @Override
+  public InputStreamWrapper read(String name) throws IOException {
+    Blob blob = bucket.get(name);
+    if (blob == null) {
+      throw new IOException("No blob named " + name + " in bucket " + bucket.getName());
+    }
+    ReadChannel channel = blob.reader();
+    return new InputStreamWrapper(Channels.newInputStream(channel), blob.getSize());
+  }
+}
@@ -49,9 +49,21 @@ public class GoogleCloudExtension implements CloudExtension {
     String cloud = context.cloud();
     Constants.Environment environment = context.environment();
     Monitor monitor = context.getMonitor();
+    int tempFilePartSizeBytes =
+        context.getSetting(
+            "gcsTempFilePartSizeBytes", GoogleTempFileStore.DEFAULT_PART_SIZE_BYTES);
+    int tempFileUploadParallelism =
+        context.getSetting("gcsTempFileUploadParallelism", GoogleTempFileStore.DEFAULT_PARALLELISM);
     GoogleCloudExtensionModule module =
         new GoogleCloudExtensionModule(
-            httpTransport, jsonFactory, objectMapper, cloud, environment, monitor);
+            httpTransport,
+            jsonFactory,
+            objectMapper,
+            cloud,
+            environment,
+            monitor,
+            tempFilePartSizeBytes,
+            tempFileUploadParallelism);
     injector = Guice.createInjector(module);
     initialized = true;
   }
@@ -64,6 +64,8 @@ final class GoogleCloudExtensionModule extends CloudExtensionModule {
   private final Monitor monitor;
   private final String cloud;
   private final Environment environment;
+  private final int tempFilePartSizeBytes;
+  private final int tempFileUploadParallelism;
 
   GoogleCloudExtensionModule(
       HttpTransport httpTransport,
@@ -71,13 +73,17 @@ final class GoogleCloudExtensionModule extends CloudExtensionModule {
       ObjectMapper objectMapper,
       String cloud,
       Environment environment,
-      Monitor monitor) {
+      Monitor monitor,
+      int tempFilePartSizeBytes,
+      int tempFileUploadParallelism) {
     this.httpTransport = httpTransport;
     this.jsonFactory = jsonFactory;
     this.objectMapper = objectMapper;
     this.cloud = cloud;
     this.environment = environment;
     this.monitor = monitor;
+    this.tempFilePartSizeBytes = tempFilePartSizeBytes;
+    this.tempFileUploadParallelism = tempFileUploadParallelism;
   }
 
   /**
@@ -124,6 +130,12 @@ final class GoogleCloudExtensionModule extends CloudExtensionModule {
     return storage.get(bucketId);
   }
 
+  @Provides
+  @Singleton
+  GoogleTempFileStore getTempFileStore(Bucket bucket) {
+    return new GoogleTempFileStore(bucket, tempFilePartSizeBytes, tempFileUploadParallelism);
+  }
+
   @Provides
   GoogleCredentials getCredentials(@ProjectId String projectId) throws GoogleCredentialException {
     validateUsingGoogle(cloud);
@@ -18,6 +18,7 @@ import org.datatransferproject.types.transfer.errors.ErrorDetail;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -79,23 +80,37 @@ public class GoogleCloudIdempotentImportExecutor implements IdempotentImportExec
 
     try {
       T result = callable.call();
-      monitor.debug(
-          () -> jobIdPrefix + format("Storing key %s in cache for %s", idempotentId, itemName));
-      addResult(idempotentId, result);
+      recordSuccess(idempotentId, itemName, result);
       return result;
     } catch (Exception e) {
-      ErrorDetail errorDetail =
-          ErrorDetail.builder()
-              .setId(idempotentId)
-              .setTitle(itemName)
-              .setException(Throwables.getStackTraceAsString(e))
-              .build();
-      addError(idempotentId, errorDetail);
-      monitor.severe(() -> jobIdPrefix + "Problem with importing item: " + errorDetail);
+      recordError(idempotentId, itemName, e);
       throw e;
     }
   }
 
+  @Override
+  public <T extends Serializable> void recordSuccess(String idempotentId, String itemName, T value)
+      throws IOException {
+    Preconditions.checkNotNull(jobId, "recording a result before initialization of a job");
+    monitor.debug(
+        () -> jobIdPrefix + format("Storing key %s in cache for %s", idempotentId, itemName));
+    addResult(idempotentId, value);
+  }
+
+  @Override
+  public void recordError(String idempotentId, String itemName, Exception exception)
+      throws IOException {
+    Preconditions.checkNotNull(jobId, "recording an error before initialization of a job");
+    ErrorDetail errorDetail =
+        ErrorDetail.builder()
+            .setId(idempotentId)
+            .setTitle(itemName)
+            .setException(Throwables.getStackTraceAsString(exception))
+            .build();
+    addError(idempotentId, errorDetail);
+    monitor.severe(() -> jobIdPrefix + "Problem with importing item: " + errorDetail);
+  }
+
   private <T extends Serializable> void addResult(String idempotentId, T result)
       throws IOException {
     knownValues.put(idempotentId, result);
@@ -145,7 +160,9 @@ public class GoogleCloudIdempotentImportExecutor implements IdempotentImportExec
 
   @Override
   public Collection<ErrorDetail> getErrors() {
-    return ImmutableList.copyOf(errors.values());
+    synchronized (errors) {
+      return ImmutableList.copyOf(errors.values());
+    }
   }
 
   // In non-tests setJobId is only ever called once per executor, so the initialization of
@@ -154,8 +171,9 @@ public class GoogleCloudIdempotentImportExecutor implements IdempotentImportExec
   public void setJobId(UUID jobId) {
     Preconditions.checkNotNull(jobId);
     this.jobId = jobId;
-    this.knownValues = getKnownValuesForJob(jobId);
-    this.errors = getErrorDetailsForJob(jobId);
+    // Importers may record results for several items concurrently.
+    this.knownValues = Collections.synchronizedMap(getKnownValuesForJob(jobId));
+    this.errors = Collections.synchronizedMap(getErrorDetailsForJob(jobId));
     jobIdPrefix = "Job " + jobId + ": ";
   }
 
@@ -331,7 +331,7 @@ public final class GoogleJobStore extends JobStoreWithValidator {
   }
 
   @Override
-  public void create(UUID jobId, String key, InputStream stream) {
+  public void create(UUID jobId, String key, InputStream stream) throws IOException {
     googleTempFileStore.create(jobId, key, stream);
   }
 
@@ -378,7 +378,7 @@ public final class GoogleJobStore extends JobStoreWithValidator {
   }
 
   @Override
-  public InputStreamWrapper getStream(UUID jobId, String key) {
+  public InputStreamWrapper getStream(UUID jobId, String key) throws IOException {
     return googleTempFileStore.getStream(jobId, key);
   }
 
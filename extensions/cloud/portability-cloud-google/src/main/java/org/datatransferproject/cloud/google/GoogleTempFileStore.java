@@ -16,37 +16,220 @@
 
 package org.datatransferproject.cloud.google;
 
-import com.google.cloud.ReadChannel;
-import com.google.cloud.storage.Blob;
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.cloud.storage.Bucket;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.inject.Inject;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.IOException;
 import java.io.InputStream;
-import java.nio.channels.Channels;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
 
-/** Class for temporarily storing user data for transfer */
+/**
+ * Class for temporarily storing user data for transfer.
+ *
+ * <p>The first part of every stream is streamed straight into its blob, so streams up to the part
+ * size are never held in memory. The rest of a longer stream is split into parts that are uploaded
+ * side by side, over several connections, and then composed onto the end of the blob; the parts
+ * are deleted once they are no longer needed. While they upload, a stream holds up to parallelism
+ * times the part size in memory, 32MiB with the defaults.
+ */
 public class GoogleTempFileStore {
+  public static final int DEFAULT_PART_SIZE_BYTES = 8 * 1024 * 1024;
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  private static final String PART_INFIX = ".part-";
+
   // TODO: extract a temp file store interface
-  private final Bucket bucket;
+  private final BlobStore blobStore;
+  private final int partSizeBytes;
+  private final int parallelism;
+  private final ExecutorService uploadExecutor;
 
-  @Inject
   public GoogleTempFileStore(Bucket bucket) {
-    this.bucket = bucket;
+    this(new GcsBlobStore(bucket), DEFAULT_PART_SIZE_BYTES, DEFAULT_PARALLELISM);
   }
 
-  Blob create(UUID jobId, String keyName, InputStream inputStream) {
-    String blobName = getDataKeyName(jobId, keyName);
-    // TODO: use result to determine success/failure
-    return bucket.create(blobName, inputStream);
+  /**
+   * @param partSizeBytes streams longer than this are uploaded in parts of this size
+   * @param parallelism the most parts of a stream uploaded at once, which is also how many parts
+   *     of a stream are held in memory while they upload
+   */
+  public GoogleTempFileStore(Bucket bucket, int partSizeBytes, int parallelism) {
+    this(new GcsBlobStore(bucket), partSizeBytes, parallelism);
   }
 
-  InputStreamWrapper getStream(UUID jobId, String keyName) {
+  @VisibleForTesting
+  GoogleTempFileStore(BlobStore blobStore, int partSizeBytes, int parallelism) {
+    checkArgument(partSizeBytes > 0, "Part size must be positive, got %s", partSizeBytes);
+    checkArgument(parallelism > 0, "Parallelism must be positive, got %s", parallelism);
+    this.blobStore = blobStore;
+    this.partSizeBytes = partSizeBytes;
+    this.parallelism = parallelism;
+    this.uploadExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("gcs-part-upload-%d")
+                .build());
+  }
+
+  void create(UUID jobId, String keyName, InputStream inputStream) throws IOException {
     String blobName = getDataKeyName(jobId, keyName);
-    Blob blob = bucket.get(blobName);
-    ReadChannel channel = blob.reader();
-    return new InputStreamWrapper(Channels.newInputStream(channel), blob.getSize());
+    PushbackInputStream stream = new PushbackInputStream(inputStream, 1);
+    CountingInputStream firstPart =
+        new CountingInputStream(ByteStreams.limit(stream, partSizeBytes));
+    blobStore.write(blobName, firstPart);
+    if (firstPart.getCount() < partSizeBytes || isAtEnd(stream)) {
+      return;
+    }
+    createInParts(blobName, stream);
+  }
+
+  InputStreamWrapper getStream(UUID jobId, String keyName) throws IOException {
+    return blobStore.read(getDataKeyName(jobId, keyName));
+  }
+
+  /** Composes the rest of {@code inputStream} onto the first part, already in {@code blobName}. */
+  private void createInParts(String blobName, InputStream inputStream) throws IOException {
+    // Unique per call, so a retried or concurrent write of the same key can't pick up these parts
+    String partPrefix = blobName + PART_INFIX + UUID.randomUUID() + "-";
+    List<String> temporaryNames = new ArrayList<>();
+    List<Future<?>> uploads = new ArrayList<>();
+    Semaphore uploadPermits = new Semaphore(parallelism);
+    AtomicBoolean uploadFailed = new AtomicBoolean(false);
+    boolean composed = false;
+    try {
+      // Cloud Storage can compose a blob from itself, so the parts are appended to it in place
+      List<String> partNames = new ArrayList<>();
+      partNames.add(blobName);
+      while (true) {
+        // Each part takes a permit before it is read and gives it back once it is uploaded, so no
+        // more than parallelism parts are held in memory
+        uploadPermits.acquire();
+        byte[] part = uploadFailed.get() ? new byte[0] : readPart(inputStream);
+        if (part.length == 0) {
+          uploadPermits.release();
+          break;
+        }
+        String partName = partPrefix + partNames.size();
+        partNames.add(partName);
+        temporaryNames.add(partName);
+        byte[] content = part;
+        uploads.add(
+            uploadExecutor.submit(
+                () -> {
+                  try {
+                    if (!uploadFailed.get()) {
+                      blobStore.write(partName, content);
+                    }
+                    return null;
+                  } catch (IOException | RuntimeException e) {
+                    uploadFailed.set(true);
+                    throw e;
+                  } finally {
+                    uploadPermits.release();
+                  }
+                }));
+        if (content.length < partSizeBytes) {
+          break;
+        }
+      }
+      for (Future<?> upload : uploads) {
+        awaitUpload(upload);
+      }
+      compose(partNames, blobName, partPrefix, temporaryNames);
+      composed = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted uploading the parts of " + blobName);
+    } finally {
+      // Stops parts that haven't started writing yet, and keeps any still in flight from landing
+      // after the delete below
+      uploadFailed.set(true);
+      for (Future<?> upload : uploads) {
+        try {
+          Uninterruptibles.getUninterruptibly(upload);
+        } catch (ExecutionException e) {
+          // Already reported through awaitUpload, or superseded by an earlier failure
+        }
+      }
+      if (!composed) {
+        // Holds only the first part, which mustn't pass for the whole stream
+        temporaryNames.add(blobName);
+      }
+      try {
+        blobStore.delete(temporaryNames);
+      } catch (RuntimeException e) {
+        // Left over parts are only wasted space, don't hide what happened to the upload itself
+      }
+    }
+  }
+
+  /**
+   * Composes {@code sourceNames} into {@code targetName}, through intermediate blobs when there
+   * are more sources than one compose call takes.
+   */
+  private void compose(
+      List<String> sourceNames, String targetName, String partPrefix, List<String> temporaryNames)
+      throws IOException {
+    List<String> sources = sourceNames;
+    int round = 0;
+    while (sources.size() > BlobStore.MAX_COMPOSE_SOURCES) {
+      List<String> composed = new ArrayList<>();
+      for (List<String> group : Lists.partition(sources, BlobStore.MAX_COMPOSE_SOURCES)) {
+        String intermediateName = partPrefix + "compose-" + round + "-" + composed.size();
+        temporaryNames.add(intermediateName);
+        blobStore.compose(group, intermediateName);
+        composed.add(intermediateName);
+      }
+      sources = composed;
+      round++;
+    }
+    blobStore.compose(sources, targetName);
+  }
+
+  private byte[] readPart(InputStream inputStream) throws IOException {
+    return ByteStreams.toByteArray(ByteStreams.limit(inputStream, partSizeBytes));
+  }
+
+  private static boolean isAtEnd(PushbackInputStream stream) throws IOException {
+    int next = stream.read();
+    if (next == -1) {
+      return true;
+    }
+    stream.unread(next);
+    return false;
+  }
+
+  private static void awaitUpload(Future<?> upload) throws IOException, InterruptedException {
+    try {
+      upload.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Couldn't upload part", cause);
+    }
   }
 
   @VisibleForTesting
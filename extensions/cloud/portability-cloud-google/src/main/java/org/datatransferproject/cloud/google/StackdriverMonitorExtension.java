@@ -5,6 +5,7 @@ import com.google.cloud.logging.Logging;
 import com.google.cloud.logging.LoggingOptions;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.api.launcher.MonitorExtension;
+import org.datatransferproject.launcher.monitor.AsyncConsoleMonitor;
 import org.datatransferproject.launcher.monitor.ConsoleMonitor;
 import org.datatransferproject.launcher.monitor.MultiplexMonitor;
 
@@ -27,7 +28,7 @@ public class StackdriverMonitorExtension implements MonitorExtension {
     return new MultiplexMonitor(new StackdriverMonitor(
         this.logging,
         GoogleCloudUtils.getProjectId()),
-        new ConsoleMonitor(ConsoleMonitor.Level.INFO));
+        new AsyncConsoleMonitor(ConsoleMonitor.Level.INFO));
   }
 
   @Override
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.cloud.google;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
+
+/**
+ * In-memory {@link BlobStore} that enforces the same compose limit as Cloud Storage, and can be
+ * made to fail writes to chosen blobs.
+ */
+class FakeBlobStore implements BlobStore {
+  private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+  private final Set<String> failingWrites = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger writeCount = new AtomicInteger();
+  private final AtomicInteger composeCount = new AtomicInteger();
+
+  @Override
+  public void write(String name, byte[] content) throws IOException {
+    for (String failing : failingWrites) {
+      if (name.endsWith(failing)) {
+        throw new IOException("Write to " + name + " failed");
+      }
+    }
+    writeCount.incrementAndGet();
+    blobs.put(name, content.clone());
+  }
+
+  @Override
+  public void write(String name, InputStream content) throws IOException {
+    // Read in full before anything is stored, as a streamed upload only lands once it completes
+    ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+    content.transferTo(streamed);
+    write(name, streamed.toByteArray());
+  }
+
+  @Override
+  public void compose(List<String> sourceNames, String targetName) throws IOException {
+    if (sourceNames.isEmpty() || sourceNames.size() > MAX_COMPOSE_SOURCES) {
+      throw new IllegalArgumentException(
+          "Can't compose " + sourceNames.size() + " blobs into " + targetName);
+    }
+    ByteArrayOutputStream composed = new ByteArrayOutputStream();
+    for (String sourceName : sourceNames) {
+      byte[] source = blobs.get(sourceName);
+      if (source == null) {
+        throw new IOException("No blob named " + sourceName);
+      }
+      composed.write(source);
+    }
+    composeCount.incrementAndGet();
+    blobs.put(targetName, composed.toByteArray());
+  }
+
+  @Override
+  public void delete(List<String> names) {
+    names.forEach(blobs::remove);
+  }
+
+  @Override
+  public InputStreamWrapper read(String name) throws IOException {
+    byte[] content = blobs.get(name);
+    if (content == null) {
+      throw new IOException("No blob named " + name);
+    }
+    return new InputStreamWrapper(new ByteArrayInputStream(content), (long) content.length);
+  }
+
+  /** Makes writes to any blob whose name ends with {@code nameSuffix} fail. */
+  void failWritesTo(String nameSuffix) {
+    failingWrites.add(nameSuffix);
+  }
+
+  Set<String> getBlobNames() {
+    return blobs.keySet();
+  }
+
+  int getWriteCount() {
+    return writeCount.get();
+  }
+
+  int getComposeCount() {
+    return composeCount.get();
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.cloud.google;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GoogleTempFileStoreTest {
+
+  private static final UUID JOB_ID = UUID.randomUUID();
+  private static final String KEY = "video";
+
+  private FakeBlobStore blobStore;
+
+  @BeforeEach
+  public void setUp() {
+    blobStore = new FakeBlobStore();
+  }
+
+  @Test
+  public void create_writesStreamsShorterThanAPartAsOneBlob() throws Exception {
+    GoogleTempFileStore store = new GoogleTempFileStore(blobStore, 16, 2);
+
+    store.create(JOB_ID, KEY, stream("short"));
+
+    assertThat(read(store)).isEqualTo("short");
+    assertThat(blobStore.getWriteCount()).isEqualTo(1);
+    assertThat(blobStore.getComposeCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void create_writesStreamsOfExactlyOnePartAsOneBlob() throws Exception {
+    GoogleTempFileStore store = new GoogleTempFileStore(blobStore, 4, 2);
+
+    store.create(JOB_ID, KEY, stream("abcd"));
+
+    assertThat(read(store)).isEqualTo("abcd");
+    assertThat(blobStore.getWriteCount()).isEqualTo(1);
+    assertThat(blobStore.getComposeCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void create_composesStreamsEndingOnAPartBoundary() throws Exception {
+    GoogleTempFileStore store = new GoogleTempFileStore(blobStore, 4, 1);
+
+    store.create(JOB_ID, KEY, stream("abcdefgh"));
+
+    assertThat(read(store)).isEqualTo("abcdefgh");
+    assertThat(blobStore.getWriteCount()).isEqualTo(2);
+    assertThat(blobStore.getComposeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void create_uploadsLongStreamsInPartsAndComposesThem() throws Exception {
+    GoogleTempFileStore store = new GoogleTempFileStore(blobStore, 4, 2);
+
+    store.create(JOB_ID, KEY, stream("abcdefghij"));
+
+    assertThat(read(store)).isEqualTo("abcdefghij");
+    assertThat(blobStore.getWriteCount()).isEqualTo(3);
+    assertThat(blobStore.getComposeCount()).isEqualTo(1);
+    assertThat(blobStore.getBlobNames())
+        .containsExactly(GoogleTempFileStore.getDataKeyName(JOB_ID, KEY));
+  }
+
+  @Test
+  public void create_composesThroughIntermediateBlobsPastTheComposeLimit() throws Exception {
+    GoogleTempFileStore store = new GoogleTempFileStore(blobStore, 1, 4);
+    String content = Strings.repeat("0123456789", 7);
+
+    store.create(JOB_ID, KEY, stream(content));
+
+    assertThat(read(store)).isEqualTo(content);
+    // 70 parts go into 3 intermediate blobs, which go into the final one
+    assertThat(blobStore.getComposeCount()).isEqualTo(4);
+    assertThat(blobStore.getBlobNames())
+        .containsExactly(GoogleTempFileStore.getDataKeyName(JOB_ID, KEY));
+  }
+
+  @Test
+  public void create_removesPartsWhenAPartFails() {
+    GoogleTempFileStore store = new GoogleTempFileStore(blobStore, 4, 2);
+    blobStore.failWritesTo("-1");
+
+    assertThrows(IOException.class, () -> store.create(JOB_ID, KEY, stream("abcdefghij")));
+
+    assertThat(blobStore.getBlobNames()).isEmpty();
+  }
+
+  @Test
+  public void create_removesTheFirstPartWhenTheStreamFails() {
+    GoogleTempFileStore store = new GoogleTempFileStore(blobStore, 4, 2);
+    InputStream failing =
+        new InputStream() {
+          @Override
+          public int read() throws IOException {
+            throw new IOException("Source failed");
+          }
+        };
+
+    assertThrows(
+        IOException.class,
+        () -> store.create(JOB_ID, KEY, new SequenceInputStream(stream("abcdef"), failing)));
+
+    assertThat(blobStore.getBlobNames()).isEmpty();
+  }
+
+  private static ByteArrayInputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(UTF_8));
+  }
+
+  private static String read(GoogleTempFileStore store) throws IOException {
+    return new String(ByteStreams.toByteArray(store.getStream(JOB_ID, KEY).getStream()), UTF_8);
+  }
+}
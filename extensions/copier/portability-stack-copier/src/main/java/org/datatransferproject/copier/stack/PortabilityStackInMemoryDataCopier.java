@@ -17,15 +17,18 @@
 package org.datatransferproject.copier.stack;
 
 import com.google.inject.Provider;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Stack;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.storage.JobStore;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
 import org.datatransferproject.spi.transfer.provider.ExportResult;
 import org.datatransferproject.spi.transfer.provider.Exporter;
@@ -33,6 +36,7 @@ import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.spi.transfer.types.ContinuationData;
 import org.datatransferproject.spi.transfer.types.CopyException;
 import org.datatransferproject.transfer.Annotations;
+import org.datatransferproject.transfer.copier.PendingContainerBudget;
 import org.datatransferproject.transfer.copier.InMemoryDataCopier;
 import org.datatransferproject.transfer.copier.PortabilityAbstractInMemoryDataCopier;
 import org.datatransferproject.types.common.ExportInformation;
@@ -47,7 +51,6 @@ public class PortabilityStackInMemoryDataCopier extends PortabilityAbstractInMem
 
   private Stack<ExportInformation> exportInfoStack = new Stack<>();
 
-  @Inject
   public PortabilityStackInMemoryDataCopier(
       Provider<Exporter> exporterProvider,
       Provider<Importer> importerProvider,
@@ -57,6 +60,31 @@ public class PortabilityStackInMemoryDataCopier extends PortabilityAbstractInMem
       @Annotations.RetryingExecutor IdempotentImportExecutor retryingIdempotentImportExecutor,
       DtpInternalMetricRecorder dtpInternalMetricRecorder,
       JobStore jobStore) {
+    this(
+        exporterProvider,
+        importerProvider,
+        retryStrategyLibraryProvider,
+        monitor,
+        idempotentImportExecutor,
+        retryingIdempotentImportExecutor,
+        dtpInternalMetricRecorder,
+        jobStore,
+        jobStore,
+        null);
+  }
+
+  @Inject
+  public PortabilityStackInMemoryDataCopier(
+      Provider<Exporter> exporterProvider,
+      Provider<Importer> importerProvider,
+      Provider<RetryStrategyLibrary> retryStrategyLibraryProvider,
+      Monitor monitor,
+      IdempotentImportExecutor idempotentImportExecutor,
+      @Annotations.RetryingExecutor IdempotentImportExecutor retryingIdempotentImportExecutor,
+      DtpInternalMetricRecorder dtpInternalMetricRecorder,
+      JobStore jobStore,
+      TemporaryPerJobDataStore temporaryStore,
+      @Nullable PendingContainerBudget pendingContainerBudget) {
     super(
         exporterProvider,
         importerProvider,
@@ -65,7 +93,9 @@ public class PortabilityStackInMemoryDataCopier extends PortabilityAbstractInMem
         idempotentImportExecutor,
         retryingIdempotentImportExecutor,
         dtpInternalMetricRecorder,
-        jobStore);
+        jobStore,
+        temporaryStore,
+        pendingContainerBudget);
   }
 
   @Override
@@ -116,7 +146,8 @@ public class PortabilityStackInMemoryDataCopier extends PortabilityAbstractInMem
     }
     while (!exportInfoStack.isEmpty()) {
       int copyIteration = COPY_ITERATION_COUNTER.incrementAndGet();
-      ExportInformation currentExportInfo = exportInfoStack.pop();
+      ExportInformation poppedExportInfo = exportInfoStack.pop();
+      ExportInformation currentExportInfo = restore(jobId, jobIdPrefix, poppedExportInfo);
       ExportResult<?> exportResult =
           copyIteration(
               jobId,
@@ -132,7 +163,39 @@ public class PortabilityStackInMemoryDataCopier extends PortabilityAbstractInMem
           currentExportInfo.getContainerResource(),
           copyIteration,
           exportResult.getContinuationData());
+      if (pendingContainerBudget != null) {
+        pendingContainerBudget.release(jobId, poppedExportInfo);
+      }
+    }
+  }
+
+  /** Reads back the container resource of {@code exportInfo} if it was spilled to the store. */
+  private ExportInformation restore(UUID jobId, String jobIdPrefix, ExportInformation exportInfo)
+      throws CopyException {
+    if (pendingContainerBudget == null) {
+      return exportInfo;
+    }
+    try {
+      return pendingContainerBudget.restore(jobId, exportInfo);
+    } catch (IOException e) {
+      throw new CopyException(jobIdPrefix + "Unable to read back spilled container resource", e);
+    }
+  }
+
+  /**
+   * Pushes {@code exportInfo} on the stack, spilling its container resource to the store if
+   * holding it would take the job over its pending container budget.
+   */
+  private void push(UUID jobId, String jobIdPrefix, ExportInformation exportInfo) {
+    if (pendingContainerBudget != null) {
+      try {
+        exportInfo = pendingContainerBudget.admit(jobId, exportInfo);
+      } catch (IOException e) {
+        // Holding on to it is still better than losing it
+        monitor.info(() -> jobIdPrefix + "Unable to spill container resource, keeping it", e);
+      }
     }
+    exportInfoStack.push(exportInfo);
   }
 
   private void updateStackAfterCopyIteration(
@@ -156,7 +219,7 @@ public class PortabilityStackInMemoryDataCopier extends PortabilityAbstractInMem
                   jobIdPrefix
                       + "Pushing to the stack a new copy iteration with a new container resource, copy iteration: "
                       + copyIteration);
-          exportInfoStack.push((new ExportInformation(null, subResources.get(i))));
+          push(jobId, jobIdPrefix, new ExportInformation(null, subResources.get(i)));
         }
       }
 
@@ -167,7 +230,9 @@ public class PortabilityStackInMemoryDataCopier extends PortabilityAbstractInMem
                 jobIdPrefix
                     + "Pushing to the stack a new copy iteration with pagination info, copy iteration: "
                     + copyIteration);
-        exportInfoStack.push(
+        push(
+            jobId,
+            jobIdPrefix,
             new ExportInformation(continuationData.getPaginationData(), exportContainerResource));
       }
     }
@@ -17,6 +17,7 @@
 package org.datatransferproject.transfer.amazon;
 
 import com.google.common.base.Preconditions;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.ExtensionContext;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.storage.AppCredentialStore;
@@ -72,7 +73,8 @@ public class AmazonTransferExtension implements TransferExtension {
 
     importer = new AmazonPhotosImporter(
         monitor, appCredentials.getKey(), appCredentials.getSecret(),
-        context.getService(TemporaryPerJobDataStore.class));
+        context.getService(TemporaryPerJobDataStore.class),
+        context.getService(DtpInternalMetricRecorder.class));
 
     initialized = true;
   }
@@ -16,6 +16,7 @@
 
 package org.datatransferproject.transfer.amazon.photos;
 
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
@@ -64,12 +65,13 @@ public class AmazonPhotosImporter
   private AmazonPhotosInterface client;
 
   public AmazonPhotosImporter(Monitor monitor, String clientId, String clientSecret,
-                              TemporaryPerJobDataStore dataStore) {
+                              TemporaryPerJobDataStore dataStore,
+                              DtpInternalMetricRecorder metricRecorder) {
     this.monitor = monitor;
     this.clientId = clientId;
     this.clientSecret = clientSecret;
     this.dataStore = dataStore;
-    this.connectionProvider = new ConnectionProvider(dataStore);
+    this.connectionProvider = new ConnectionProvider(dataStore, metricRecorder);
   }
 
   AmazonPhotosImporter(Monitor monitor, TemporaryPerJobDataStore dataStore,
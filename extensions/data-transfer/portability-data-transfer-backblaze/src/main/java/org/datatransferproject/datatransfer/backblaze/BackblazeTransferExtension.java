@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.util.List;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.ExtensionContext;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.backblaze.common.BackblazeDataTransferClientFactory;
@@ -77,7 +78,8 @@ public class BackblazeTransferExtension implements TransferExtension {
     ImmutableMap.Builder<DataVertical, Importer> importerBuilder = ImmutableMap.builder();
     BackblazeDataTransferClientFactory backblazeDataTransferClientFactory =
             new BackblazeDataTransferClientFactory(monitor);
-    ConnectionProvider isProvider = new ConnectionProvider(jobStore);
+    ConnectionProvider isProvider =
+            new ConnectionProvider(jobStore, context.getService(DtpInternalMetricRecorder.class));
 
     importerBuilder.put(
             PHOTOS,
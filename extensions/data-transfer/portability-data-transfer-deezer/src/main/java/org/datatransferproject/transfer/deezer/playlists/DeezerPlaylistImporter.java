@@ -19,8 +19,13 @@ package org.datatransferproject.transfer.deezer.playlists;
 
 import com.google.api.client.http.HttpTransport;
 import com.google.common.base.Strings;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.transfer.deezer.DeezerApi;
@@ -36,19 +41,37 @@ import org.datatransferproject.types.transfer.serviceconfig.TransferServiceConfi
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Imports playlists into Deezer.
  **/
 public class DeezerPlaylistImporter
     implements Importer<TokensAndUrlAuthData, PlaylistContainerResource> {
+  // Lookups still go through the per-user rate limiter in DeezerApi, this only bounds how many
+  // can be waiting on a response at once.
+  private static final int MAX_CONCURRENT_LOOKUPS = 4;
+  private static final long LOOKUP_CACHE_EXPIRATION_HOURS = 1;
+
   private final Monitor monitor;
   private final HttpTransport httpTransport;
   private final TransferServiceConfig transferServiceConfig;
+  private final ExecutorService lookupExecutor;
+  // Deezer track ids found for each job, keyed by ISRC, so that tracks appearing in several
+  // playlists are only looked up once. Tracks Deezer doesn't have are cached as empty.
+  private final LoadingCache<UUID, Map<String, Optional<Long>>> trackIdsByJob;
 
   public DeezerPlaylistImporter(
       Monitor monitor,
@@ -57,6 +80,23 @@ public class DeezerPlaylistImporter
     this.monitor = monitor;
     this.httpTransport = httpTransport;
     this.transferServiceConfig = transferServiceConfig;
+    this.lookupExecutor =
+        Executors.newFixedThreadPool(
+            MAX_CONCURRENT_LOOKUPS,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("deezer-track-lookup-%d")
+                .build());
+    this.trackIdsByJob =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(LOOKUP_CACHE_EXPIRATION_HOURS, TimeUnit.HOURS)
+            .build(
+                new CacheLoader<UUID, Map<String, Optional<Long>>>() {
+                  @Override
+                  public Map<String, Optional<Long>> load(UUID jobId) {
+                    return new ConcurrentHashMap<>();
+                  }
+                });
   }
 
   @Override
@@ -70,7 +110,7 @@ public class DeezerPlaylistImporter
         httpTransport,
         transferServiceConfig);
     for (MusicPlaylist playlist : data.getLists()) {
-      createPlaylist(idempotentExecutor, api, playlist);
+      createPlaylist(idempotentExecutor, api, trackIdsByJob.getUnchecked(jobId), playlist);
     }
     return ImportResult.OK;
   }
@@ -78,6 +118,7 @@ public class DeezerPlaylistImporter
   private void createPlaylist(
       IdempotentImportExecutor idempotentExecutor,
       DeezerApi api,
+      Map<String, Optional<Long>> trackIds,
       MusicPlaylist playlist)
       throws Exception {
     Long newPlaylistId = idempotentExecutor.executeAndSwallowIOExceptions(
@@ -89,14 +130,15 @@ public class DeezerPlaylistImporter
       // Playlist couldn't be created error will be reported to user.
       return;
     }
-    List<Long> ids = new ArrayList<>();
-    for (MusicRecording track : playlist.getTrack()) {
-      Long newSongId = idempotentExecutor.executeAndSwallowIOExceptions(
-          newPlaylistId + "-" + track.hashCode(),
-          "Track: " + track + " in " + playlist.getHeadline(),
-          () -> lookupTrack(api, track));
-      ids.add(newSongId);
-    }
+    List<Long> ids = idempotentExecutor.executeBatchAndSwallowIOExceptions(
+        playlist.getTrack(),
+        track -> newPlaylistId + "-" + track.hashCode(),
+        track -> "Track: " + track + " in " + playlist.getHeadline(),
+        tracks -> lookupTracks(api, trackIds, tracks))
+        .stream()
+        // Tracks that couldn't be found are reported as errors and left out of the playlist
+        .filter(Objects::nonNull)
+        .collect(toList());
     idempotentExecutor.executeAndSwallowIOExceptions(
         newPlaylistId + "-tracks",
         "Playlist: " + playlist.getHeadline(),
@@ -129,12 +171,57 @@ public class DeezerPlaylistImporter
     }
   }
 
-  private Long lookupTrack(DeezerApi api, MusicRecording track) throws IOException {
-    checkArgument(!Strings.isNullOrEmpty(track.getIsrcCode()), "IRCS code is required");
-    Track foundTrack = api.lookupTrackByIsrc(track.getIsrcCode());
-    if (foundTrack == null) {
-      throw new IllegalArgumentException("Couldn't find matching Deezer track for: " + track);
+  /**
+   * Looks up all of the given tracks concurrently.
+   *
+   * @return the Deezer id of each track, or the error looking it up, in order
+   */
+  private List<ItemImportResult<Long>> lookupTracks(
+      DeezerApi api, Map<String, Optional<Long>> trackIds, List<MusicRecording> tracks)
+      throws InterruptedException {
+    List<Future<Long>> lookups = new ArrayList<>(tracks.size());
+    for (MusicRecording track : tracks) {
+      lookups.add(lookupExecutor.submit(() -> lookupTrack(api, trackIds, track)));
+    }
+
+    List<ItemImportResult<Long>> results = new ArrayList<>(tracks.size());
+    try {
+      for (Future<Long> lookup : lookups) {
+        try {
+          results.add(ItemImportResult.success(lookup.get()));
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof java.lang.Error) {
+            throw (java.lang.Error) cause;
+          }
+          results.add(ItemImportResult.error((Exception) cause, null));
+        }
+      }
+    } finally {
+      for (Future<Long> lookup : lookups) {
+        lookup.cancel(true);
+      }
+    }
+    return results;
+  }
+
+  private Long lookupTrack(
+      DeezerApi api, Map<String, Optional<Long>> trackIds, MusicRecording track)
+      throws IOException {
+    String isrc = track.getIsrcCode();
+    if (Strings.isNullOrEmpty(isrc)) {
+      throw new IOException("ISRC code is required for: " + track);
+    }
+    Optional<Long> trackId = trackIds.get(isrc);
+    if (trackId == null) {
+      Track foundTrack = api.lookupTrackByIsrc(isrc);
+      // Unknown ISRCs come back as an error object, which has no id
+      trackId = foundTrack == null || foundTrack.getId() == 0
+          ? Optional.empty()
+          : Optional.of(foundTrack.getId());
+      trackIds.put(isrc, trackId);
     }
-    return foundTrack.getId();
+    return trackId.orElseThrow(
+        () -> new IOException("Couldn't find matching Deezer track for: " + track));
   }
 }
@@ -202,6 +202,20 @@ public class FacebookPhotosExporter
           monitor.severe(() -> String.format("Source was missing or empty for photo %s", fbid));
           continue;
         }
+        if (null == photo.getCreatedTime()) {
+          // There's no date to write into the EXIF, so rather than copy the photo through the
+          // temp store, let the importer fetch it from Facebook when it gets to it
+          exportPhotos.add(
+              new PhotoModel(
+                  String.format("%s.jpg", photo.getId()),
+                  url,
+                  photo.getName(),
+                  "image/jpg",
+                  photo.getId(),
+                  albumId,
+                  false));
+          continue;
+        }
         boolean photoWasGarbage;
         try {
           photoWasGarbage = modifyExifAndStorePhoto(jobId, photo, url, photo.getId());
@@ -253,7 +267,8 @@ public class FacebookPhotosExporter
 
   /**
    * This method fetches the image from the specified URL, modifies the EXIF to include the created
-   * date, and then stores the modified photo via the store on the local filesystem.
+   * date, and then stores the modified photo via the store on the local filesystem. Only photos
+   * with a created time are stored this way, the rest are fetched by the importer directly.
    *
    * @param jobId          Id for the current transfer
    * @param photo          The photo model returned from the API
@@ -271,13 +286,6 @@ public class FacebookPhotosExporter
         return true;
       }
 
-      if (null == photo.getCreatedTime()) {
-        try (ByteArrayInputStream unmodifiedInputStream = new ByteArrayInputStream(bytes)) {
-          store.create(jobId, blindedPhotoId, unmodifiedInputStream);
-        }
-        return false;
-      }
-
       final ImageMetadata metadata = Imaging.getMetadata(bytes);
       final JpegImageMetadata jpegMetadata = (JpegImageMetadata) metadata;
       TiffOutputSet outputSet = null;
@@ -19,10 +19,14 @@ package org.datatransferproject.transfer.facebook.photos;
 import static com.google.common.truth.Truth.assertThat;
 import static org.datatransferproject.transfer.facebook.photos.FacebookPhotosExporter.PHOTO_TOKEN_PREFIX;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Lists;
@@ -66,6 +70,8 @@ public class FacebookPhotosExporterTest {
   private static final Date PHOTO_TIME = new Date(1234567890123L);
 
   private FacebookPhotosExporter facebookPhotosExporter;
+  private Photo photo;
+  private TemporaryPerJobDataStore store;
   private UUID uuid = UUID.randomUUID();
   private MockedStatic<ConnectionProvider> connectionProviderMock;
 
@@ -88,7 +94,7 @@ public class FacebookPhotosExporterTest {
     when(albumConnection.getData()).thenReturn(albums);
 
     // Set up example photo
-    Photo photo = new Photo();
+    photo = new Photo();
     photo.setId(PHOTO_ID);
     photo.setCreatedTime(PHOTO_TIME);
     Photo.Image image = new Photo.Image();
@@ -114,7 +120,7 @@ public class FacebookPhotosExporterTest {
         .when(() -> ConnectionProvider.getConnection(anyString()))
         .thenReturn(connection);
 
-    final TemporaryPerJobDataStore store = mock(TemporaryPerJobDataStore.class);
+    store = mock(TemporaryPerJobDataStore.class);
 
     facebookPhotosExporter =
         new FacebookPhotosExporter(
@@ -170,6 +176,22 @@ public class FacebookPhotosExporterTest {
         exportedData.getPhotos().toArray()[0]);
   }
 
+  @Test
+  public void testExportPhotoWithoutCreatedTimeIsNotStored() throws Exception {
+    photo.setCreatedTime(null);
+
+    ExportResult<PhotosContainerResource> result =
+        facebookPhotosExporter.export(
+            uuid,
+            new TokensAndUrlAuthData("accessToken", null, null),
+            Optional.of(new ExportInformation(null, new IdOnlyContainerResource(ALBUM_ID))));
+
+    PhotoModel exportedPhoto = result.getExportedData().getPhotos().iterator().next();
+    assertEquals(PHOTO_SOURCE, exportedPhoto.getFetchableUrl());
+    assertFalse(exportedPhoto.isInTempStore());
+    verify(store, never()).create(any(), anyString(), any(InputStream.class));
+  }
+
   @Test
   public void testSpecifiedAlbums() throws CopyExceptionWithFailureReason {
     ExportResult<PhotosContainerResource> result =
@@ -24,6 +24,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import java.util.Set;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.ExtensionContext;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.flickr.media.FlickrMediaImporter;
@@ -110,7 +111,8 @@ public class FlickrTransferExtension implements TransferExtension {
             monitor,
             serviceConfig,
             idempotentImportExecutor,
-            enableRetrying));
+            enableRetrying,
+            context.getService(DtpInternalMetricRecorder.class)));
     importerBuilder.put(
         MEDIA, new FlickrMediaImporter(appCredentials, jobStore, monitor, serviceConfig));
     importerMap = importerBuilder.build();
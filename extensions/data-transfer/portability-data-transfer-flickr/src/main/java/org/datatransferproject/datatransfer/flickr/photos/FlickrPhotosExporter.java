@@ -30,14 +30,26 @@ import com.flickr4java.flickr.photosets.PhotosetsInterface;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.datatransferproject.spi.transfer.provider.ExportResult;
 import org.datatransferproject.spi.transfer.provider.ExportResult.ResultType;
@@ -60,25 +72,59 @@ public class FlickrPhotosExporter implements Exporter<AuthData, PhotosContainerR
   private static final List<String> EXTRAS = ImmutableList.of("url_o", "o_dims", "original_format");
   private static final int PHOTO_SETS_PER_PAGE = 500;
   private static final String PHOTOSET_EXTRAS = "";
+  // Pages of photos fetched at once. They share the per user rate limiter, so this lets the
+  // exporter reach the configured rate instead of waiting out each round trip in turn.
+  private static final int MAX_CONCURRENT_FETCHES = 4;
+  // Pages fetched ahead of the copier asking for them, and held until it does
+  private static final int MAX_PREFETCHED_PAGES = 8;
+  // Exporters aren't told when a job ends, so pages and photo sets a job never asked for are let
+  // go after a while rather than holding up prefetching for the jobs that follow
+  private static final long PREFETCHED_PAGE_EXPIRATION_MINUTES = 10;
+  private static final long UPCOMING_PHOTO_SETS_EXPIRATION_MINUTES = 60;
 
   private final PhotosetsInterface photosetsInterface;
   private final PhotosInterface photosInterface;
   private final Flickr flickr;
   private final RateLimiter perUserRateLimiter;
+  private final ExecutorService fetchExecutor =
+      Executors.newFixedThreadPool(
+          MAX_CONCURRENT_FETCHES,
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("flickr-photo-fetch-%d")
+              .build());
+  // Keyed by job, photo set and page
+  private final Cache<String, CompletableFuture<PhotoList<Photo>>> prefetchedPages;
+  // Photo sets listed but not fetched yet, in the order they were listed, by job
+  private final Cache<UUID, Queue<String>> upcomingPhotoSets;
 
   public FlickrPhotosExporter(AppCredentials appCredentials, TransferServiceConfig serviceConfig) {
-    this.flickr = new Flickr(appCredentials.getKey(), appCredentials.getSecret(), new REST());
-    this.photosetsInterface = flickr.getPhotosetsInterface();
-    this.photosInterface = flickr.getPhotosInterface();
-    this.perUserRateLimiter = serviceConfig.getPerUserRateLimiter();
+    this(
+        new Flickr(appCredentials.getKey(), appCredentials.getSecret(), new REST()),
+        serviceConfig);
   }
 
   @VisibleForTesting
   FlickrPhotosExporter(Flickr flickr, TransferServiceConfig serviceConfig) {
+    this(flickr, serviceConfig, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  FlickrPhotosExporter(Flickr flickr, TransferServiceConfig serviceConfig, Ticker ticker) {
     this.flickr = flickr;
     this.photosInterface = flickr.getPhotosInterface();
     this.photosetsInterface = flickr.getPhotosetsInterface();
     this.perUserRateLimiter = serviceConfig.getPerUserRateLimiter();
+    this.prefetchedPages =
+        CacheBuilder.newBuilder()
+            .ticker(ticker)
+            .expireAfterWrite(PREFETCHED_PAGE_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+            .build();
+    this.upcomingPhotoSets =
+        CacheBuilder.newBuilder()
+            .ticker(ticker)
+            .expireAfterAccess(UPCOMING_PHOTO_SETS_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+            .build();
   }
 
   @VisibleForTesting
@@ -138,9 +184,9 @@ public class FlickrPhotosExporter implements Exporter<AuthData, PhotosContainerR
             ? (IdOnlyContainerResource) exportInformation.get().getContainerResource()
             : null;
     if (resource != null) {
-      return getPhotos(resource, paginationData);
+      return getPhotos(jobId, auth, resource, paginationData);
     } else {
-      return getAlbums(paginationData, auth);
+      return getAlbums(jobId, paginationData, auth);
     }
   }
 
@@ -176,23 +222,17 @@ public class FlickrPhotosExporter implements Exporter<AuthData, PhotosContainerR
   }
 
   private ExportResult<PhotosContainerResource> getPhotos(
-      IdOnlyContainerResource resource, PaginationData paginationData) {
+      UUID jobId, Auth auth, IdOnlyContainerResource resource, PaginationData paginationData) {
     String photoSetId = resource.getId();
     int page = paginationData == null ? 1 : ((IntPaginationToken) paginationData).getStart();
     PhotoList<Photo> photoSetList;
 
+    Queue<String> upcoming = upcomingPhotoSets.getIfPresent(jobId);
+    if (upcoming != null) {
+      upcoming.remove(photoSetId);
+    }
     try {
-      if (Strings.isNullOrEmpty(photoSetId)) {
-        RequestContext.getRequestContext().setExtras(EXTRAS);
-        perUserRateLimiter.acquire();
-        photoSetList = photosInterface.getNotInSet(PHOTO_PER_PAGE, page);
-        RequestContext.getRequestContext().setExtras(ImmutableList.of());
-      } else {
-        perUserRateLimiter.acquire();
-        photoSetList =
-            photosetsInterface.getPhotos(
-                photoSetId, ImmutableSet.copyOf(EXTRAS), 0, PHOTO_PER_PAGE, page);
-      }
+      photoSetList = takePhotoPage(jobId, auth, photoSetId, page);
     } catch (FlickrException e) {
       return new ExportResult<>(e);
     }
@@ -205,7 +245,9 @@ public class FlickrPhotosExporter implements Exporter<AuthData, PhotosContainerR
     PaginationData newPage = null;
     if (hasMore) {
       newPage = new IntPaginationToken(page + 1);
+      prefetchPhotoPage(jobId, auth, photoSetId, page + 1);
     }
+    prefetchUpcomingPhotoSets(jobId, auth);
 
     // Get result type
     ResultType resultType = ResultType.CONTINUE;
@@ -218,7 +260,7 @@ public class FlickrPhotosExporter implements Exporter<AuthData, PhotosContainerR
   }
 
   private ExportResult<PhotosContainerResource> getAlbums(
-      PaginationData paginationData, Auth auth) {
+      UUID jobId, PaginationData paginationData, Auth auth) {
     ImmutableList.Builder<PhotoAlbum> albumBuilder = ImmutableList.builder();
     List<IdOnlyContainerResource> subResources = new ArrayList<>();
 
@@ -252,6 +294,14 @@ public class FlickrPhotosExporter implements Exporter<AuthData, PhotosContainerR
       subResources.add(new IdOnlyContainerResource(""));
     }
 
+    // Start on the photos of the first sets while the copier is still busy with this page
+    upcomingPhotoSets
+        .asMap()
+        .computeIfAbsent(jobId, id -> new ConcurrentLinkedQueue<>())
+        .addAll(
+            subResources.stream().map(IdOnlyContainerResource::getId).collect(Collectors.toList()));
+    prefetchUpcomingPhotoSets(jobId, auth);
+
     PhotosContainerResource photosContainerResource =
         new PhotosContainerResource(albumBuilder.build(), null);
     ContinuationData continuationData = new ContinuationData(newPage);
@@ -265,4 +315,87 @@ public class FlickrPhotosExporter implements Exporter<AuthData, PhotosContainerR
 
     return new ExportResult<>(resultType, photosContainerResource, continuationData);
   }
+
+  /**
+   * Returns a page of photos, from the pages fetched ahead of time if it's there. A prefetch that
+   * failed is fetched again on the calling thread so the failure is reported as usual.
+   */
+  private PhotoList<Photo> takePhotoPage(UUID jobId, Auth auth, String photoSetId, int page)
+      throws FlickrException {
+    CompletableFuture<PhotoList<Photo>> prefetched =
+        prefetchedPages.asMap().remove(prefetchKey(jobId, photoSetId, page));
+    if (prefetched != null) {
+      try {
+        PhotoList<Photo> photoSetList = prefetched.get();
+        if (photoSetList != null) {
+          return photoSetList;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // Fall through and fetch it again
+      }
+    }
+    return fetchPhotoPage(auth, photoSetId, page);
+  }
+
+  /** Fetches a page of photos from Flickr within the per user rate limit, on any thread. */
+  private PhotoList<Photo> fetchPhotoPage(Auth auth, String photoSetId, int page)
+      throws FlickrException {
+    // The request context is per thread, so set it up for whichever thread this runs on
+    RequestContext.getRequestContext().setAuth(auth);
+    if (Strings.isNullOrEmpty(photoSetId)) {
+      RequestContext.getRequestContext().setExtras(EXTRAS);
+      try {
+        perUserRateLimiter.acquire();
+        return photosInterface.getNotInSet(PHOTO_PER_PAGE, page);
+      } finally {
+        RequestContext.getRequestContext().setExtras(ImmutableList.of());
+      }
+    }
+    perUserRateLimiter.acquire();
+    return photosetsInterface.getPhotos(
+        photoSetId, ImmutableSet.copyOf(EXTRAS), 0, PHOTO_PER_PAGE, page);
+  }
+
+  private void prefetchPhotoPage(UUID jobId, Auth auth, String photoSetId, int page) {
+    if (!hasRoomToPrefetch()) {
+      return;
+    }
+    prefetchedPages.asMap().computeIfAbsent(
+        prefetchKey(jobId, photoSetId, page),
+        key ->
+            CompletableFuture.supplyAsync(
+                () -> {
+                  try {
+                    return fetchPhotoPage(auth, photoSetId, page);
+                  } catch (FlickrException e) {
+                    throw new CompletionException(e);
+                  }
+                },
+                fetchExecutor));
+  }
+
+  /** Starts fetching the first page of the next photo sets the copier will ask for. */
+  private void prefetchUpcomingPhotoSets(UUID jobId, Auth auth) {
+    Queue<String> upcoming = upcomingPhotoSets.getIfPresent(jobId);
+    while (upcoming != null && hasRoomToPrefetch()) {
+      String photoSetId = upcoming.poll();
+      if (photoSetId == null) {
+        upcomingPhotoSets.asMap().remove(jobId, upcoming);
+        return;
+      }
+      prefetchPhotoPage(jobId, auth, photoSetId, 1);
+    }
+  }
+
+  private boolean hasRoomToPrefetch() {
+    // The size counts expired pages until they are cleaned up
+    prefetchedPages.cleanUp();
+    return prefetchedPages.size() < MAX_PREFETCHED_PAGES;
+  }
+
+  private static String prefetchKey(UUID jobId, String photoSetId, int page) {
+    return jobId + "/" + photoSetId + "/" + page;
+  }
 }
@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.UUID;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
@@ -68,11 +69,12 @@ public class FlickrPhotosImporter implements Importer<AuthData, PhotosContainerR
       Monitor monitor,
       TransferServiceConfig serviceConfig,
       IdempotentImportExecutor retryingIdempotentExecutor,
-      boolean enableRetrying) {
+      boolean enableRetrying,
+      DtpInternalMetricRecorder metricRecorder) {
     this.jobStore = jobStore;
     this.flickr = new Flickr(appCredentials.getKey(), appCredentials.getSecret(), new REST());
     this.uploader = flickr.getUploader();
-    this.connectionProvider = new ConnectionProvider(jobStore);
+    this.connectionProvider = new ConnectionProvider(jobStore, metricRecorder);
     this.photosetsInterface = flickr.getPhotosetsInterface();
     this.monitor = monitor;
     this.perUserRateLimiter = serviceConfig.getPerUserRateLimiter();
@@ -85,7 +87,14 @@ public class FlickrPhotosImporter implements Importer<AuthData, PhotosContainerR
       TemporaryPerJobDataStore jobStore,
       Monitor monitor,
       TransferServiceConfig serviceConfig) {
-    this(appCredentials, jobStore, monitor, serviceConfig, null /*retryingIdempotentExecutor*/, false  /*enableRetrying*/);
+    this(
+        appCredentials,
+        jobStore,
+        monitor,
+        serviceConfig,
+        null /*retryingIdempotentExecutor*/,
+        false /*enableRetrying*/,
+        null /*metricRecorder*/);
   }
 
   @VisibleForTesting
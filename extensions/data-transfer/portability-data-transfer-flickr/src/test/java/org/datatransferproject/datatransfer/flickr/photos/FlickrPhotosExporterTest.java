@@ -20,6 +20,9 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.flickr4java.flickr.Flickr;
@@ -35,10 +38,13 @@ import com.flickr4java.flickr.photosets.Photoset;
 import com.flickr4java.flickr.photosets.Photosets;
 import com.flickr4java.flickr.photosets.PhotosetsInterface;
 import com.github.scribejava.core.model.OAuth1Token;
+import com.google.common.base.Ticker;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.datatransferproject.datatransfer.flickr.FlickrTestUtils;
 import org.datatransferproject.spi.transfer.provider.ExportResult;
 import org.datatransferproject.spi.transfer.types.ContinuationData;
@@ -177,4 +183,87 @@ public class FlickrPhotosExporterTest {
     assertThat(((IntPaginationToken) continuationData.getPaginationData()).getStart())
         .isEqualTo(page + 1);
   }
+
+  @Test
+  public void exportPhotosFromPhotosetFetchesNextPageAhead() throws FlickrException {
+    when(authInterface.checkToken(any(OAuth1Token.class))).thenReturn(auth);
+    when(flickr.getPhotosetsInterface()).thenReturn(photosetsInterface);
+    when(flickr.getPhotosInterface()).thenReturn(photosInterface);
+    when(flickr.getAuthInterface()).thenReturn(authInterface);
+
+    String photosetsId = "photosetsId";
+    IdOnlyContainerResource photoset = new IdOnlyContainerResource(photosetsId);
+    when(photosetsInterface.getPhotos(eq(photosetsId), anySet(), anyInt(), anyInt(), eq(1)))
+        .thenReturn(createPhotoList(1, 2));
+    when(photosetsInterface.getPhotos(eq(photosetsId), anySet(), anyInt(), anyInt(), eq(2)))
+        .thenReturn(createPhotoList(2, 2));
+
+    FlickrPhotosExporter exporter =
+        new FlickrPhotosExporter(flickr, TransferServiceConfig.getDefaultInstance());
+    UUID jobId = UUID.randomUUID();
+    TokenSecretAuthData authData = new TokenSecretAuthData("token", "secret");
+    exporter.export(jobId, authData, Optional.of(new ExportInformation(null, photoset)));
+    ExportResult<PhotosContainerResource> result =
+        exporter.export(
+            jobId,
+            authData,
+            Optional.of(new ExportInformation(new IntPaginationToken(2), photoset)));
+
+    assertThat(result.getExportedData().getPhotos()).hasSize(1);
+    assertThat(result.getContinuationData().getPaginationData()).isNull();
+    // Fetched once, ahead of time, and handed over when the copier asked for it
+    verify(photosetsInterface, times(1))
+        .getPhotos(eq(photosetsId), anySet(), anyInt(), anyInt(), eq(2));
+  }
+
+  @Test
+  public void exportPhotosFromPhotosetPrefetchesAgainOnceUnusedPagesExpire()
+      throws FlickrException {
+    when(authInterface.checkToken(any(OAuth1Token.class))).thenReturn(auth);
+    when(flickr.getPhotosetsInterface()).thenReturn(photosetsInterface);
+    when(flickr.getPhotosInterface()).thenReturn(photosInterface);
+    when(flickr.getAuthInterface()).thenReturn(authInterface);
+    when(photosetsInterface.getPhotos(anyString(), anySet(), anyInt(), anyInt(), eq(1)))
+        .thenReturn(createPhotoList(1, 2));
+    when(photosetsInterface.getPhotos(anyString(), anySet(), anyInt(), anyInt(), eq(2)))
+        .thenReturn(createPhotoList(2, 2));
+
+    AtomicLong nanos = new AtomicLong();
+    Ticker ticker =
+        new Ticker() {
+          @Override
+          public long read() {
+            return nanos.get();
+          }
+        };
+    FlickrPhotosExporter exporter =
+        new FlickrPhotosExporter(flickr, TransferServiceConfig.getDefaultInstance(), ticker);
+    TokenSecretAuthData authData = new TokenSecretAuthData("token", "secret");
+    IdOnlyContainerResource photoset = new IdOnlyContainerResource("photosetsId");
+
+    // Jobs that never ask for the second page they had fetched ahead, filling the prefetch slots
+    for (int i = 0; i < 8; i++) {
+      exporter.export(
+          UUID.randomUUID(), authData, Optional.of(new ExportInformation(null, photoset)));
+    }
+    verify(photosetsInterface, timeout(1000).times(8))
+        .getPhotos(anyString(), anySet(), anyInt(), anyInt(), eq(2));
+    nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+
+    exporter.export(
+        UUID.randomUUID(), authData, Optional.of(new ExportInformation(null, photoset)));
+
+    // The next job's second page is fetched ahead too, without waiting to be asked for
+    verify(photosetsInterface, timeout(1000).times(9))
+        .getPhotos(anyString(), anySet(), anyInt(), anyInt(), eq(2));
+  }
+
+  private static PhotoList<Photo> createPhotoList(int page, int pages) {
+    PhotoList<Photo> photosList = new PhotoList<>();
+    photosList.add(
+        FlickrTestUtils.initializePhoto("title" + page, "url" + page, "description", MEDIA_TYPE));
+    photosList.setPage(page);
+    photosList.setPages(pages);
+    return photosList;
+  }
 }
@@ -0,0 +1,41 @@
+package org.datatransferproject.datatransfer.generic;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.annotation.Nullable;
+
+/**
+ * Limits on the batches of basic data-types sent to endpoints that opt into batch imports; see
+ * the "Batch Imports" section of the README.
+ */
+public class BatchImportConfig {
+  static final int DEFAULT_MAX_ITEMS = 100;
+  static final int DEFAULT_MAX_BYTES = 1024 * 1024; // 1MiB
+
+  private final int maxItems;
+  private final int maxBytes;
+
+  @JsonCreator
+  public BatchImportConfig(
+      @Nullable @JsonProperty("maxItems") Integer maxItems,
+      @Nullable @JsonProperty("maxBytes") Integer maxBytes) {
+    this.maxItems = maxItems == null ? DEFAULT_MAX_ITEMS : maxItems;
+    this.maxBytes = maxBytes == null ? DEFAULT_MAX_BYTES : maxBytes;
+    checkArgument(this.maxItems > 0, "maxItems must be positive, got %s", this.maxItems);
+    checkArgument(this.maxBytes > 0, "maxBytes must be positive, got %s", this.maxBytes);
+  }
+
+  /** Most items sent in one batch. */
+  public int getMaxItems() {
+    return maxItems;
+  }
+
+  /**
+   * Most bytes of serialized items sent in one batch, unless a single item is larger by itself.
+   */
+  public int getMaxBytes() {
+    return maxBytes;
+  }
+}
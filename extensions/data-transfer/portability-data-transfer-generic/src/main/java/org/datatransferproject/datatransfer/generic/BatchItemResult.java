@@ -0,0 +1,40 @@
+package org.datatransferproject.datatransfer.generic;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * The outcome of one item of a batch import, as returned by the endpoint on its own line of the
+ * response. {@code status} is the HTTP status code the item would have been answered with if it
+ * had been sent on its own, and failed items describe their error like an {@link ErrorResponse}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchItemResult {
+  private final int status;
+  private final Optional<ErrorResponse> error;
+
+  @JsonCreator
+  public BatchItemResult(
+      @JsonProperty(value = "status", required = true) int status,
+      @Nullable @JsonProperty("error") String error,
+      @Nullable @JsonProperty("error_description") String errorDescription) {
+    this.status = status;
+    this.error =
+        Optional.ofNullable(error).map(e -> new ErrorResponse(e, errorDescription));
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public Optional<ErrorResponse> getError() {
+    return error;
+  }
+
+  public boolean isSuccess() {
+    return status >= 200 && status < 300;
+  }
+}
@@ -4,14 +4,17 @@ import static java.lang.String.format;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.Optional;
 import java.util.UUID;
+import javax.annotation.Nullable;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
@@ -24,9 +27,19 @@ import org.datatransferproject.types.transfer.auth.AppCredentials;
 import org.datatransferproject.types.transfer.auth.AuthData;
 import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
 
+/**
+ * Imports file-based data as {@code multipart/related} requests, streaming each file from its
+ * source into the request as it is sent.
+ *
+ * <p>The file part carries a {@code Content-Length} when the size of the source is known, and is
+ * otherwise sent with chunked transfer encoding. Destinations that can't accept chunked requests
+ * can be configured to require a length, in which case files of unknown size are first copied to a
+ * temp file to measure them.
+ */
 public class GenericFileImporter<C extends ContainerResource, R> extends GenericImporter<C, R> {
   private TemporaryPerJobDataStore dataStore;
   private ConnectionProvider connectionProvider;
+  private final boolean requiresContentLength;
 
   static final MediaType MULTIPART_RELATED = MediaType.parse("multipart/related");
   static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
@@ -37,9 +50,53 @@ public class GenericFileImporter<C extends ContainerResource, R> extends Generic
       URL endpoint,
       TemporaryPerJobDataStore dataStore,
       Monitor monitor) {
-    super(containerSerializer, appCredentials, endpoint, monitor);
+    this(containerSerializer, appCredentials, endpoint, dataStore, monitor, false);
+  }
+
+  public GenericFileImporter(
+      ContainerSerializer<C, R> containerSerializer,
+      AppCredentials appCredentials,
+      URL endpoint,
+      TemporaryPerJobDataStore dataStore,
+      Monitor monitor,
+      boolean requiresContentLength) {
+    this(containerSerializer, appCredentials, endpoint, dataStore, monitor, requiresContentLength,
+        null);
+  }
+
+  /**
+   * @param batchConfig limits on the batches basic data-types are sent in, or null to send them
+   *     one at a time; files are always sent on their own
+   */
+  public GenericFileImporter(
+      ContainerSerializer<C, R> containerSerializer,
+      AppCredentials appCredentials,
+      URL endpoint,
+      TemporaryPerJobDataStore dataStore,
+      Monitor monitor,
+      boolean requiresContentLength,
+      @Nullable BatchImportConfig batchConfig) {
+    this(containerSerializer, appCredentials, endpoint, dataStore, monitor, requiresContentLength,
+        batchConfig, null);
+  }
+
+  /**
+   * @param metricRecorder if set, records the bytes read from each file sent and how long reading
+   *     it took
+   */
+  public GenericFileImporter(
+      ContainerSerializer<C, R> containerSerializer,
+      AppCredentials appCredentials,
+      URL endpoint,
+      TemporaryPerJobDataStore dataStore,
+      Monitor monitor,
+      boolean requiresContentLength,
+      @Nullable BatchImportConfig batchConfig,
+      @Nullable DtpInternalMetricRecorder metricRecorder) {
+    super(containerSerializer, appCredentials, endpoint, monitor, batchConfig);
     this.dataStore = dataStore;
-    this.connectionProvider = new ConnectionProvider(dataStore);
+    this.connectionProvider = new ConnectionProvider(dataStore, metricRecorder);
+    this.requiresContentLength = requiresContentLength;
   }
 
   @Override
@@ -53,14 +110,30 @@ public class GenericFileImporter<C extends ContainerResource, R> extends Generic
     }
   }
 
+  @Override
+  boolean isBatchable(ImportableData<R> dataItem) {
+    return !(dataItem instanceof ImportableFileData) && super.isBatchable(dataItem);
+  }
+
   private <T> boolean importSingleFileItem(
       UUID jobId, AuthData authData, ImportableFileData<R> data)
       throws IOException, InvalidTokenException, DestinationMemoryFullException, SessionInvalidatedException {
     InputStreamWrapper wrapper = connectionProvider.getInputStreamForItem(jobId, data.getFile());
-    File tempFile =
-        dataStore.getTempFileFromInputStream(wrapper.getStream(), data.getFile().getName(), null);
     MediaType mimeType =
         Optional.ofNullable(MediaType.parse(data.getFileMimeType())).orElse(OCTET_STREAM);
+    // Zero means the store doesn't know the size, not that the file is empty
+    Long bytes = wrapper.getBytes();
+    long size = bytes != null && bytes > 0 ? bytes : -1;
+
+    File tempFile = null;
+    RequestBody filePart;
+    if (size == -1 && requiresContentLength) {
+      tempFile =
+          dataStore.getTempFileFromInputStream(wrapper.getStream(), data.getFile().getName(), null);
+      filePart = MultipartBody.create(mimeType, tempFile);
+    } else {
+      filePart = new StreamingRequestBody(mimeType, wrapper.getStream(), size);
+    }
 
     Request.Builder builder =
         new Request.Builder()
@@ -72,7 +145,7 @@ public class GenericFileImporter<C extends ContainerResource, R> extends Generic
                 new MultipartBody.Builder()
                     .setType(MULTIPART_RELATED)
                     .addPart(RequestBody.create(JSON, om.writeValueAsBytes(data.getJsonData())))
-                    .addPart(MultipartBody.create(mimeType, tempFile))
+                    .addPart(filePart)
                     .build());
 
     if (this.recurringJobId.isPresent()) {
@@ -81,10 +154,13 @@ public class GenericFileImporter<C extends ContainerResource, R> extends Generic
 
     Request request = builder.build();
 
-    try (Response response = client.newCall(request).execute()) {
+    try (InputStream ignored = wrapper.getStream();
+        Response response = client.newCall(request).execute()) {
       return parseResponse(response);
     } finally {
-      tempFile.delete();
+      if (tempFile != null) {
+        tempFile.delete();
+      }
     }
   }
 }
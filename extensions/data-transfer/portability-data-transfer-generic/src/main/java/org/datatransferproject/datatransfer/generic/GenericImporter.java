@@ -12,10 +12,13 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.common.annotations.VisibleForTesting;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +31,7 @@ import okhttp3.Response;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.generic.auth.OAuthTokenManager;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult.ResultType;
 import org.datatransferproject.spi.transfer.provider.Importer;
@@ -39,6 +43,14 @@ import org.datatransferproject.types.common.models.ContainerResource;
 import org.datatransferproject.types.transfer.auth.AppCredentials;
 import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
 
+/**
+ * Imports data by POSTing each item as JSON to the configured endpoint.
+ *
+ * <p>Endpoints that opt into batch imports with a {@link BatchImportConfig} are instead sent
+ * newline-delimited batches of items, and answer with one {@link BatchItemResult} per item. If the
+ * endpoint turns out not to understand batches after all, the importer goes back to sending items
+ * one at a time.
+ */
 public class GenericImporter<C extends ContainerResource, R>
     implements Importer<TokensAndUrlAuthData, C> {
 
@@ -51,15 +63,34 @@ public class GenericImporter<C extends ContainerResource, R>
   Map<UUID, OAuthTokenManager> jobTokenManagerMap = new HashMap<>();
   protected final String exportService;
   protected final Optional<UUID> recurringJobId;
+  @Nullable private final BatchImportConfig batchConfig;
+  /** Cleared once the endpoint has shown it doesn't understand batches. */
+  private volatile boolean batchesSupported;
 
   static final MediaType JSON = MediaType.parse("application/json");
+  static final MediaType NDJSON = MediaType.parse("application/x-ndjson");
 
   public GenericImporter(
       ContainerSerializer<C, R> containerSerializer,
       AppCredentials appCredentials,
       URL endpoint,
       Monitor monitor) {
+    this(containerSerializer, appCredentials, endpoint, monitor, null);
+  }
+
+  /**
+   * @param batchConfig limits on the batches sent to the endpoint, or null to send items one at a
+   *     time
+   */
+  public GenericImporter(
+      ContainerSerializer<C, R> containerSerializer,
+      AppCredentials appCredentials,
+      URL endpoint,
+      Monitor monitor,
+      @Nullable BatchImportConfig batchConfig) {
     this.monitor = monitor;
+    this.batchConfig = batchConfig;
+    this.batchesSupported = batchConfig != null;
     this.appCredentials = appCredentials;
     this.endpoint = endpoint;
     this.containerSerializer = containerSerializer;
@@ -89,17 +120,92 @@ public class GenericImporter<C extends ContainerResource, R>
         jobTokenManagerMap.computeIfAbsent(
             jobId,
             ignored -> new OAuthTokenManager(initialAuthData, appCredentials, client, monitor));
+    // Items are imported in order, so consecutive batchable items are sent together
+    List<ImportableData<R>> pendingBatch = new ArrayList<>();
     for (ImportableData<R> importableData : containerSerializer.apply(data)) {
-      idempotentExecutor.executeAndSwallowIOExceptions(
-          importableData.getIdempotentId(),
-          importableData.getName(),
-          () ->
-              tokenManager.withAuthData(
-                  authData -> importSingleItem(jobId, authData, importableData)));
+      if (isBatchable(importableData)) {
+        pendingBatch.add(importableData);
+        continue;
+      }
+      importInBatches(jobId, idempotentExecutor, tokenManager, pendingBatch);
+      pendingBatch.clear();
+      importItemOnItsOwn(jobId, idempotentExecutor, tokenManager, importableData);
     }
+    importInBatches(jobId, idempotentExecutor, tokenManager, pendingBatch);
     return new ImportResult(ResultType.OK);
   }
 
+  /** Whether {@code dataItem} can be sent as part of a batch. */
+  boolean isBatchable(ImportableData<R> dataItem) {
+    return batchesSupported;
+  }
+
+  private void importItemOnItsOwn(
+      UUID jobId,
+      IdempotentImportExecutor idempotentExecutor,
+      OAuthTokenManager tokenManager,
+      ImportableData<R> importableData)
+      throws Exception {
+    idempotentExecutor.executeAndSwallowIOExceptions(
+        importableData.getIdempotentId(),
+        importableData.getName(),
+        () ->
+            tokenManager.withAuthData(
+                authData -> importSingleItem(jobId, authData, importableData)));
+  }
+
+  private void importInBatches(
+      UUID jobId,
+      IdempotentImportExecutor idempotentExecutor,
+      OAuthTokenManager tokenManager,
+      List<ImportableData<R>> items)
+      throws Exception {
+    List<List<ImportableData<R>>> batches = new ArrayList<>();
+    List<ImportableData<R>> batch = new ArrayList<>();
+    long batchBytes = 0;
+    for (ImportableData<R> item : items) {
+      long itemBytes = om.writeValueAsBytes(item.getJsonData()).length + 1;
+      if (!batch.isEmpty()
+          && (batch.size() == batchConfig.getMaxItems()
+              || batchBytes + itemBytes > batchConfig.getMaxBytes())) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+        batchBytes = 0;
+      }
+      batch.add(item);
+      batchBytes += itemBytes;
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+
+    for (List<ImportableData<R>> itemsInBatch : batches) {
+      if (!batchesSupported) {
+        for (ImportableData<R> item : itemsInBatch) {
+          importItemOnItsOwn(jobId, idempotentExecutor, tokenManager, item);
+        }
+        continue;
+      }
+      try {
+        idempotentExecutor.executeBatchAndSwallowIOExceptions(
+            itemsInBatch,
+            ImportableData::getIdempotentId,
+            ImportableData::getName,
+            itemsToImport ->
+                tokenManager.withAuthData(
+                    authData -> importBatch(jobId, authData, itemsToImport)));
+      } catch (BatchesNotSupportedException e) {
+        monitor.info(
+            () -> format("%s doesn't support batch imports, importing items one at a time",
+                endpoint));
+        batchesSupported = false;
+        for (ImportableData<R> item : itemsInBatch) {
+          importItemOnItsOwn(jobId, idempotentExecutor, tokenManager, item);
+        }
+      }
+    }
+  }
+
   boolean parseResponse(Response response) throws IOException, InvalidTokenException, DestinationMemoryFullException, SessionInvalidatedException {
     if (response.code() >= 400) {
       byte[] body = response.body().bytes();
@@ -135,21 +241,104 @@ public class GenericImporter<C extends ContainerResource, R>
   boolean importSingleItem(UUID jobId, TokensAndUrlAuthData authData, ImportableData<R> dataItem)
       throws IOException, InvalidTokenException, DestinationMemoryFullException, SessionInvalidatedException {
 
-    Request.Builder builder = new Request.Builder()
-      .url(endpoint)
-      .addHeader("Authorization", format("Bearer %s", authData.getToken()))
-      .addHeader("X-DTP-Export-Service", this.exportService)
-      .addHeader("X-DTP-Job-Id", jobId.toString())
-      .post(RequestBody.create(JSON, om.writeValueAsBytes(dataItem.getJsonData())));
+    Request request =
+        newRequestBuilder(jobId, authData)
+            .post(RequestBody.create(JSON, om.writeValueAsBytes(dataItem.getJsonData())))
+            .build();
 
-    if (this.recurringJobId.isPresent()) {
-      builder.addHeader("X-DTP-Recurring-Job-Id", this.recurringJobId.get().toString());
+    try (Response response = client.newCall(request).execute()) {
+      return parseResponse(response);
     }
+  }
 
-    Request request = builder.build();
+  /**
+   * Sends {@code dataItems} as a single newline-delimited JSON request.
+   *
+   * @return the result of each item, in the same order as {@code dataItems}
+   * @throws BatchesNotSupportedException if the endpoint didn't recognise the request as a batch
+   */
+  List<ItemImportResult<Boolean>> importBatch(
+      UUID jobId, TokensAndUrlAuthData authData, List<ImportableData<R>> dataItems)
+      throws IOException, InvalidTokenException, DestinationMemoryFullException,
+          SessionInvalidatedException, BatchesNotSupportedException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    for (ImportableData<R> dataItem : dataItems) {
+      body.write(om.writeValueAsBytes(dataItem.getJsonData()));
+      body.write('\n');
+    }
+    Request request =
+        newRequestBuilder(jobId, authData)
+            .addHeader("Accept", NDJSON.toString())
+            .post(RequestBody.create(NDJSON, body.toByteArray()))
+            .build();
 
+    List<String> lines = new ArrayList<>();
     try (Response response = client.newCall(request).execute()) {
-      return parseResponse(response);
+      // Endpoints that don't route or accept batches answer the way they would any unknown request
+      if (response.code() == 404 || response.code() == 415) {
+        throw new BatchesNotSupportedException();
+      }
+      parseResponse(response);
+      for (String line : response.body().string().split("\n")) {
+        if (!line.isBlank()) {
+          lines.add(line);
+        }
+      }
+    }
+    if (lines.size() != dataItems.size()) {
+      throw new IOException(
+          format("Expected %d batch results but got %d", dataItems.size(), lines.size()));
+    }
+
+    List<ItemImportResult<Boolean>> results = new ArrayList<>(lines.size());
+    for (String line : lines) {
+      BatchItemResult result;
+      try {
+        result = om.readValue(line, BatchItemResult.class);
+      } catch (JsonParseException | JsonMappingException e) {
+        throw new IOException(format("Unexpected batch result '%s'", line), e);
+      }
+      results.add(toItemImportResult(result));
+    }
+    return results;
+  }
+
+  private static ItemImportResult<Boolean> toItemImportResult(BatchItemResult result) {
+    if (result.isSuccess()) {
+      return ItemImportResult.success(true);
+    }
+    String error = result.getError().map(ErrorResponse::toString).orElse("");
+    if (result.getStatus() == 413
+        && result.getError().map(e -> e.getError().equals("destination_full")).orElse(false)) {
+      // Returned rather than thrown, so the executor records the rest of the batch before
+      // passing it on
+      return ItemImportResult.error(
+          new DestinationMemoryFullException(
+              String.format("Generic importer failed with code (%s)", result.getStatus()),
+              new RuntimeException("destination_full")),
+          null);
+    }
+    return ItemImportResult.error(
+        new IOException(format("Error (%d) %s", result.getStatus(), error)), null);
+  }
+
+  Request.Builder newRequestBuilder(UUID jobId, TokensAndUrlAuthData authData) {
+    Request.Builder builder =
+        new Request.Builder()
+            .url(endpoint)
+            .addHeader("Authorization", format("Bearer %s", authData.getToken()))
+            .addHeader("X-DTP-Export-Service", this.exportService)
+            .addHeader("X-DTP-Job-Id", jobId.toString());
+    if (this.recurringJobId.isPresent()) {
+      builder.addHeader("X-DTP-Recurring-Job-Id", this.recurringJobId.get().toString());
+    }
+    return builder;
+  }
+
+  /** Thrown when the endpoint doesn't recognise a batch import request. */
+  static class BatchesNotSupportedException extends Exception {
+    BatchesNotSupportedException() {
+      super("Endpoint does not support batch imports");
     }
   }
 }
@@ -21,8 +21,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.ExtensionContext;
 import org.datatransferproject.spi.cloud.storage.AppCredentialStore;
 import org.datatransferproject.spi.cloud.storage.JobStore;
@@ -60,15 +62,21 @@ class GenericTransferServiceConfig {
   private final String serviceId;
   private final URL endpoint;
   private final Set<GenericTransferServiceVerticalConfig> verticals;
+  private final boolean requiresContentLength;
+  private final Optional<BatchImportConfig> batchConfig;
 
   public GenericTransferServiceConfig(
       @JsonProperty(value = "serviceId", required = true) String serviceId,
       @JsonProperty(value = "endpoint", required = true) URL endpoint,
       @JsonProperty(value = "verticals", required = true)
-          List<GenericTransferServiceVerticalConfig> verticals) {
+          List<GenericTransferServiceVerticalConfig> verticals,
+      @JsonProperty(value = "requiresContentLength") Boolean requiresContentLength,
+      @JsonProperty(value = "batch") BatchImportConfig batchConfig) {
     this.serviceId = serviceId;
     this.endpoint = endpoint;
     this.verticals = new HashSet<>(verticals);
+    this.requiresContentLength = Boolean.TRUE.equals(requiresContentLength);
+    this.batchConfig = Optional.ofNullable(batchConfig);
   }
 
   public String getServiceId() {
@@ -83,6 +91,16 @@ class GenericTransferServiceConfig {
     return verticals;
   }
 
+  /** Whether the endpoint rejects file uploads sent with chunked transfer encoding. */
+  public boolean requiresContentLength() {
+    return requiresContentLength;
+  }
+
+  /** Limits on batch imports, if the endpoint has opted into them. */
+  public Optional<BatchImportConfig> getBatchConfig() {
+    return batchConfig;
+  }
+
   public boolean supportsVertical(DataVertical vertical) {
     return verticals.stream()
         .map(verticalConfig -> verticalConfig.getVertical())
@@ -139,6 +157,7 @@ public class GenericTransferExtension implements TransferExtension {
           e);
     }
 
+    DtpInternalMetricRecorder metricRecorder = context.getService(DtpInternalMetricRecorder.class);
     if (serviceConfig.supportsVertical(BLOBS)) {
       BlobbySerializer serializer = new BlobbySerializer(jobStore);
       importerMap.put(
@@ -148,7 +167,10 @@ public class GenericTransferExtension implements TransferExtension {
               appCredentials,
               urlAppend(serviceConfig.getEndpoint(), "blobs"),
               jobStore,
-              context.getMonitor()));
+              context.getMonitor(),
+              serviceConfig.requiresContentLength(),
+              serviceConfig.getBatchConfig().orElse(null),
+              metricRecorder));
     }
 
     if (serviceConfig.supportsVertical(MEDIA)
@@ -162,7 +184,10 @@ public class GenericTransferExtension implements TransferExtension {
               appCredentials,
               urlAppend(serviceConfig.getEndpoint(), "media"),
               jobStore,
-              context.getMonitor()));
+              context.getMonitor(),
+              serviceConfig.requiresContentLength(),
+              serviceConfig.getBatchConfig().orElse(null),
+              metricRecorder));
     }
 
     if (serviceConfig.supportsVertical(SOCIAL_POSTS)) {
@@ -172,7 +197,8 @@ public class GenericTransferExtension implements TransferExtension {
               SocialPostsSerializer::serialize,
               appCredentials,
               urlAppend(serviceConfig.getEndpoint(), "social-posts"),
-              context.getMonitor()));
+              context.getMonitor(),
+              serviceConfig.getBatchConfig().orElse(null)));
     }
 
     if (serviceConfig.supportsVertical(CALENDAR)) {
@@ -182,7 +208,8 @@ public class GenericTransferExtension implements TransferExtension {
               CalendarSerializer::serialize,
               appCredentials,
               urlAppend(serviceConfig.getEndpoint(), "calendar"),
-              context.getMonitor()));
+              context.getMonitor(),
+              serviceConfig.getBatchConfig().orElse(null)));
     }
   }
 
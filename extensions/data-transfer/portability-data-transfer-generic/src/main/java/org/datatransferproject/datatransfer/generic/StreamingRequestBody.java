@@ -0,0 +1,61 @@
+package org.datatransferproject.datatransfer.generic;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import javax.annotation.Nullable;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * A {@link RequestBody} piped straight from an {@link InputStream}, so the content doesn't have
+ * to be copied to disk or memory before it is sent.
+ *
+ * <p>When the length isn't known up front the body is sent with chunked transfer encoding. The
+ * stream can only be read once, so the body can't be resent.
+ */
+class StreamingRequestBody extends RequestBody {
+  private final MediaType contentType;
+  private final InputStream stream;
+  private final long contentLength;
+  private boolean written = false;
+
+  /**
+   * @param contentLength number of bytes in {@code stream}, or -1 if unknown
+   */
+  StreamingRequestBody(MediaType contentType, InputStream stream, long contentLength) {
+    this.contentType = contentType;
+    this.stream = stream;
+    this.contentLength = contentLength;
+  }
+
+  @Nullable
+  @Override
+  public MediaType contentType() {
+    return contentType;
+  }
+
+  @Override
+  public long contentLength() {
+    return contentLength;
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink) throws IOException {
+    if (written) {
+      throw new IOException("Streamed request body can't be sent twice");
+    }
+    written = true;
+    try (Source source = Okio.source(stream)) {
+      long bytesWritten = sink.writeAll(source);
+      if (contentLength != -1 && bytesWritten != contentLength) {
+        throw new IOException(
+            format("Expected %d bytes to stream but the source had %d", contentLength, bytesWritten));
+      }
+    }
+  }
+}
@@ -3,6 +3,8 @@ package org.datatransferproject.datatransfer.generic;
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
@@ -45,6 +47,7 @@ public class GenericFileImporterTest {
   private static final UUID MOCK_JOB_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
   private static final UUID MOCK_RECURRING_JOB_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174001");
   private static final String MOCK_EXPORT_SERVICE = "mockExportService";
+  private static final String FILE_CONTENT = "Hello world";
   private MockedStatic<JobMetadata> jobMetadataMock;
 
   @Before
@@ -72,11 +75,13 @@ public class GenericFileImporterTest {
         format("Invalid boundary string '%s'", boundaryString),
         boundaryString.startsWith("boundary="));
     String boundary = boundaryString.split("=", 2)[1];
+    // Streamed bodies of unknown size are sent chunked, without a Content-Length
+    String contentLength = request.getHeader("Content-Length");
 
     return new MultipartStream(
         request.getBody().inputStream(),
         boundary.getBytes(),
-        Integer.parseInt(request.getHeader("Content-Length")),
+        contentLength == null ? 4096 : Integer.parseInt(contentLength),
         null);
   }
 
@@ -261,4 +266,96 @@ public class GenericFileImporterTest {
     assertEquals(MOCK_RECURRING_JOB_ID.toString(), request.getHeader("X-DTP-Recurring-Job-Id"));
     assertTrue(executor.getErrors().isEmpty());
   }
+
+  @Test
+  public void testGenericFileImporterStreamsFileOfUnknownSizeChunked() throws Exception {
+    GenericFileImporter<IdOnlyContainerResource, String> importer =
+        createVideoImporter(dataStore, false);
+    webServer.enqueue(new MockResponse().setResponseCode(201).setBody("OK"));
+
+    importVideo(importer);
+
+    RecordedRequest request = webServer.takeRequest();
+    assertEquals("chunked", request.getHeader("Transfer-Encoding"));
+    assertNull(request.getHeader("Content-Length"));
+    assertFileContent(request);
+  }
+
+  @Test
+  public void testGenericFileImporterStreamsFileOfKnownSizeWithLength() throws Exception {
+    TemporaryPerJobDataStore sizedDataStore =
+        new TemporaryPerJobDataStore() {
+          @Override
+          public InputStreamWrapper getStream(UUID jobId, String key) {
+            return new InputStreamWrapper(
+                new ByteArrayInputStream(FILE_CONTENT.getBytes()),
+                (long) FILE_CONTENT.length());
+          }
+        };
+    GenericFileImporter<IdOnlyContainerResource, String> importer =
+        createVideoImporter(sizedDataStore, false);
+    webServer.enqueue(new MockResponse().setResponseCode(201).setBody("OK"));
+
+    importVideo(importer);
+
+    RecordedRequest request = webServer.takeRequest();
+    assertNull(request.getHeader("Transfer-Encoding"));
+    assertNotNull(request.getHeader("Content-Length"));
+    assertFileContent(request);
+  }
+
+  @Test
+  public void testGenericFileImporterMeasuresFileWhenLengthRequired() throws Exception {
+    GenericFileImporter<IdOnlyContainerResource, String> importer =
+        createVideoImporter(dataStore, true);
+    webServer.enqueue(new MockResponse().setResponseCode(201).setBody("OK"));
+
+    importVideo(importer);
+
+    RecordedRequest request = webServer.takeRequest();
+    assertNull(request.getHeader("Transfer-Encoding"));
+    assertNotNull(request.getHeader("Content-Length"));
+    assertFileContent(request);
+  }
+
+  private GenericFileImporter<IdOnlyContainerResource, String> createVideoImporter(
+      TemporaryPerJobDataStore dataStore, boolean requiresContentLength) {
+    return new GenericFileImporter<>(
+        container ->
+            Arrays.asList(
+                new ImportableFileData<>(
+                    new CachedDownloadableItem(container.getId(), container.getId()),
+                    "video/mp4",
+                    new GenericPayload<>(container.getId(), "schemasource"),
+                    container.getId(),
+                    container.getId())),
+        new AppCredentials("key", "secret"),
+        webServer.url("/id").url(),
+        dataStore,
+        monitor,
+        requiresContentLength);
+  }
+
+  private void importVideo(GenericFileImporter<IdOnlyContainerResource, String> importer)
+      throws Exception {
+    InMemoryIdempotentImportExecutor executor = new InMemoryIdempotentImportExecutor(monitor);
+    importer.importItem(
+        MOCK_JOB_ID,
+        executor,
+        new TokensAndUrlAuthData(
+            "accessToken", "refreshToken", webServer.url("/refresh").toString()),
+        new IdOnlyContainerResource("id"));
+    assertTrue(executor.getErrors().isEmpty());
+  }
+
+  private void assertFileContent(RecordedRequest request) throws Exception {
+    MultipartStream stream = getMultipartStream(request);
+    assertTrue("Missing JSON part", stream.skipPreamble());
+    readPartHeaders(stream);
+    readPartBody(stream);
+    assertTrue("Missing file part", stream.readBoundary());
+    assertEquals("video/mp4", readPartHeaders(stream).get("Content-Type"));
+    assertEquals(FILE_CONTENT, readPartBody(stream));
+    assertFalse("Unexpected extra data", stream.readBoundary());
+  }
 }
@@ -2,6 +2,7 @@ package org.datatransferproject.datatransfer.generic;
 
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -91,6 +92,29 @@ public class GenericImporterTest {
     }
   }
 
+  <C> GenericImporter<IdOnlyContainerResource, C> getBatchImporter(
+      String cls,
+      ContainerSerializer<IdOnlyContainerResource, C> containerSerializer,
+      BatchImportConfig batchConfig) {
+    if (cls.equals(GenericFileImporter.class.getName())) {
+      return new GenericFileImporter<>(
+          containerSerializer,
+          new AppCredentials("key", "secret"),
+          webServer.url("/id").url(),
+          dataStore,
+          monitor,
+          false,
+          batchConfig);
+    } else {
+      return new GenericImporter<>(
+          containerSerializer,
+          new AppCredentials("key", "secret"),
+          webServer.url("/id").url(),
+          monitor,
+          batchConfig);
+    }
+  }
+
   Dispatcher getDispatcher() {
     return new Dispatcher() {
       @Override
@@ -453,4 +477,133 @@ public class GenericImporterTest {
               new IdOnlyContainerResource("itemId"));
     });
   }
+
+  @Test
+  public void testGenericImporterBatchMode() throws Exception {
+    InMemoryIdempotentImportExecutor executor = new InMemoryIdempotentImportExecutor(monitor);
+    GenericImporter<IdOnlyContainerResource, Integer> importer =
+        getBatchImporter(
+            importerClass,
+            container ->
+                Arrays.asList(
+                    new ImportableData<>(new GenericPayload<>(1, "schemasource"), "id1", "id1"),
+                    new ImportableData<>(new GenericPayload<>(2, "schemasource"), "id2", "id2"),
+                    new ImportableData<>(new GenericPayload<>(3, "schemasource"), "id3", "id3")),
+            new BatchImportConfig(2, null));
+    webServer.enqueue(
+        new MockResponse()
+            .setResponseCode(200)
+            .setBody("{\"status\":201}\n{\"status\":400,\"error\":\"bad_request\"}\n"));
+    // The failed item is sent once more on its own before its failure is recorded
+    webServer.enqueue(
+        new MockResponse()
+            .setResponseCode(200)
+            .setBody("{\"status\":400,\"error\":\"bad_request\"}\n"));
+    webServer.enqueue(new MockResponse().setResponseCode(200).setBody("{\"status\":201}\n"));
+
+    importer.importItem(
+        UUID.randomUUID(),
+        executor,
+        new TokensAndUrlAuthData(
+            "accessToken", "refreshToken", webServer.url("/refresh").toString()),
+        new IdOnlyContainerResource("id"));
+
+    assertEquals(3, webServer.getRequestCount());
+    RecordedRequest request1 = webServer.takeRequest();
+    assertTrue(request1.getHeader("Content-Type").startsWith("application/x-ndjson"));
+    assertEquals("Bearer accessToken", request1.getHeader("Authorization"));
+    assertEquals(
+        "{\"@type\":\"GenericPayload\",\"payload\":1,\"schemaSource\":\"schemasource\",\"apiVersion\":\"0.1.0\"}\n"
+            + "{\"@type\":\"GenericPayload\",\"payload\":2,\"schemaSource\":\"schemasource\",\"apiVersion\":\"0.1.0\"}\n",
+        new String(request1.getBody().readByteArray(), StandardCharsets.UTF_8));
+    assertEquals(
+        "{\"@type\":\"GenericPayload\",\"payload\":2,\"schemaSource\":\"schemasource\",\"apiVersion\":\"0.1.0\"}\n",
+        new String(webServer.takeRequest().getBody().readByteArray(), StandardCharsets.UTF_8));
+    RecordedRequest request2 = webServer.takeRequest();
+    assertEquals(
+        "{\"@type\":\"GenericPayload\",\"payload\":3,\"schemaSource\":\"schemasource\",\"apiVersion\":\"0.1.0\"}\n",
+        new String(request2.getBody().readByteArray(), StandardCharsets.UTF_8));
+
+    assertTrue(executor.isKeyCached("id1"));
+    assertFalse(executor.isKeyCached("id2"));
+    assertTrue(executor.isKeyCached("id3"));
+    Collection<ErrorDetail> errors = executor.getErrors();
+    assertEquals(1, errors.size());
+    ErrorDetail error = errors.iterator().next();
+    assertEquals("id2", error.title());
+    assertContains("(400) bad_request", error.exception());
+  }
+
+  @Test
+  public void testGenericImporterBatchModeDestinationFull() throws Exception {
+    InMemoryIdempotentImportExecutor executor = new InMemoryIdempotentImportExecutor(monitor);
+    GenericImporter<IdOnlyContainerResource, Integer> importer =
+        getBatchImporter(
+            importerClass,
+            container ->
+                Arrays.asList(
+                    new ImportableData<>(new GenericPayload<>(1, "schemasource"), "id1", "id1"),
+                    new ImportableData<>(new GenericPayload<>(2, "schemasource"), "id2", "id2")),
+            new BatchImportConfig(null, null));
+    webServer.enqueue(
+        new MockResponse()
+            .setResponseCode(200)
+            .setBody("{\"status\":201}\n{\"status\":413,\"error\":\"destination_full\"}\n"));
+
+    assertThrows(
+        DestinationMemoryFullException.class,
+        () ->
+            importer.importItem(
+                UUID.randomUUID(),
+                executor,
+                new TokensAndUrlAuthData(
+                    "accessToken", "refreshToken", webServer.url("/refresh").toString()),
+                new IdOnlyContainerResource("id")));
+
+    assertEquals(1, webServer.getRequestCount());
+    assertTrue(executor.isKeyCached("id1"));
+    assertFalse(executor.isKeyCached("id2"));
+    Collection<ErrorDetail> errors = executor.getErrors();
+    assertEquals(1, errors.size());
+    ErrorDetail error = errors.iterator().next();
+    assertEquals("id2", error.title());
+    assertContains("Generic importer failed with code (413)", error.exception());
+  }
+
+  @Test
+  public void testGenericImporterBatchModeFallsBackWhenUnsupported() throws Exception {
+    InMemoryIdempotentImportExecutor executor = new InMemoryIdempotentImportExecutor(monitor);
+    GenericImporter<IdOnlyContainerResource, Integer> importer =
+        getBatchImporter(
+            importerClass,
+            container ->
+                Arrays.asList(
+                    new ImportableData<>(new GenericPayload<>(1, "schemasource"), "id1", "id1"),
+                    new ImportableData<>(new GenericPayload<>(2, "schemasource"), "id2", "id2")),
+            new BatchImportConfig(null, null));
+    webServer.enqueue(new MockResponse().setResponseCode(415));
+    webServer.enqueue(new MockResponse().setResponseCode(201).setBody("OK"));
+    webServer.enqueue(new MockResponse().setResponseCode(201).setBody("OK"));
+
+    importer.importItem(
+        UUID.randomUUID(),
+        executor,
+        new TokensAndUrlAuthData(
+            "accessToken", "refreshToken", webServer.url("/refresh").toString()),
+        new IdOnlyContainerResource("id"));
+
+    assertEquals(3, webServer.getRequestCount());
+    assertTrue(
+        webServer.takeRequest().getHeader("Content-Type").startsWith("application/x-ndjson"));
+    RecordedRequest request1 = webServer.takeRequest();
+    assertTrue(request1.getHeader("Content-Type").startsWith("application/json"));
+    assertEquals(
+        "{\"@type\":\"GenericPayload\",\"payload\":1,\"schemaSource\":\"schemasource\",\"apiVersion\":\"0.1.0\"}",
+        new String(request1.getBody().readByteArray(), StandardCharsets.UTF_8));
+    RecordedRequest request2 = webServer.takeRequest();
+    assertTrue(request2.getHeader("Content-Type").startsWith("application/json"));
+    assertTrue(executor.getErrors().isEmpty());
+    assertTrue(executor.isKeyCached("id1"));
+    assertTrue(executor.isKeyCached("id2"));
+  }
 }
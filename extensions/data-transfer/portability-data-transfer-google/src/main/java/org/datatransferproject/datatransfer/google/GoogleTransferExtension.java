@@ -17,6 +17,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.ExtensionContext;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.google.calendar.GoogleCalendarExporter;
@@ -118,6 +119,7 @@ public class GoogleTransferExtension implements TransferExtension {
     IdempotentImportExecutor idempotentImportExecutor = context.getService(
         IdempotentImportExecutorExtension.class).getRetryingIdempotentImportExecutor(context);
     boolean enableRetrying = context.getSetting("enableRetrying", false);
+    DtpInternalMetricRecorder metricRecorder = context.getService(DtpInternalMetricRecorder.class);
 
     ImmutableMap.Builder<DataVertical, Importer> importerBuilder = ImmutableMap.builder();
     importerBuilder.put(BLOBS, new DriveImporter(credentialFactory, jobStore, monitor));
@@ -134,8 +136,10 @@ public class GoogleTransferExtension implements TransferExtension {
             monitor,
             context.getSetting("googleWritesPerSecond", 1.0),
             idempotentImportExecutor,
-            enableRetrying));
-    importerBuilder.put(VIDEOS, new GoogleVideosImporter(appCredentials, jobStore, monitor));
+            enableRetrying,
+            metricRecorder));
+    importerBuilder.put(
+        VIDEOS, new GoogleVideosImporter(appCredentials, jobStore, monitor, metricRecorder));
     importerBuilder.put(MUSIC, new GoogleMusicImporter(credentialFactory, jsonFactory, monitor,
         context.getSetting("googleWritesPerSecond", 1.0)));
     importerMap = importerBuilder.build();
@@ -9,9 +9,12 @@ import com.google.api.services.calendar.model.Event;
 import com.google.api.services.calendar.model.EventAttendee;
 import com.google.api.services.calendar.model.EventDateTime;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import org.datatransferproject.datatransfer.google.common.GoogleBatchRequests;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.datatransfer.google.common.GoogleStaticObjects;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.spi.transfer.types.InvalidTokenException;
@@ -22,6 +25,8 @@ import org.datatransferproject.types.common.models.calendar.CalendarModel;
 import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -105,12 +110,11 @@ public class GoogleCalendarImporter implements
           calendarModel.getName(),
           () -> importSingleCalendar(authData, calendarModel));
     }
-    for (CalendarEventModel eventModel : data.getEvents()) {
-      idempotentExecutor.executeAndSwallowIOExceptions(
-          Integer.toString(eventModel.hashCode()),
-          eventModel.getNotes(),
-          () -> importSingleEvent(idempotentExecutor, authData, eventModel));
-    }
+    idempotentExecutor.executeBatchAndSwallowIOExceptions(
+        ImmutableList.copyOf(data.getEvents()),
+        eventModel -> Integer.toString(eventModel.hashCode()),
+        CalendarEventModel::getNotes,
+        eventModels -> importEvents(idempotentExecutor, authData, eventModels));
     return ImportResult.OK;
   }
 
@@ -132,19 +136,26 @@ public class GoogleCalendarImporter implements
     }
   }
 
+  /**
+   * Inserts the given events through batch requests.
+   *
+   * @return the ID of each new event, or the error inserting it, in the order of {@code eventModels}
+   */
   @VisibleForTesting
-  String importSingleEvent(IdempotentImportExecutor idempotentImportExecutor,
+  List<ItemImportResult<String>> importEvents(IdempotentImportExecutor idempotentImportExecutor,
       TokensAndUrlAuthData authData,
-      CalendarEventModel eventModel)
+      List<CalendarEventModel> eventModels)
       throws IOException, InvalidTokenException {
-    Event event = convertToGoogleCalendarEvent(eventModel);
-    String newCalendarId = idempotentImportExecutor.getCachedValue(eventModel.getCalendarId());
+    Calendar calendar = getOrCreateCalendarInterface(authData);
+    List<Calendar.Events.Insert> inserts = new ArrayList<>(eventModels.size());
+    for (CalendarEventModel eventModel : eventModels) {
+      Event event = convertToGoogleCalendarEvent(eventModel);
+      String newCalendarId = idempotentImportExecutor.getCachedValue(eventModel.getCalendarId());
+      inserts.add(calendar.events().insert(newCalendarId, event));
+    }
     try {
-      return getOrCreateCalendarInterface(authData)
-          .events()
-          .insert(newCalendarId, event)
-          .execute()
-          .getId();
+      return GoogleBatchRequests.execute(
+          calendar, GoogleBatchRequests.CALENDAR_BATCH_URL, inserts, Event::getId);
     } catch (TokenResponseException e) {
       TokenErrorResponse details = e.getDetails();
       if (details != null && "invalid_grant".equals(details.getError())) {
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.datatransfer.google.common;
+
+import static java.lang.String.format;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.services.AbstractGoogleClient;
+import com.google.api.client.googleapis.services.json.AbstractGoogleJsonClientRequest;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
+
+/**
+ * Helpers for Google API batch requests, which send several API calls in a single HTTP round trip.
+ */
+public final class GoogleBatchRequests {
+
+  /**
+   * Number of calls sent per batch. The APIs accept more (100 to 1000 depending on the API) but
+   * recommend no more than 50, as larger batches are more likely to be rate limited.
+   */
+  public static final int MAX_BATCH_SIZE = 50;
+
+  // Each API has its own batch endpoint; the global https://www.googleapis.com/batch endpoint,
+  // which older clients default to, has been turned down.
+  public static final String CALENDAR_BATCH_URL = "https://www.googleapis.com/batch/calendar/v3";
+  public static final String GMAIL_BATCH_URL = "https://www.googleapis.com/batch/gmail/v1";
+  public static final String PEOPLE_BATCH_URL = "https://people.googleapis.com/batch";
+  public static final String TASKS_BATCH_URL = "https://www.googleapis.com/batch/tasks/v1";
+
+  private GoogleBatchRequests() {}
+
+  /** Creates an empty batch request for {@code client}, sent to the given batch endpoint. */
+  public static BatchRequest newBatch(AbstractGoogleClient client, String batchUrl) {
+    BatchRequest batch = client.batch();
+    batch.setBatchUrl(new GenericUrl(batchUrl));
+    return batch;
+  }
+
+  /**
+   * Executes {@code requests} in batches of {@link #MAX_BATCH_SIZE}, mapping each response with
+   * {@code resultMapper}.
+   *
+   * @return one result per request, in the same order as {@code requests}; requests the API
+   *     rejected fail with an {@link IOException} describing the error
+   * @throws IOException if a batch as a whole could not be sent
+   */
+  public static <T, R extends Serializable> List<ItemImportResult<R>> execute(
+      AbstractGoogleClient client,
+      String batchUrl,
+      List<? extends AbstractGoogleJsonClientRequest<T>> requests,
+      Function<T, R> resultMapper)
+      throws IOException {
+    List<ItemImportResult<R>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+    for (int start = 0; start < requests.size(); start += MAX_BATCH_SIZE) {
+      BatchRequest batch = newBatch(client, batchUrl);
+      for (int i = start; i < Math.min(start + MAX_BATCH_SIZE, requests.size()); i++) {
+        int index = i;
+        requests
+            .get(i)
+            .queue(
+                batch,
+                new JsonBatchCallback<T>() {
+                  @Override
+                  public void onSuccess(T response, HttpHeaders responseHeaders) {
+                    results.set(index, ItemImportResult.success(resultMapper.apply(response)));
+                  }
+
+                  @Override
+                  public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                    results.set(
+                        index,
+                        ItemImportResult.error(
+                            new IOException(
+                                format(
+                                    "Batched request failed: %d %s",
+                                    error.getCode(), error.getMessage())),
+                            null));
+                  }
+                });
+      }
+      batch.execute();
+    }
+
+    for (int i = 0; i < results.size(); i++) {
+      if (results.get(i) == null) {
+        results.set(
+            i, ItemImportResult.error(new IOException("Batch response is missing a part"), null));
+      }
+    }
+    return results;
+  }
+}
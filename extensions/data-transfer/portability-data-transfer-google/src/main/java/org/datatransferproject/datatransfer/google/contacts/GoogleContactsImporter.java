@@ -31,15 +31,18 @@ import ezvcard.io.json.JCardReader;
 import ezvcard.property.Email;
 import ezvcard.property.StructuredName;
 import ezvcard.property.Telephone;
+import org.datatransferproject.datatransfer.google.common.GoogleBatchRequests;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.datatransfer.google.common.GoogleStaticObjects;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.types.common.models.contacts.ContactsModelWrapper;
 import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -209,20 +212,34 @@ public class GoogleContactsImporter implements Importer<TokensAndUrlAuthData, Co
     try {
       // TODO(olsona): address any other problems that might arise in conversion
       List<VCard> vCardList = reader.readAll();
-      PeopleService.People peopleService = getOrCreatePeopleService(authData).people();
-      for (VCard vCard : vCardList) {
-        Person person = convert(vCard);
-        idempotentExecutor.executeAndSwallowIOExceptions(
-            vCard.toString(),
-            vCard.getFormattedName().toString(),
-            () -> peopleService.createContact(person).execute().toPrettyString());
-      }
+      PeopleService peopleService = getOrCreatePeopleService(authData);
+      idempotentExecutor.executeBatchAndSwallowIOExceptions(
+          vCardList,
+          VCard::toString,
+          vCard -> vCard.getFormattedName().toString(),
+          vCards -> createContacts(peopleService, vCards));
       return ImportResult.OK;
     } catch (IOException e) {
       return new ImportResult(e);
     }
   }
 
+  /**
+   * Creates a contact for each of the given vCards through batch requests.
+   *
+   * @return the resource name of each new contact, or the error creating it, in order
+   */
+  private static List<ItemImportResult<String>> createContacts(
+      PeopleService peopleService, List<VCard> vCards) throws IOException {
+    List<PeopleService.People.CreateContact> createContacts = new ArrayList<>(vCards.size());
+    for (VCard vCard : vCards) {
+      createContacts.add(peopleService.people().createContact(convert(vCard)));
+    }
+    return GoogleBatchRequests.execute(
+        peopleService, GoogleBatchRequests.PEOPLE_BATCH_URL, createContacts,
+        Person::getResourceName);
+  }
+
   private PeopleService getOrCreatePeopleService(TokensAndUrlAuthData authData) {
     return peopleService == null ? makePeopleService(authData) : peopleService;
   }
@@ -1,12 +1,16 @@
 package org.datatransferproject.datatransfer.google.drive;
 
 import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpResponse;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.Drive.Files.List;
 import com.google.api.services.drive.model.File;
 import com.google.api.services.drive.model.FileList;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.datatransfer.google.common.GoogleStaticObjects;
@@ -22,10 +26,15 @@ import org.datatransferproject.types.common.models.blob.DigitalDocumentWrapper;
 import org.datatransferproject.types.common.models.blob.DtpDigitalDocument;
 import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -43,6 +52,9 @@ public final class DriveExporter
   static final String FOLDER_MIME_TYPE = "application/vnd.google-apps.folder";
   private static final String FUSION_TABLE_MIME_TYPE = "application/vnd.google-apps.fusiontable";
   private static final String MAP_MIME_TYPE = "application/vnd.google-apps.map";
+  // Files of a listing page downloaded at once, enough to hide per file latency without
+  // tripping Drive's per user rate limits.
+  private static final int MAX_CONCURRENT_DOWNLOADS = 4;
   // This is generated from calling https://www.googleapis.com/drive/v3/about and
   // picking the best default.
   private static final ImmutableMap<String, String> EXPORT_FORMATS =
@@ -66,6 +78,13 @@ public final class DriveExporter
   private final GoogleCredentialFactory credentialFactory;
   private final TemporaryPerJobDataStore jobStore;
   private final Monitor monitor;
+  private final ExecutorService downloadExecutor =
+      Executors.newFixedThreadPool(
+          MAX_CONCURRENT_DOWNLOADS,
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("google-drive-download-%d")
+              .build());
 
   // Don't access this directly, instead access via getDriveInterface.
   private Drive driveInterface;
@@ -112,46 +131,37 @@ public final class DriveExporter
 
     FileList fileList = driveListOperation.execute();
 
-    for (File file : fileList.getFiles()) {
-      if (FOLDER_MIME_TYPE.equals(file.getMimeType())) {
-        folders.add(new BlobbyStorageContainerResource(file.getName(), file.getId(), null, null));
-      } else if (FUSION_TABLE_MIME_TYPE.equals(file.getMimeType())) {
-        monitor.info(() -> "Exporting of fusion tables is not yet supported: " + file);
-      } else if (MAP_MIME_TYPE.equals(file.getMimeType())) {
-        monitor.info(() -> "Exporting of maps is not yet supported: " + file);
-      } else {
-        try {
-          InputStream inputStream;
-          String newMimeType = file.getMimeType();
-          if (EXPORT_FORMATS.containsKey(file.getMimeType())) {
-            newMimeType = EXPORT_FORMATS.get(file.getMimeType());
-            inputStream =
-                driveInterface
-                    .files()
-                    .export(file.getId(), newMimeType)
-                    .executeMedia()
-                    .getContent();
-          } else {
-            inputStream =
-                driveInterface
-                    .files()
-                    .get(file.getId())
-                    .setAlt("media")
-                    .executeMedia()
-                    .getContent();
-          }
-          jobStore.create(jobId, file.getId(), inputStream);
-          files.add(
-              new DigitalDocumentWrapper(
-                  new DtpDigitalDocument(
-                      file.getName(), file.getModifiedTime().toStringRfc3339(), newMimeType),
-                  file.getMimeType(),
-                  file.getId()));
-        } catch (Exception e) {
-          monitor.severe(() -> "Error exporting " + file, e);
+    // Files are downloaded concurrently, but listed in the result in the order Drive returned them
+    ArrayList<CompletableFuture<Optional<DigitalDocumentWrapper>>> downloads = new ArrayList<>();
+    try {
+      for (File file : fileList.getFiles()) {
+        if (FOLDER_MIME_TYPE.equals(file.getMimeType())) {
+          folders.add(
+              new BlobbyStorageContainerResource(file.getName(), file.getId(), null, null));
+          monitor.info(() -> "Exported " + file);
+        } else if (FUSION_TABLE_MIME_TYPE.equals(file.getMimeType())) {
+          monitor.info(() -> "Exporting of fusion tables is not yet supported: " + file);
+        } else if (MAP_MIME_TYPE.equals(file.getMimeType())) {
+          monitor.info(() -> "Exporting of maps is not yet supported: " + file);
+        } else {
+          downloads.add(
+              CompletableFuture.supplyAsync(
+                  () -> downloadFile(jobId, driveInterface, file), downloadExecutor));
         }
       }
-      monitor.info(() -> "Exported " + file);
+
+      for (CompletableFuture<Optional<DigitalDocumentWrapper>> download : downloads) {
+        download.get().ifPresent(files::add);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while downloading files of folder " + parentId, e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IOException("Error downloading files of folder " + parentId, e.getCause());
+    } finally {
+      // No-op for downloads that already finished; stops queued ones after a failure.
+      downloads.forEach(download -> download.cancel(false));
     }
 
     ResultType resultType = isDone(fileList) ? ResultType.END : ResultType.CONTINUE;
@@ -169,6 +179,37 @@ public final class DriveExporter
     return new ExportResult<>(resultType, result, continuationData);
   }
 
+  /**
+   * Streams the content of {@code file} into the job store. Failures are logged and only cost this
+   * one file, the rest of the page is still exported.
+   */
+  private Optional<DigitalDocumentWrapper> downloadFile(
+      UUID jobId, Drive driveInterface, File file) {
+    try {
+      HttpResponse response;
+      String newMimeType = file.getMimeType();
+      if (EXPORT_FORMATS.containsKey(file.getMimeType())) {
+        newMimeType = EXPORT_FORMATS.get(file.getMimeType());
+        response = driveInterface.files().export(file.getId(), newMimeType).executeMedia();
+      } else {
+        response = driveInterface.files().get(file.getId()).setAlt("media").executeMedia();
+      }
+      try (InputStream inputStream = response.getContent()) {
+        jobStore.create(jobId, file.getId(), inputStream);
+      }
+      monitor.info(() -> "Exported " + file);
+      return Optional.of(
+          new DigitalDocumentWrapper(
+              new DtpDigitalDocument(
+                  file.getName(), file.getModifiedTime().toStringRfc3339(), newMimeType),
+              file.getMimeType(),
+              file.getId()));
+    } catch (Exception e) {
+      monitor.severe(() -> "Error exporting " + file, e);
+      return Optional.empty();
+    }
+  }
+
   private static boolean isDone(FileList fileList) {
     return fileList.getFiles().isEmpty() || Strings.isNullOrEmpty(fileList.getNextPageToken());
   }
@@ -184,8 +225,16 @@ public final class DriveExporter
   static synchronized Drive makeDriveInterface(
       TokensAndUrlAuthData authData, GoogleCredentialFactory credentialFactory) {
     Credential credential = credentialFactory.createCredential(authData);
+    return makeDriveInterface(credential, credentialFactory);
+  }
+
+  /** Builds a Drive client whose requests are all set up by {@code requestInitializer}. */
+  static Drive makeDriveInterface(
+      HttpRequestInitializer requestInitializer, GoogleCredentialFactory credentialFactory) {
     return new Drive.Builder(
-            credentialFactory.getHttpTransport(), credentialFactory.getJsonFactory(), credential)
+            credentialFactory.getHttpTransport(),
+            credentialFactory.getJsonFactory(),
+            requestInitializer)
         .setApplicationName(GoogleStaticObjects.APP_NAME)
         .build();
   }
@@ -2,22 +2,38 @@ package org.datatransferproject.datatransfer.google.drive;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.auth.oauth2.TokenErrorResponse;
 import com.google.api.client.auth.oauth2.TokenResponseException;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.HttpBackOffIOExceptionHandler;
+import com.google.api.client.http.HttpBackOffUnsuccessfulResponseHandler;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpUnsuccessfulResponseHandler;
 import com.google.api.client.http.InputStreamContent;
 import com.google.api.client.util.DateTime;
+import com.google.api.client.util.ExponentialBackOff;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.model.File;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
@@ -33,10 +49,23 @@ public final class DriveImporter
     implements Importer<TokensAndUrlAuthData, BlobbyStorageContainerResource> {
   private static final String ROOT_FOLDER_ID = "root-id";
   private static final String ROOT_FOLDER_FORMAT_STRING = "transfer-%s";
+  private static final int MAX_CONCURRENT_IMPORTS = 4;
+  // Files at least this large are sent as resumable uploads, as Drive recommends above 5MB.
+  private static final long RESUMABLE_UPLOAD_THRESHOLD_BYTES = 5L * 1024 * 1024;
+  // Must be a multiple of MediaHttpUploader.MINIMUM_CHUNK_SIZE
+  private static final int RESUMABLE_UPLOAD_CHUNK_SIZE_BYTES =
+      32 * MediaHttpUploader.MINIMUM_CHUNK_SIZE;
 
   private final GoogleCredentialFactory credentialFactory;
   private final TemporaryPerJobDataStore jobStore;
   private final Monitor monitor;
+  private final ExecutorService importExecutor =
+      Executors.newFixedThreadPool(
+          MAX_CONCURRENT_IMPORTS,
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("google-drive-import-%d")
+              .build());
 
   // Don't access this directly, instead access via getDriveInterface.
   private Drive driveInterface;
@@ -71,20 +100,38 @@ public final class DriveImporter
       parentId = idempotentExecutor.getCachedValue(data.getId());
     }
 
-    // Uploads folder metadata
-    for (BlobbyStorageContainerResource folder : data.getFolders()) {
-      idempotentExecutor.executeAndSwallowIOExceptions(
-          folder.getId(),
-          folder.getName(),
-          () -> importSingleFolder(driveInterface, folder.getName(), parentId));
-    }
+    // Sibling folders and files only need the parent, which exists by now, so they are created
+    // side by side. What they contain is imported by later calls, after this one has returned.
+    List<Future<?>> imports = new ArrayList<>();
+    try {
+      // Uploads folder metadata
+      for (BlobbyStorageContainerResource folder : data.getFolders()) {
+        imports.add(
+            importExecutor.submit(
+                () ->
+                    idempotentExecutor.executeAndSwallowIOExceptions(
+                        folder.getId(),
+                        folder.getName(),
+                        () -> importSingleFolder(driveInterface, folder.getName(), parentId))));
+      }
 
-    // Uploads files
-    for (DigitalDocumentWrapper file : data.getFiles()) {
-      idempotentExecutor.executeAndSwallowIOExceptions(
-          Integer.toString(file.hashCode()),
-          file.getDtpDigitalDocument().getName(),
-          () -> importSingleFile(jobId, driveInterface, file, parentId));
+      // Uploads files
+      for (DigitalDocumentWrapper file : data.getFiles()) {
+        imports.add(
+            importExecutor.submit(
+                () ->
+                    idempotentExecutor.executeAndSwallowIOExceptions(
+                        Integer.toString(file.hashCode()),
+                        file.getDtpDigitalDocument().getName(),
+                        () -> importSingleFile(jobId, driveInterface, file, parentId))));
+      }
+
+      for (Future<?> pendingImport : imports) {
+        awaitImport(pendingImport);
+      }
+    } finally {
+      // No-op for imports that already finished; stops the rest once one has failed the call.
+      imports.forEach(pendingImport -> pendingImport.cancel(true));
     }
 
     return ImportResult.OK;
@@ -117,9 +164,12 @@ public final class DriveImporter
   private String importSingleFile(
       UUID jobId, Drive driveInterface, DigitalDocumentWrapper file, String parentId)
       throws IOException, InvalidTokenException, DestinationMemoryFullException {
-    InputStreamContent content =
-        new InputStreamContent(
-            null, jobStore.getStream(jobId, file.getCachedContentId()).getStream());
+    InputStreamWrapper storedContent = jobStore.getStream(jobId, file.getCachedContentId());
+    InputStreamContent content = new InputStreamContent(null, storedContent.getStream());
+    // Stores that don't know the size report 0
+    if (storedContent.getBytes() != null && storedContent.getBytes() > 0) {
+      content.setLength(storedContent.getBytes());
+    }
     DtpDigitalDocument dtpDigitalDocument = file.getDtpDigitalDocument();
     File driveFile = new File().setName(dtpDigitalDocument.getName());
     if (!Strings.isNullOrEmpty(parentId)) {
@@ -133,7 +183,9 @@ public final class DriveImporter
       driveFile.setMimeType(file.getOriginalEncodingFormat());
     }
     try {
-      return driveInterface.files().create(driveFile, content).execute().getId();
+      Drive.Files.Create create = driveInterface.files().create(driveFile, content);
+      configureUpload(create.getMediaHttpUploader(), content.getLength());
+      return create.execute().getId();
     } catch (TokenResponseException e) {
       TokenErrorResponse details = e.getDetails();
       if (details != null && details.getError().equals("invalid_grant")) {
@@ -149,14 +201,72 @@ public final class DriveImporter
     }
   }
 
+  /**
+   * Sends small files in a single request. Larger files, and files of unknown size, are sent as
+   * resumable uploads in chunks. A chunk that fails is retried by {@link
+   * RetryingRequestInitializer} from where Drive says the upload got to, rather than resending the
+   * whole file.
+   */
+  private static void configureUpload(MediaHttpUploader uploader, long length) {
+    boolean small = length >= 0 && length < RESUMABLE_UPLOAD_THRESHOLD_BYTES;
+    uploader.setDirectUploadEnabled(small);
+    if (!small) {
+      uploader.setChunkSize(RESUMABLE_UPLOAD_CHUNK_SIZE_BYTES);
+    }
+  }
+
+  private static void awaitImport(Future<?> pendingImport) throws Exception {
+    try {
+      pendingImport.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw e;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
   private synchronized Drive getDriveInterface(TokensAndUrlAuthData authData) {
     if (driveInterface == null) {
-      driveInterface = DriveExporter.makeDriveInterface(authData, credentialFactory);
+      Credential credential = credentialFactory.createCredential(authData);
+      driveInterface =
+          DriveExporter.makeDriveInterface(
+              new RetryingRequestInitializer(credential), credentialFactory);
     }
 
     return driveInterface;
   }
 
+  /**
+   * Authorizes requests with the user's credential, and retries requests that fail with a server
+   * error or an {@link IOException}, backing off exponentially. The chunks of resumable uploads are
+   * sent through these requests too; when one is retried the uploader first asks Drive how much of
+   * the file it received, and carries on from there.
+   */
+  private static final class RetryingRequestInitializer implements HttpRequestInitializer {
+    private final Credential credential;
+
+    RetryingRequestInitializer(Credential credential) {
+      this.credential = credential;
+    }
+
+    @Override
+    public void initialize(HttpRequest request) throws IOException {
+      credential.initialize(request);
+      HttpUnsuccessfulResponseHandler backOffHandler =
+          new HttpBackOffUnsuccessfulResponseHandler(new ExponentialBackOff());
+      // The credential refreshes expired tokens, the backoff handler retries server errors
+      request.setUnsuccessfulResponseHandler(
+          (retriedRequest, response, supportsRetry) ->
+              credential.handleResponse(retriedRequest, response, supportsRetry)
+                  || backOffHandler.handleResponse(retriedRequest, response, supportsRetry));
+      request.setIOExceptionHandler(new HttpBackOffIOExceptionHandler(new ExponentialBackOff()));
+    }
+  }
+
   private String getRootFolderName() {
     // TODO(alexeyqu): use PortabilityJob.createdTimestamp here for consistency
     return String.format(
@@ -17,16 +17,23 @@
 package org.datatransferproject.datatransfer.google.mail;
 
 import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.services.gmail.Gmail;
 import com.google.api.services.gmail.Gmail.Users.Messages;
 import com.google.api.services.gmail.model.ListMessagesResponse;
 import com.google.api.services.gmail.model.Message;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.datatransferproject.datatransfer.google.common.GoogleBatchRequests;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.datatransfer.google.common.GoogleStaticObjects;
 import org.datatransferproject.spi.transfer.provider.ExportResult;
@@ -89,16 +96,18 @@ public class GoogleMailExporter implements Exporter<TokensAndUrlAuthData, MailCo
     List<MailMessageModel> results = new ArrayList<>(response.getMessages().size());
     // TODO: this is a good indication we need to swap the interface
     // as we can't store all the mail messages in memory at once.
-    for (Message listMessage : response.getMessages()) {
-      Message getResponse = null;
+    for (List<Message> listMessages :
+        Lists.partition(response.getMessages(), GoogleBatchRequests.MAX_BATCH_SIZE)) {
+      Message[] getResponses;
       try {
-        getResponse =
-            gmail.users().messages().get(USER, listMessage.getId()).setFormat("raw").execute();
+        getResponses = getRawMessages(gmail, listMessages);
       } catch (IOException e) {
         return new ExportResult<>(e);
       }
-      // TODO: note this doesn't transfer things like labels
-      results.add(new MailMessageModel(getResponse.getRaw(), getResponse.getLabelIds()));
+      for (Message getResponse : getResponses) {
+        // TODO: note this doesn't transfer things like labels
+        results.add(new MailMessageModel(getResponse.getRaw(), getResponse.getLabelIds()));
+      }
     }
 
     PaginationData newPage = null;
@@ -112,6 +121,52 @@ public class GoogleMailExporter implements Exporter<TokensAndUrlAuthData, MailCo
     return new ExportResult<>(resultType, mailContainerResource, new ContinuationData(newPage));
   }
 
+  /**
+   * Fetches the raw form of each of the given messages in a single batch request, rather than one
+   * round trip per message.
+   *
+   * @return the fetched messages, in the same order as {@code listMessages}
+   * @throws IOException if the batch, or any single fetch within it, fails
+   */
+  private Message[] getRawMessages(Gmail gmail, List<Message> listMessages) throws IOException {
+    Message[] getResponses = new Message[listMessages.size()];
+    List<String> failures = new ArrayList<>();
+    BatchRequest batch = GoogleBatchRequests.newBatch(gmail, GoogleBatchRequests.GMAIL_BATCH_URL);
+    for (int i = 0; i < listMessages.size(); i++) {
+      int index = i;
+      String messageId = listMessages.get(i).getId();
+      gmail
+          .users()
+          .messages()
+          .get(USER, messageId)
+          .setFormat("raw")
+          .queue(
+              batch,
+              new JsonBatchCallback<Message>() {
+                @Override
+                public void onSuccess(Message message, HttpHeaders responseHeaders) {
+                  getResponses[index] = message;
+                }
+
+                @Override
+                public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                  failures.add(
+                      String.format(
+                          "message %s: %d %s", messageId, error.getCode(), error.getMessage()));
+                }
+              });
+    }
+    batch.execute();
+
+    if (!failures.isEmpty()) {
+      throw new IOException("Failed to get messages: " + String.join(", ", failures));
+    }
+    if (Arrays.asList(getResponses).contains(null)) {
+      throw new IOException("Batch response is missing messages");
+    }
+    return getResponses;
+  }
+
   private Gmail getOrCreateGmail(TokensAndUrlAuthData authData) {
     return gmail == null ? makeGmailService(authData) : gmail;
   }
@@ -24,7 +24,11 @@ import com.google.api.client.json.JsonFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -33,7 +37,15 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 import org.datatransferproject.api.launcher.Monitor;
@@ -80,6 +92,22 @@ public class GoogleMediaExporter implements Exporter<TokensAndUrlAuthData, Media
    */
   private static final double MAX_WRITES_PER_SECOND = 1.0;
 
+  /**
+   * Upper limit of reads per second across every listing this exporter has in flight, including
+   * the album listings fanned out by {@link #populateContainedMediaList}.
+   */
+  private static final double MAX_READS_PER_SECOND = 10.0;
+
+  /** Number of albums whose media items are listed at the same time while indexing albums. */
+  private static final int MAX_CONCURRENT_ALBUM_LISTINGS = 4;
+
+  /**
+   * How long a background contained media listing is kept for its job. Exporters aren't told when
+   * a job ends, so the listings of jobs that fail before their albumless pass are let go after
+   * this; a job that gets there later lists its albums again.
+   */
+  private static final long CONTAINED_MEDIA_LIST_EXPIRATION_HOURS = 24;
+
   static final String ALBUM_TOKEN_PREFIX = "album:";
   static final String MEDIA_TOKEN_PREFIX = "media:";
 
@@ -90,6 +118,26 @@ public class GoogleMediaExporter implements Exporter<TokensAndUrlAuthData, Media
   private volatile GooglePhotosInterface photosInterface;
   private IdempotentImportExecutor retryingExecutor;
   private Boolean enableRetrying;
+  // Shared by every interface this exporter creates, since one is created per call.
+  private final RateLimiter readRateLimiter = RateLimiter.create(MAX_READS_PER_SECOND);
+  private final ExecutorService albumListingExecutor =
+      Executors.newFixedThreadPool(
+          MAX_CONCURRENT_ALBUM_LISTINGS,
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("google-media-album-listing-%d")
+              .build());
+  private final ExecutorService containedMediaIndexExecutor =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("google-media-contained-index-%d")
+              .build());
+  // Contained media indexes still being built in the background, keyed by job.
+  private final Cache<UUID, CompletableFuture<Void>> pendingContainedMediaLists =
+      CacheBuilder.newBuilder()
+          .expireAfterWrite(CONTAINED_MEDIA_LIST_EXPIRATION_HOURS, TimeUnit.HOURS)
+          .build();
 
   public GoogleMediaExporter(
       GoogleCredentialFactory credentialFactory,
@@ -156,8 +204,9 @@ public class GoogleMediaExporter implements Exporter<TokensAndUrlAuthData, Media
       UUID jobId, TokensAndUrlAuthData authData, Optional<ExportInformation> exportInformation)
           throws UploadErrorException, FailedToListAlbumsException, InvalidTokenException, PermissionDeniedException, IOException, FailedToListMediaItemsException {
     if (!exportInformation.isPresent()) {
-      // Make list of photos contained in albums so they are not exported twice later on
-      populateContainedMediaList(jobId, authData);
+      // Make list of photos contained in albums so they are not exported twice later on. Only the
+      // albumless media pass needs that list, so the albums can be exported while it is built.
+      startPopulatingContainedMediaList(jobId, authData);
       return exportAlbums(authData, Optional.empty(), jobId);
     } else if (exportInformation.get().getContainerResource() instanceof PhotosContainerResource) {
       // if ExportInformation is a photos container, this is a request to only export the contents
@@ -401,7 +450,12 @@ public class GoogleMediaExporter implements Exporter<TokensAndUrlAuthData, Media
     MediaContainerResource containerResource = null;
     GoogleMediaItem[] mediaItems = mediaItemSearchResponse.getMediaItems();
     if (mediaItems != null && mediaItems.length > 0) {
-      containerResource = convertMediaListToResource(albumId, mediaItems, jobId);
+      // Media listed by album is always exported, so the contained media list is only needed (and
+      // only waited for) when listing albumless media.
+      TempMediaData containedMediaList =
+          albumId.isPresent() ? null : loadContainedMediaList(jobId, authData);
+      containerResource =
+          convertMediaListToResource(albumId, mediaItems, containedMediaList, jobId);
     }
 
     ResultType resultType = ResultType.CONTINUE;
@@ -412,40 +466,157 @@ public class GoogleMediaExporter implements Exporter<TokensAndUrlAuthData, Media
     return new ExportResult<>(resultType, containerResource, continuationData);
   }
 
-  /** Method for storing a list of all photos that are already contained in albums */
+  /**
+   * Runs {@link #populateContainedMediaList} in the background; the albumless media pass waits for
+   * it in {@link #loadContainedMediaList}.
+   */
+  private void startPopulatingContainedMediaList(UUID jobId, TokensAndUrlAuthData authData) {
+    pendingContainedMediaLists.put(
+        jobId,
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                populateContainedMediaList(jobId, authData);
+              } catch (Exception e) {
+                throw new CompletionException(e);
+              }
+            },
+            containedMediaIndexExecutor));
+  }
+
+  /**
+   * Reads the list stored by {@link #populateContainedMediaList}, first waiting for it if it is
+   * still being built in the background.
+   */
+  @Nullable
+  private TempMediaData loadContainedMediaList(UUID jobId, TokensAndUrlAuthData authData)
+      throws IOException, FailedToListMediaItemsException {
+    CompletableFuture<Void> pendingList = pendingContainedMediaLists.getIfPresent(jobId);
+    if (pendingList != null) {
+      if (!awaitContainedMediaList(jobId, pendingList)) {
+        repopulateContainedMediaList(jobId, authData);
+      }
+      return readContainedMediaList(jobId);
+    }
+
+    try {
+      return readContainedMediaList(jobId);
+    } catch (IOException e) {
+      // Jobs resumed from a saved stack have no pending list, and the worker that started them may
+      // have stopped before storing it, so list the albums again.
+      monitor.info(
+          () -> format("%s: Contained media list unavailable, listing albums again", jobId), e);
+      repopulateContainedMediaList(jobId, authData);
+      return readContainedMediaList(jobId);
+    }
+  }
+
+  /** Runs {@link #populateContainedMediaList} in the calling thread, as part of a media listing. */
+  private void repopulateContainedMediaList(UUID jobId, TokensAndUrlAuthData authData)
+      throws IOException, FailedToListMediaItemsException {
+    try {
+      populateContainedMediaList(jobId, authData);
+    } catch (FailedToListAlbumsException
+        | InvalidTokenException
+        | PermissionDeniedException
+        | UploadErrorException populateException) {
+      throw new FailedToListMediaItemsException(
+          populateException.getMessage(), populateException);
+    }
+  }
+
+  @Nullable
+  private TempMediaData readContainedMediaList(UUID jobId) throws IOException {
+    InputStream stream = jobStore.getStream(jobId, createCacheKey()).getStream();
+    if (stream == null) {
+      return null;
+    }
+    try (InputStream containedMediaStream = stream) {
+      return new ObjectMapper().readValue(containedMediaStream, TempMediaData.class);
+    }
+  }
+
+  /**
+   * Blocks until {@code pendingList}, the contained media list this worker started building for
+   * the job, is in the job store. It is forgotten either way, so that a failure is only seen once.
+   *
+   * @return whether the list was stored; false if building it failed
+   */
+  private boolean awaitContainedMediaList(UUID jobId, CompletableFuture<Void> pendingList)
+      throws IOException {
+    try {
+      pendingList.get();
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while listing media contained in albums", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      monitor.info(
+          () -> format("%s: Listing albums in the background failed, listing them again", jobId),
+          e.getCause());
+      return false;
+    } finally {
+      pendingContainedMediaLists.asMap().remove(jobId, pendingList);
+    }
+  }
+
+  /**
+   * Method for storing a list of all photos that are already contained in albums. Album pages are
+   * listed in order, while the media of up to {@link #MAX_CONCURRENT_ALBUM_LISTINGS} albums is
+   * listed concurrently, sharing the interface's read rate limit.
+   */
   void populateContainedMediaList(UUID jobId, TokensAndUrlAuthData authData)
           throws IOException, InvalidTokenException, PermissionDeniedException, UploadErrorException, FailedToListAlbumsException, FailedToListMediaItemsException {
     // This method is only called once at the beginning of the transfer, so we can start by
     // initializing a new TempMediaData to be store in the job store.
     TempMediaData tempMediaData = new TempMediaData(jobId);
+    Set<String> containedMediaIds = ConcurrentHashMap.newKeySet();
+    List<CompletableFuture<Void>> albumListings = new ArrayList<>();
 
-    String albumToken = null;
-    AlbumListResponse albumListResponse;
-    MediaItemSearchResponse containedMediaSearchResponse;
-    do {
-      albumListResponse = listAlbums(jobId, authData, Optional.ofNullable(albumToken));
-      albumToken = albumListResponse.getNextPageToken();
-      if (albumListResponse.getAlbums() == null) {
-        continue;
-      }
+    try {
+      String albumToken = null;
+      AlbumListResponse albumListResponse;
+      do {
+        albumListResponse = listAlbums(jobId, authData, Optional.ofNullable(albumToken));
+        albumToken = albumListResponse.getNextPageToken();
+        if (albumListResponse.getAlbums() == null) {
+          continue;
+        }
 
-      for (GoogleAlbum album : albumListResponse.getAlbums()) {
-        String albumId = album.getId();
-        String photoToken = null;
+        for (GoogleAlbum album : albumListResponse.getAlbums()) {
+          String albumId = album.getId();
+          albumListings.add(
+              CompletableFuture.runAsync(
+                  () -> {
+                    try {
+                      listContainedMediaIds(jobId, authData, albumId, containedMediaIds);
+                    } catch (FailedToListMediaItemsException e) {
+                      throw new CompletionException(e);
+                    }
+                  },
+                  albumListingExecutor));
+        }
+      } while (albumToken != null);
 
-        do {
-          containedMediaSearchResponse = listMediaItems(jobId, authData, Optional.of(albumId), Optional.ofNullable(photoToken));
-          if (containedMediaSearchResponse.getMediaItems() != null) {
-            for (GoogleMediaItem mediaItem : containedMediaSearchResponse.getMediaItems()) {
-              tempMediaData.addContainedPhotoId(mediaItem.getId());
-            }
-          }
-          photoToken = containedMediaSearchResponse.getNextPageToken();
-        } while (photoToken != null);
+      for (CompletableFuture<Void> albumListing : albumListings) {
+        albumListing.get();
       }
-
-      albumToken = albumListResponse.getNextPageToken();
-    } while (albumToken != null);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while listing media contained in albums", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof FailedToListMediaItemsException) {
+        throw (FailedToListMediaItemsException) e.getCause();
+      }
+      throw new FailedToListMediaItemsException(e.getMessage(), e);
+    } finally {
+      // No-op for listings that already finished; stops queued ones after a failure.
+      albumListings.forEach(albumListing -> albumListing.cancel(false));
+    }
+    tempMediaData.addAllContainedPhotoIds(containedMediaIds);
 
     // TODO: if we see complaints about objects being too large for JobStore in other places, we
     // should consider putting logic in JobStore itself to handle it
@@ -453,6 +624,23 @@ public class GoogleMediaExporter implements Exporter<TokensAndUrlAuthData, Media
     jobStore.create(jobId, createCacheKey(), stream);
   }
 
+  /** Pages through a single album, adding the id of each media item as its page arrives. */
+  private void listContainedMediaIds(
+      UUID jobId, TokensAndUrlAuthData authData, String albumId, Set<String> containedMediaIds)
+      throws FailedToListMediaItemsException {
+    String photoToken = null;
+    do {
+      MediaItemSearchResponse containedMediaSearchResponse =
+          listMediaItems(jobId, authData, Optional.of(albumId), Optional.ofNullable(photoToken));
+      if (containedMediaSearchResponse.getMediaItems() != null) {
+        for (GoogleMediaItem mediaItem : containedMediaSearchResponse.getMediaItems()) {
+          containedMediaIds.add(mediaItem.getId());
+        }
+      }
+      photoToken = containedMediaSearchResponse.getNextPageToken();
+    } while (photoToken != null);
+  }
+
   private Optional<String> getPhotosPaginationToken(Optional<PaginationData> paginationData) {
     Optional<String> paginationToken = Optional.empty();
     if (paginationData.isPresent()) {
@@ -467,17 +655,13 @@ public class GoogleMediaExporter implements Exporter<TokensAndUrlAuthData, Media
   }
 
   private MediaContainerResource convertMediaListToResource(
-      Optional<String> albumId, GoogleMediaItem[] mediaItems, UUID jobId) throws IOException {
+      Optional<String> albumId,
+      GoogleMediaItem[] mediaItems,
+      @Nullable TempMediaData tempMediaData,
+      UUID jobId) throws IOException {
     List<PhotoModel> photos = new ArrayList<>(mediaItems.length);
     List<VideoModel> videos = new ArrayList<>(mediaItems.length);
 
-    TempMediaData tempMediaData = null;
-    InputStream stream = jobStore.getStream(jobId, createCacheKey()).getStream();
-    if (stream != null) {
-      tempMediaData = new ObjectMapper().readValue(stream, TempMediaData.class);
-      stream.close();
-    }
-
     ImmutableList.Builder<ErrorDetail> errors = ImmutableList.builder();
     for (GoogleMediaItem mediaItem : mediaItems) {
       boolean shouldUpload = albumId.isPresent();
@@ -631,6 +815,11 @@ public class GoogleMediaExporter implements Exporter<TokensAndUrlAuthData, Media
   private synchronized GooglePhotosInterface makePhotosInterface(TokensAndUrlAuthData authData) {
     Credential credential = credentialFactory.createCredential(authData);
     return new GooglePhotosInterface(
-        credentialFactory, credential, jsonFactory, monitor, MAX_WRITES_PER_SECOND);
+        credentialFactory,
+        credential,
+        jsonFactory,
+        monitor,
+        MAX_WRITES_PER_SECOND,
+        readRateLimiter);
   }
 }
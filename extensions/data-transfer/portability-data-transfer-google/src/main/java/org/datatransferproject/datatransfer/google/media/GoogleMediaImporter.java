@@ -23,6 +23,7 @@ import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.json.JsonFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.photos.library.v1.PhotosLibraryClient;
 import com.google.rpc.Code;
 import java.io.IOException;
@@ -33,8 +34,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.UUID;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.datatransfer.google.common.GooglePhotosImportUtils;
@@ -49,6 +53,7 @@ import org.datatransferproject.datatransfer.google.photos.GooglePhotosInterface;
 import org.datatransferproject.datatransfer.google.photos.PhotoResult;
 import org.datatransferproject.datatransfer.google.videos.GoogleVideosInterface;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
+import org.datatransferproject.spi.cloud.storage.ContentHashIndex;
 import org.datatransferproject.spi.cloud.storage.JobStore;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
 import org.datatransferproject.spi.cloud.types.PortabilityJob;
@@ -76,6 +81,7 @@ public class GoogleMediaImporter
   private final JobStore jobStore;
   private final JsonFactory jsonFactory;
   private final ConnectionProvider connectionProvider;
+  private final ContentHashIndex contentHashIndex;
   private final Monitor monitor;
   private final double writesPerSecond;
   private final Map<UUID, GooglePhotosInterface> photosInterfacesMap;
@@ -97,7 +103,8 @@ public class GoogleMediaImporter
       JsonFactory jsonFactory,
       AppCredentials appCredentials,
       Monitor monitor,
-      double writesPerSecond) {
+      double writesPerSecond,
+      @Nullable DtpInternalMetricRecorder metricRecorder) {
     this(
         credentialFactory,
         jobStore,
@@ -106,7 +113,7 @@ public class GoogleMediaImporter
         new HashMap<>(), /*photosLibraryClientMap*/
         appCredentials,
         null,  /*photosInterface*/
-        new ConnectionProvider(jobStore),
+        new ConnectionProvider(jobStore, metricRecorder),
         monitor,
         writesPerSecond);
   }
@@ -131,6 +138,7 @@ public class GoogleMediaImporter
     this.appCredentials = appCredentials;
     this.photosInterface = photosInterface;
     this.connectionProvider = connectionProvider;
+    this.contentHashIndex = new ContentHashIndex(jobStore);
     this.monitor = monitor;
     this.writesPerSecond = writesPerSecond;
   }
@@ -208,11 +216,15 @@ public class GoogleMediaImporter
     final ArrayList<NewMediaItem> mediaItems = new ArrayList<>();
     final HashMap<String, PhotoModel> uploadTokenToDataId = new HashMap<>();
     final HashMap<String, Long> uploadTokenToLength = new HashMap<>();
+    final HashMap<String, String> uploadTokenToContentHash = new HashMap<>();
 
     // TODO: resumable uploads https://developers.google.com/photos/library/guides/resumable-uploads
     //  Resumable uploads would allow the upload of larger media that don't fit in memory.  To do
     //  this however, seems to require knowledge of the total file size.
     for (PhotoModel photo : photos) {
+      if (importFromContentHashIndex(jobId, authData, photo, executor, albumId)) {
+        continue;
+      }
       Long size = null;
       try {
         InputStreamWrapper streamWrapper = connectionProvider
@@ -226,6 +238,11 @@ public class GoogleMediaImporter
           uploadTokenToDataId.put(uploadToken, photo);
           size = streamWrapper.getBytes();
           uploadTokenToLength.put(uploadToken, size);
+          // Only a hash the exporter supplied can be looked up before uploading, so there is no
+          // point in recording others
+          if (!StringUtils.isEmpty(photo.getSha1())) {
+            uploadTokenToContentHash.put(uploadToken, photo.getSha1());
+          }
         } catch (UploadErrorException e) {
           if (e.getMessage().contains(ERROR_HASH_MISMATCH)) {
             monitor.severe(
@@ -274,6 +291,13 @@ public class GoogleMediaImporter
         totalBytes +=
             processMediaResult(
                 mediaItem, photo, executor, uploadTokenToLength.get(mediaItem.getUploadToken()));
+        if (mediaItem.getStatus().getCode() == Code.OK_VALUE) {
+          recordInContentHashIndex(
+              jobId,
+              albumId,
+              uploadTokenToContentHash.get(mediaItem.getUploadToken()),
+              mediaItem.getMediaItem().getId());
+        }
         uploadTokenToDataId.remove(mediaItem.getUploadToken());
       }
 
@@ -305,6 +329,68 @@ public class GoogleMediaImporter
     return totalBytes;
   }
 
+  /**
+   * Imports {@code photo} without uploading it if content with the same SHA-1 was already imported
+   * during this job, adding the existing media item to {@code albumId} if it isn't in it yet. Only
+   * possible when the exporter supplied the hash, as otherwise it isn't known until the bytes have
+   * been read.
+   *
+   * @return whether the photo was imported
+   */
+  private boolean importFromContentHashIndex(
+      UUID jobId,
+      TokensAndUrlAuthData authData,
+      PhotoModel photo,
+      IdempotentImportExecutor executor,
+      @Nullable String albumId)
+      throws Exception {
+    String contentHash = photo.getSha1();
+    if (StringUtils.isEmpty(contentHash)) {
+      return false;
+    }
+    Optional<String> importedId;
+    try {
+      importedId = contentHashIndex.findImportedId(jobId, null, contentHash);
+      if (importedId.isPresent()
+          && albumId != null
+          && !contentHashIndex.findImportedId(jobId, albumId, contentHash).isPresent()) {
+        // The same media item can be in several albums, so add it rather than upload a copy
+        getOrCreatePhotosInterface(jobId, authData)
+            .addMediaItemsToAlbum(albumId, ImmutableList.of(importedId.get()));
+        contentHashIndex.recordImport(jobId, albumId, contentHash, importedId.get());
+      }
+    } catch (IOException | UploadErrorException e) {
+      // The index only saves work, so carry on with a regular upload
+      monitor.info(() -> format("%s: Couldn't reuse content hash %s", jobId, contentHash), e);
+      return false;
+    }
+    if (!importedId.isPresent()) {
+      return false;
+    }
+    monitor.debug(
+        () -> format("%s: Skipping upload of photo %s, its content was already imported as %s",
+            jobId, photo.getIdempotentId(), importedId.get()));
+    PhotoResult photoResult = new PhotoResult(importedId.get(), 0L);
+    executor.importAndSwallowIOExceptions(
+        photo, itemToImport -> ItemImportResult.success(photoResult, 0L));
+    return true;
+  }
+
+  private void recordInContentHashIndex(
+      UUID jobId, @Nullable String albumId, @Nullable String contentHash, String mediaItemId) {
+    if (contentHash == null) {
+      return;
+    }
+    try {
+      contentHashIndex.recordImport(jobId, null, contentHash, mediaItemId);
+      if (albumId != null) {
+        contentHashIndex.recordImport(jobId, albumId, contentHash, mediaItemId);
+      }
+    } catch (IOException e) {
+      monitor.info(() -> format("%s: Couldn't record content hash %s", jobId, contentHash), e);
+    }
+  }
+
   long importVideos(
       Collection<VideoModel> videos,
       GPhotosUpload gPhotosUpload)
@@ -46,6 +46,7 @@ import org.datatransferproject.datatransfer.google.musicModels.GoogleTrack;
 import org.datatransferproject.datatransfer.google.musicModels.NewPlaylistItemResult;
 import org.datatransferproject.datatransfer.google.musicModels.Status;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.spi.transfer.types.CopyException;
@@ -210,6 +211,24 @@ public class GoogleMusicImporter implements Importer<TokensAndUrlAuthData, Music
       }
       return;
     }
+    executor.executeBatchAndSwallowIOExceptions(
+        playlistItems,
+        MusicPlaylistItem::toString,
+        MusicPlaylistItem::toString,
+        itemsToImport -> createPlaylistItems(jobId, authData, itemsToImport, playlistId));
+  }
+
+  /**
+   * Creates the given items, all from the same playlist, with a single batch request.
+   *
+   * @return the outcome of each item, in the order of {@code playlistItems}
+   */
+  private List<ItemImportResult<String>> createPlaylistItems(
+      UUID jobId,
+      TokensAndUrlAuthData authData,
+      List<MusicPlaylistItem> playlistItems,
+      String playlistId)
+      throws Exception {
     List<ImportPlaylistItemRequest> createPlaylistItemRequests = new ArrayList<>();
     for (MusicPlaylistItem playlistItem : playlistItems) {
       createPlaylistItemRequests.add(
@@ -221,16 +240,34 @@ public class GoogleMusicImporter implements Importer<TokensAndUrlAuthData, Music
 
     BatchPlaylistItemResponse responsePlaylistItem =
         getOrCreateMusicInterface(jobId, authData).importPlaylistItems(batchRequest);
-    for (int i = 0; i < responsePlaylistItem.getResults().length; i++) {
-      NewPlaylistItemResult playlistItemResult = responsePlaylistItem.getResults()[i];
+    NewPlaylistItemResult[] playlistItemResults =
+        responsePlaylistItem.getResults() == null
+            ? new NewPlaylistItemResult[0]
+            : responsePlaylistItem.getResults();
+
+    List<ItemImportResult<String>> results = new ArrayList<>(playlistItems.size());
+    for (int i = 0; i < playlistItems.size(); i++) {
+      if (i >= playlistItemResults.length) {
+        results.add(
+            ItemImportResult.error(
+                new IOException(
+                    String.format(
+                        "No result returned for PlaylistItem : %s", playlistItems.get(i))),
+                null));
+        continue;
+      }
       // playlistItemResult should be success or skippable failure.
       // TODO(critical WIP-feature step): Replace it with skippable failure support.
-      // processNewPlaylistItemResult(playlistItems.get(i), playlistItemResult, executor);
-      executor.executeAndSwallowIOExceptions(
-          playlistItems.get(i).toString(),
-          playlistItems.get(i).toString(),
-          () -> summarizeNewPlaylistItemResultErrors(playlistItemResult));
+      try {
+        results.add(
+            ItemImportResult.success(
+                summarizeNewPlaylistItemResultErrors(playlistItemResults[i])));
+      } catch (Exception e) {
+        // Permanent failures are not IO exceptions, so the executor still passes them on
+        results.add(ItemImportResult.error(e, null));
+      }
     }
+    return results;
   }
 
   /**
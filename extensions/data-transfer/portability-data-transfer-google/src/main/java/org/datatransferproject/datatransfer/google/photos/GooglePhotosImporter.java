@@ -36,7 +36,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.datatransfer.google.common.GooglePhotosImportUtils;
@@ -88,14 +90,15 @@ public class GooglePhotosImporter
       Monitor monitor,
       double writesPerSecond,
       IdempotentImportExecutor retryingIdempotentExecutor,
-      boolean enableRetrying) {
+      boolean enableRetrying,
+      @Nullable DtpInternalMetricRecorder metricRecorder) {
     this(
         credentialFactory,
         jobStore,
         jsonFactory,
         new HashMap<>(),
         null,
-        new ConnectionProvider(jobStore),
+        new ConnectionProvider(jobStore, metricRecorder),
         monitor,
         writesPerSecond,
         retryingIdempotentExecutor,
@@ -107,14 +110,15 @@ public class GooglePhotosImporter
       JobStore jobStore,
       JsonFactory jsonFactory,
       Monitor monitor,
-      double writesPerSecond) {
+      double writesPerSecond,
+      @Nullable DtpInternalMetricRecorder metricRecorder) {
     this(
         credentialFactory,
         jobStore,
         jsonFactory,
         new HashMap<>(),
         null,
-        new ConnectionProvider(jobStore),
+        new ConnectionProvider(jobStore, metricRecorder),
         monitor,
         writesPerSecond);
   }
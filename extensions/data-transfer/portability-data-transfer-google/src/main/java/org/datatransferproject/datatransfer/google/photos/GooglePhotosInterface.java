@@ -93,11 +93,13 @@ public class GooglePhotosInterface {
   private final ObjectMapper objectMapper =
       new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
   private final HttpTransport httpTransport = new NetHttpTransport();
-  private Credential credential;
+  private volatile Credential credential;
   private final JsonFactory jsonFactory;
   private final Monitor monitor;
   private final GoogleCredentialFactory credentialFactory;
   private final RateLimiter writeRateLimiter;
+  // Null when reads are not throttled on this side.
+  @Nullable private final RateLimiter readRateLimiter;
 
   public GooglePhotosInterface(
       GoogleCredentialFactory credentialFactory,
@@ -105,11 +107,33 @@ public class GooglePhotosInterface {
       JsonFactory jsonFactory,
       Monitor monitor,
       double writesPerSecond) {
+    this(
+        credentialFactory,
+        credential,
+        jsonFactory,
+        monitor,
+        writesPerSecond,
+        /* readRateLimiter= */ null);
+  }
+
+  /**
+   * Creates an interface whose read calls (GETs and media item searches) wait on {@code
+   * readRateLimiter}, so callers may fan listings out over several threads, or share the limiter
+   * between several interfaces, without exceeding its rate.
+   */
+  public GooglePhotosInterface(
+      GoogleCredentialFactory credentialFactory,
+      Credential credential,
+      JsonFactory jsonFactory,
+      Monitor monitor,
+      double writesPerSecond,
+      @Nullable RateLimiter readRateLimiter) {
     this.credentialFactory = credentialFactory;
     this.credential = credential;
     this.jsonFactory = jsonFactory;
     this.monitor = monitor;
     writeRateLimiter = RateLimiter.create(writesPerSecond);
+    this.readRateLimiter = readRateLimiter;
   }
 
   public AlbumListResponse listAlbums(Optional<String> pageToken)
@@ -146,8 +170,12 @@ public class GooglePhotosInterface {
       params.put(TOKEN_KEY, pageToken.get());
     }
     HttpContent content = new JsonHttpContent(this.jsonFactory, params);
+    // Searching is a read even though the API exposes it as a POST, so it must not consume the
+    // (much smaller) write budget. Without a read limiter it stays on the write limiter, as it
+    // always was, rather than going unthrottled.
+    RateLimiter searchRateLimiter = readRateLimiter != null ? readRateLimiter : writeRateLimiter;
     return makePostRequest(BASE_URL + "mediaItems:search", Optional.empty(), Optional.empty(),
-        content, MediaItemSearchResponse.class);
+        content, MediaItemSearchResponse.class, Optional.of(searchRateLimiter));
   }
 
   public GoogleAlbum createAlbum(GoogleAlbum googleAlbum)
@@ -196,15 +224,29 @@ public class GooglePhotosInterface {
         httpContent, BatchMediaItemResponse.class);
   }
 
+  /** Adds media items this app already created to an album it created. */
+  public void addMediaItemsToAlbum(String albumId, List<String> mediaItemIds)
+      throws IOException, InvalidTokenException, PermissionDeniedException, UploadErrorException {
+    Map<String, Object> contentMap = ImmutableMap.of("mediaItemIds", mediaItemIds);
+    HttpContent content = new JsonHttpContent(jsonFactory, contentMap);
+
+    makePostRequest(BASE_URL + "albums/" + albumId + ":batchAddMediaItems", Optional.empty(),
+        Optional.empty(), content, String.class);
+  }
+
   private <T> T makeGetRequest(String url, Optional<Map<String, String>> parameters, Class<T> clazz)
       throws IOException, InvalidTokenException, PermissionDeniedException {
     HttpRequestFactory requestFactory = httpTransport.createRequestFactory();
 
     HttpResponse response;
     try {
-      response = makeHttpRequest(() ->
-                  requestFactory.buildGetRequest(
-                      new GenericUrl(url + "?" + generateParamsString(parameters))));
+      response = makeHttpRequest(() -> {
+        if (readRateLimiter != null) {
+          readRateLimiter.acquire();
+        }
+        return requestFactory.buildGetRequest(
+            new GenericUrl(url + "?" + generateParamsString(parameters)));
+      });
     } catch (UploadErrorException e) {
       throw new IllegalStateException("GET request unexpectedly produced Upload exception", e);
     }
@@ -221,10 +263,22 @@ public class GooglePhotosInterface {
       HttpContent httpContent,
       Class<T> clazz)
       throws IOException, InvalidTokenException, PermissionDeniedException, UploadErrorException {
+    return makePostRequest(
+        url, parameters, extraHeaders, httpContent, clazz, Optional.of(writeRateLimiter));
+  }
+
+  private <T> T makePostRequest(
+      String url,
+      Optional<Map<String, String>> parameters,
+      Optional<Map<String, String>> extraHeaders,
+      HttpContent httpContent,
+      Class<T> clazz,
+      Optional<RateLimiter> rateLimiter)
+      throws IOException, InvalidTokenException, PermissionDeniedException, UploadErrorException {
     HttpRequestFactory requestFactory = httpTransport.createRequestFactory();
     HttpResponse response = makeHttpRequest(() -> {
-      // Wait for write permit before making request
-      writeRateLimiter.acquire();
+      // Wait for permit before making request
+      rateLimiter.ifPresent(RateLimiter::acquire);
 
       HttpRequest postRequest =
         requestFactory.buildPostRequest(
@@ -21,9 +21,11 @@ import com.google.api.services.tasks.Tasks;
 import com.google.api.services.tasks.model.Task;
 import com.google.api.services.tasks.model.TaskList;
 import com.google.common.annotations.VisibleForTesting;
+import org.datatransferproject.datatransfer.google.common.GoogleBatchRequests;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.datatransfer.google.common.GoogleStaticObjects;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult.ResultType;
 import org.datatransferproject.spi.transfer.provider.Importer;
@@ -33,7 +35,10 @@ import org.datatransferproject.types.common.models.tasks.TaskModel;
 import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 
 public class GoogleTasksImporter implements Importer<TokensAndUrlAuthData, TaskContainerResource> {
@@ -68,7 +73,32 @@ public class GoogleTasksImporter implements Importer<TokensAndUrlAuthData, TaskC
           () -> tasksService.tasklists().insert(newTaskList).execute().getId());
     }
 
-    for (TaskModel oldTask : data.getTasks()) {
+    // If its not cached that means the task list create failed.
+    List<TaskModel> tasksToImport =
+        data.getTasks().stream()
+            .filter(task -> idempotentImportExecutor.isKeyCached(task.getTaskListId()))
+            .collect(Collectors.toList());
+    idempotentImportExecutor.executeBatchAndSwallowIOExceptions(
+        tasksToImport,
+        oldTask -> oldTask.getTaskListId() + oldTask.getText(),
+        TaskModel::getText,
+        oldTasks -> importTasks(idempotentImportExecutor, tasksService, oldTasks));
+
+    return new ImportResult(ResultType.OK);
+  }
+
+  /**
+   * Inserts the given tasks, into the copies of their task lists, through batch requests.
+   *
+   * @return the ID of each new task, or the error inserting it, in the order of {@code oldTasks}
+   */
+  private List<ItemImportResult<String>> importTasks(
+      IdempotentImportExecutor idempotentImportExecutor,
+      Tasks tasksService,
+      List<TaskModel> oldTasks)
+      throws IOException {
+    List<Tasks.TasksOperations.Insert> inserts = new ArrayList<>(oldTasks.size());
+    for (TaskModel oldTask : oldTasks) {
       Task newTask = new Task().setTitle(oldTask.getText()).setNotes(oldTask.getNotes());
       if (oldTask.getCompletedTime() != null) {
         newTask.setCompleted(new DateTime(oldTask.getCompletedTime().toEpochMilli()));
@@ -76,17 +106,11 @@ public class GoogleTasksImporter implements Importer<TokensAndUrlAuthData, TaskC
       if (oldTask.getDueTime() != null) {
         newTask.setDue(new DateTime(oldTask.getDueTime().toEpochMilli()));
       }
-      // If its not cached that means the task list create failed.
-      if (idempotentImportExecutor.isKeyCached(oldTask.getTaskListId())) {
-        String newTaskListId = idempotentImportExecutor.getCachedValue(oldTask.getTaskListId());
-        idempotentImportExecutor.executeAndSwallowIOExceptions(
-            oldTask.getTaskListId() + oldTask.getText(),
-            oldTask.getText(),
-            () -> tasksService.tasks().insert(newTaskListId, newTask).execute().getId());
-      }
+      String newTaskListId = idempotentImportExecutor.getCachedValue(oldTask.getTaskListId());
+      inserts.add(tasksService.tasks().insert(newTaskListId, newTask));
     }
-
-    return new ImportResult(ResultType.OK);
+    return GoogleBatchRequests.execute(
+        tasksService, GoogleBatchRequests.TASKS_BATCH_URL, inserts, Task::getId);
   }
 
   private Tasks getOrCreateTasksService(TokensAndUrlAuthData authData) {
@@ -70,7 +70,9 @@ import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.tuple.Pair;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.google.common.GooglePhotosImportUtils;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
@@ -99,8 +101,16 @@ public class GoogleVideosImporter
   private final Map<UUID, PhotosLibraryClient> clientsMap;
 
   public GoogleVideosImporter(
-      AppCredentials appCredentials, TemporaryPerJobDataStore dataStore, Monitor monitor) {
-    this(appCredentials, dataStore, monitor, new ConnectionProvider(dataStore), new HashMap<>());
+      AppCredentials appCredentials,
+      TemporaryPerJobDataStore dataStore,
+      Monitor monitor,
+      @Nullable DtpInternalMetricRecorder metricRecorder) {
+    this(
+        appCredentials,
+        dataStore,
+        monitor,
+        new ConnectionProvider(dataStore, metricRecorder),
+        new HashMap<>());
   }
 
   @VisibleForTesting
@@ -34,9 +34,11 @@ import com.google.api.client.http.json.JsonHttpContent;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.util.ArrayMap;
 import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.api.gax.rpc.ClientSettings;
 import com.google.api.gax.rpc.ApiException;
 import com.google.api.gax.rpc.InvalidArgumentException;
 import com.google.api.gax.rpc.UnauthenticatedException;
+import com.google.auth.Credentials;
 import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.UserCredentials;
 import com.google.common.annotations.VisibleForTesting;
@@ -85,6 +87,7 @@ import org.datatransferproject.datatransfer.google.mediaModels.MediaItemSearchRe
 import org.datatransferproject.datatransfer.google.mediaModels.NewMediaItemUpload;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
 import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.types.DestinationMemoryFullException;
@@ -108,6 +111,7 @@ public class GoogleVideosInterface {
   private static final String INCLUDE_ARCHIVED_KEY = "includeArchivedMedia";
   private static final String MEDIA_FILTER_KEY = "mediaTypeFilter";
   private static final String BASE_URL = "https://photoslibrary.googleapis.com/v1/";
+  private static final HttpTransport UPLOAD_HTTP_TRANSPORT = new NetHttpTransport();
 
   private final ObjectMapper objectMapper =
       new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -250,7 +254,9 @@ public class GoogleVideosInterface {
   }
 
   /**
-   * Uploads `video` via {@link com.google.photos.library.v1.PhotosLibraryClient} APIs.
+   * Uploads `video` to Google Photos, streaming it straight from its source when the source's size
+   * is known up front, and otherwise via a temp file and {@link
+   * com.google.photos.library.v1.PhotosLibraryClient} APIs.
    *
    * Returns an upload token, and a byte count of the video that was uploaded.
    */
@@ -261,12 +267,42 @@ public class GoogleVideosInterface {
       TemporaryPerJobDataStore dataStore,
       ConnectionProvider connectionProvider)
       throws IOException, UploadErrorException, InvalidTokenException {
+    Optional<Credentials> credentials = getCredentials(photosLibraryClient);
+    InputStreamWrapper source = connectionProvider.getInputStreamForItem(jobId, video);
+    try (InputStream is = source.getStream()) {
+      if (!credentials.isPresent() || source.getBytes() <= 0) {
+        return uploadTempFile(video, photosLibraryClient, createTempFile(dataStore, is, video));
+      }
+      try {
+        String uploadToken =
+            new GoogleVideosResumableUploader(UPLOAD_HTTP_TRANSPORT, credentials.get())
+                .upload(is, source.getBytes(), video.getName(), video.getMimeType());
+        return Pair.of(uploadToken, source.getBytes());
+      } catch (GoogleVideosResumableUploader.SourceNotReplayableException e) {
+        // The upload can only be finished by reading the video again from the start, which the
+        // temp file allows even if the source itself can't be re-read.
+      }
+    }
+    return uploadTempFile(
+        video,
+        photosLibraryClient,
+        createTempFile(jobId, dataStore, connectionProvider, video));
+  }
 
-    final File tmp = createTempFile(
-        jobId,
-        dataStore,
-        connectionProvider,
-        video);
+  /** Returns the credentials {@code photosLibraryClient} authenticates with, if it has any. */
+  private static Optional<Credentials> getCredentials(PhotosLibraryClient photosLibraryClient)
+      throws IOException {
+    ClientSettings<?> settings = photosLibraryClient.getSettings();
+    if (settings == null || settings.getCredentialsProvider() == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(settings.getCredentialsProvider().getCredentials());
+  }
+
+  /** Uploads the contents of {@code tmp}, deleting it afterwards. */
+  private static Pair<String, Long> uploadTempFile(
+      VideoModel video, PhotosLibraryClient photosLibraryClient, File tmp)
+      throws IOException, UploadErrorException, InvalidTokenException {
     try {
       UploadMediaItemRequest uploadRequest =
           UploadMediaItemRequest.newBuilder()
@@ -314,28 +350,21 @@ public class GoogleVideosInterface {
       TemporaryPerJobDataStore dataStore,
       ConnectionProvider connectionProvider,
       DownloadableFile video) throws IOException {
-    // TODO(aksingh737) switch from hardcoding mp4 to relying on DownloadableFile#getMimeType()'s
-    // direction
-    final String fileSuffix = "mp4";
-    return createTempFile(
-        jobId,
-        dataStore,
-        connectionProvider,
-        video,
-        fileSuffix);
+    try (InputStream is = connectionProvider.getInputStreamForItem(jobId, video).getStream()) {
+      return createTempFile(dataStore, is, video);
+    }
   }
 
   // TODO(aksingh737) factor this out into TemporaryPerJobDataStore which already has random/temp-file
   // related logic
   private static File createTempFile(
-      UUID jobId,
       TemporaryPerJobDataStore dataStore,
-      ConnectionProvider connectionProvider,
-      DownloadableFile item,
-      String fileSuffix) throws IOException {
-    try (InputStream is = connectionProvider.getInputStreamForItem(jobId, item).getStream()) {
-      return dataStore.getTempFileFromInputStream(is, item.getName(), fileSuffix);
-    }
+      InputStream is,
+      DownloadableFile video) throws IOException {
+    // TODO(aksingh737) switch from hardcoding mp4 to relying on DownloadableFile#getMimeType()'s
+    // direction
+    final String fileSuffix = "mp4";
+    return dataStore.getTempFileFromInputStream(is, video.getName(), fileSuffix);
   }
 
   // TODO(aksingh737) WARNING: stop maintaining this code here; this needs to be reconciled against
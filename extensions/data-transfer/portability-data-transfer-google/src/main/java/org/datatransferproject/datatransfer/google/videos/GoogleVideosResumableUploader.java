@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.datatransfer.google.videos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpContent;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpTransport;
+import com.google.auth.Credentials;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import javax.annotation.Nullable;
+import org.datatransferproject.spi.transfer.types.InvalidTokenException;
+
+/**
+ * Uploads video bytes to Google Photos with the resumable upload protocol, reading straight from
+ * the source stream rather than from a local copy of it.
+ *
+ * <p>Only the chunk being sent is buffered. If sending it fails, the server is asked how much of it
+ * arrived and the rest is resent from the buffer. If the server has lost bytes from before the
+ * current chunk those can't be resent, so {@link SourceNotReplayableException} is thrown and the
+ * caller has to start over from a fresh copy of the source.
+ *
+ * <p>See: https://developers.google.com/photos/library/guides/resumable-uploads
+ */
+class GoogleVideosResumableUploader {
+  private static final String UPLOAD_URL = "https://photoslibrary.googleapis.com/v1/uploads";
+  // Bounds the memory each upload holds on to, which is also how much is resent after a failure.
+  private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024; // 8MiB
+  private static final int MAX_CHUNK_ATTEMPTS = 3;
+  private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+  private final HttpRequestFactory requestFactory;
+  private final int chunkSize;
+
+  GoogleVideosResumableUploader(HttpTransport httpTransport, Credentials credentials) {
+    this(
+        httpTransport.createRequestFactory(new HttpCredentialsAdapter(credentials)),
+        DEFAULT_CHUNK_SIZE);
+  }
+
+  @VisibleForTesting
+  GoogleVideosResumableUploader(HttpRequestFactory requestFactory, int chunkSize) {
+    checkArgument(chunkSize > 0, "chunk size must be positive, got %s", chunkSize);
+    this.requestFactory = requestFactory;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Uploads exactly {@code size} bytes of {@code source}.
+   *
+   * @return the upload token to create a media item with
+   */
+  String upload(InputStream source, long size, String fileName, @Nullable String mimeType)
+      throws IOException, InvalidTokenException, SourceNotReplayableException {
+    checkArgument(size > 0, "resumable uploads need the size up front, got %s", size);
+    HttpResponse startResponse = startSession(size, fileName, mimeType);
+    String uploadUrl;
+    byte[] buffer;
+    try {
+      uploadUrl = startResponse.getHeaders().getFirstHeaderStringValue("X-Goog-Upload-URL");
+      if (Strings.isNullOrEmpty(uploadUrl)) {
+        throw new IOException("Resumable upload session was started without an upload URL");
+      }
+      buffer = new byte[(int) Math.min(alignedChunkSize(startResponse), size)];
+    } finally {
+      startResponse.disconnect();
+    }
+
+    long offset = 0;
+    while (true) {
+      int length = (int) Math.min(buffer.length, size - offset);
+      int read = source.readNBytes(buffer, 0, length);
+      if (read < length) {
+        throw new IOException(
+            String.format("Video ended after %d of its %d bytes", offset + read, size));
+      }
+      boolean last = offset + length == size;
+      HttpResponse response = sendChunk(uploadUrl, buffer, offset, length, last);
+      try {
+        if (last) {
+          return response.parseAsString();
+        }
+      } finally {
+        // Null when only the response to a chunk was lost
+        if (response != null) {
+          response.disconnect();
+        }
+      }
+      offset += length;
+    }
+  }
+
+  private HttpResponse startSession(long size, String fileName, @Nullable String mimeType)
+      throws IOException, InvalidTokenException {
+    HttpRequest request =
+        buildRequest(UPLOAD_URL, "start", new ByteArrayContent(null, new byte[0]));
+    request.getHeaders().set("X-Goog-Upload-Protocol", "resumable");
+    request.getHeaders().set("X-Goog-Upload-Raw-Size", Long.toString(size));
+    request.getHeaders().set("X-Goog-Upload-File-Name", fileName);
+    if (!Strings.isNullOrEmpty(mimeType)) {
+      request.getHeaders().set("X-Goog-Upload-Content-Type", mimeType);
+    }
+    HttpResponse response = request.execute();
+    if (!response.isSuccessStatusCode()) {
+      throw statusException(response, "starting resumable upload");
+    }
+    return response;
+  }
+
+  /** Chunks other than the last must be a multiple of the granularity the server asks for. */
+  private int alignedChunkSize(HttpResponse startResponse) {
+    String granularityHeader =
+        startResponse.getHeaders().getFirstHeaderStringValue("X-Goog-Upload-Chunk-Granularity");
+    if (Strings.isNullOrEmpty(granularityHeader)) {
+      return chunkSize;
+    }
+    int granularity = Integer.parseInt(granularityHeader);
+    return Math.max(granularity, chunkSize - chunkSize % granularity);
+  }
+
+  /**
+   * Sends {@code length} bytes of {@code buffer}, which belong at {@code chunkOffset} in the video,
+   * resending whatever the server didn't receive if need be.
+   */
+  private HttpResponse sendChunk(
+      String uploadUrl, byte[] buffer, long chunkOffset, int length, boolean last)
+      throws IOException, InvalidTokenException, SourceNotReplayableException {
+    String command = last ? "upload, finalize" : "upload";
+    int acknowledged = 0;
+    for (int attempt = 1; ; attempt++) {
+      HttpRequest request =
+          buildRequest(
+              uploadUrl,
+              command,
+              new ByteArrayContent(null, buffer, acknowledged, length - acknowledged));
+      request.getHeaders().set("X-Goog-Upload-Offset", Long.toString(chunkOffset + acknowledged));
+      HttpResponse response = null;
+      try {
+        response = request.execute();
+      } catch (IOException e) {
+        if (attempt == MAX_CHUNK_ATTEMPTS) {
+          throw e;
+        }
+      }
+      if (response != null) {
+        if (response.isSuccessStatusCode()) {
+          return response;
+        }
+        if (attempt == MAX_CHUNK_ATTEMPTS || !isRetryable(response.getStatusCode())) {
+          throw statusException(response, "uploading chunk at offset " + chunkOffset);
+        }
+        response.disconnect();
+      }
+
+      sleepBeforeRetry(attempt);
+      long received = queryReceivedBytes(uploadUrl);
+      if (received < chunkOffset) {
+        throw new SourceNotReplayableException(
+            String.format(
+                "Server only has %d bytes, but bytes from %d on are all that can be resent",
+                received, chunkOffset));
+      }
+      acknowledged = (int) Math.min(received - chunkOffset, length);
+      if (acknowledged == length && !last) {
+        // Only the response was lost, the whole chunk made it
+        return null;
+      }
+    }
+  }
+
+  private long queryReceivedBytes(String uploadUrl) throws IOException, InvalidTokenException {
+    HttpResponse response =
+        buildRequest(uploadUrl, "query", new ByteArrayContent(null, new byte[0])).execute();
+    if (!response.isSuccessStatusCode()) {
+      throw statusException(response, "querying resumable upload status");
+    }
+    String received =
+        response.getHeaders().getFirstHeaderStringValue("X-Goog-Upload-Size-Received");
+    response.disconnect();
+    if (Strings.isNullOrEmpty(received)) {
+      throw new IOException("Resumable upload status is missing the received size");
+    }
+    return Long.parseLong(received);
+  }
+
+  private HttpRequest buildRequest(String url, String command, HttpContent content)
+      throws IOException {
+    HttpRequest request = requestFactory.buildPostRequest(new GenericUrl(url), content);
+    request.getHeaders().set("X-Goog-Upload-Command", command);
+    request.setThrowExceptionOnExecuteError(false);
+    return request;
+  }
+
+  private static boolean isRetryable(int statusCode) {
+    return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+  }
+
+  /** Throws if the token was rejected, otherwise returns an exception describing the failure. */
+  private static IOException statusException(HttpResponse response, String action)
+      throws IOException, InvalidTokenException {
+    String message;
+    try {
+      message =
+          String.format(
+              "Bad status code %d while %s: %s",
+              response.getStatusCode(), action, response.parseAsString());
+    } finally {
+      response.disconnect();
+    }
+    if (response.getStatusCode() == 401) {
+      throw new InvalidTokenException("Token has been expired or revoked", new IOException(message));
+    }
+    return new IOException(message);
+  }
+
+  private static void sleepBeforeRetry(int attempt) throws InterruptedIOException {
+    try {
+      Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while retrying resumable upload");
+    }
+  }
+
+  /** Thrown when an upload can only continue by re-reading the source from the start. */
+  static class SourceNotReplayableException extends Exception {
+    SourceNotReplayableException(String message) {
+      super(message);
+    }
+  }
+}
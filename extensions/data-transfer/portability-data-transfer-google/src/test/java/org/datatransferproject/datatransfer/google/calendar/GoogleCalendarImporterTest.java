@@ -16,6 +16,9 @@
 
 package org.datatransferproject.datatransfer.google.calendar;
 
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Event;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
@@ -30,7 +33,11 @@ import org.junit.jupiter.api.Test;
 import java.util.Collections;
 import java.util.UUID;
 
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -44,6 +51,7 @@ public class GoogleCalendarImporterTest {
   private Calendar.Calendars.Insert calendarInsertRequest;
   private Calendar.Events calendarEvents;
   private Calendar.Events.Insert eventInsertRequest;
+  private BatchRequest batchRequest;
   private IdempotentImportExecutor executor;
 
   @BeforeEach
@@ -53,6 +61,7 @@ public class GoogleCalendarImporterTest {
     calendarInsertRequest = mock(Calendar.Calendars.Insert.class);
     calendarEvents = mock(Calendar.Events.class);
     eventInsertRequest = mock(Calendar.Events.Insert.class);
+    batchRequest = mock(BatchRequest.class);
     credentialFactory = mock(GoogleCredentialFactory.class);
 
     executor = new FakeIdempotentImportExecutor();
@@ -61,6 +70,7 @@ public class GoogleCalendarImporterTest {
 
     when(calendarClient.calendars()).thenReturn(calendarCalendars);
     when(calendarClient.events()).thenReturn(calendarEvents);
+    when(calendarClient.batch()).thenReturn(batchRequest);
 
     verifyNoInteractions(credentialFactory);
   }
@@ -81,9 +91,13 @@ public class GoogleCalendarImporterTest {
     CalendarEventModel eventModel =
         new CalendarEventModel(modelCalendarId, null, null, null, null, null, null, null);
     Event eventToInsert = GoogleCalendarImporter.convertToGoogleCalendarEvent(eventModel);
-    Event responseEvent = new Event();
+    Event responseEvent = new Event().setId("googleEventId");
 
-    when(eventInsertRequest.execute()).thenReturn(responseEvent);
+    doAnswer(invocation -> {
+      invocation.<JsonBatchCallback<Event>>getArgument(1)
+          .onSuccess(responseEvent, new HttpHeaders());
+      return null;
+    }).when(eventInsertRequest).queue(any(BatchRequest.class), any(JsonBatchCallback.class));
     when(calendarEvents.insert(googleCalendarId, eventToInsert)).thenReturn(eventInsertRequest);
     when(calendarInsertRequest.execute()).thenReturn(responseCalendar);
     when(calendarCalendars.insert(calendarToInsert)).thenReturn(calendarInsertRequest);
@@ -99,6 +113,10 @@ public class GoogleCalendarImporterTest {
     verify(calendarCalendars).insert(calendarToInsert);
     verify(calendarInsertRequest).execute();
     verify(calendarEvents).insert(googleCalendarId, eventToInsert);
-    verify(eventInsertRequest).execute();
+    verify(eventInsertRequest).queue(any(BatchRequest.class), any(JsonBatchCallback.class));
+    verify(batchRequest).execute();
+    verify(eventInsertRequest, never()).execute();
+    assertThat((String) executor.getCachedValue(Integer.toString(eventModel.hashCode())))
+        .isEqualTo("googleEventId");
   }
 }
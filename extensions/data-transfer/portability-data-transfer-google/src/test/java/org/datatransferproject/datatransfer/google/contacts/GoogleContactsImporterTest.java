@@ -18,12 +18,18 @@ package org.datatransferproject.datatransfer.google.contacts;
 
 import static org.datatransferproject.datatransfer.google.common.GoogleStaticObjects.CONTACT_SOURCE_TYPE;
 import static org.datatransferproject.datatransfer.google.common.GoogleStaticObjects.SOURCE_PARAM_NAME_TYPE;
+import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.services.people.v1.PeopleService;
 import com.google.api.services.people.v1.PeopleService.People;
 import com.google.api.services.people.v1.PeopleService.People.CreateContact;
@@ -46,6 +52,7 @@ public class GoogleContactsImporterTest {
   private GoogleContactsImporter contactsService;
   private People people;
   private CreateContact createContact;
+  private BatchRequest batchRequest;
   private IdempotentImportExecutor executor;
 
   @BeforeEach
@@ -53,15 +60,20 @@ public class GoogleContactsImporterTest {
     people = mock(People.class);
     peopleService = mock(PeopleService.class);
     createContact = mock(CreateContact.class);
+    batchRequest = mock(BatchRequest.class);
 
     contactsService = new GoogleContactsImporter(peopleService);
     executor = new FakeIdempotentImportExecutor();
 
     when(peopleService.people()).thenReturn(people);
     when(people.createContact(any(Person.class))).thenReturn(createContact);
+    when(peopleService.batch()).thenReturn(batchRequest);
 
-    Person person = new Person();
-    when(createContact.execute()).thenReturn(person);
+    Person person = new Person().setResourceName("people/c1");
+    doAnswer(invocation -> {
+      invocation.<JsonBatchCallback<Person>>getArgument(1).onSuccess(person, new HttpHeaders());
+      return null;
+    }).when(createContact).queue(any(BatchRequest.class), any(JsonBatchCallback.class));
   }
 
   @Test
@@ -86,6 +98,13 @@ public class GoogleContactsImporterTest {
 
     // Check that the right methods were called
     verify(people, times(numberOfVCards)).createContact(any(Person.class));
-    verify(createContact, times(numberOfVCards)).execute();
+    verify(createContact, times(numberOfVCards))
+        .queue(any(BatchRequest.class), any(JsonBatchCallback.class));
+    verify(createContact, never()).execute();
+    // All five contacts fit in a single batch
+    verify(batchRequest).execute();
+    for (VCard vCard : vCardList) {
+      assertThat(executor.isKeyCached(vCard.toString())).isTrue();
+    }
   }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.datatransfer.google.drive;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.cloud.local.LocalJobStore;
+import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
+import org.datatransferproject.spi.transfer.provider.ExportResult;
+import org.datatransferproject.spi.transfer.provider.ExportResult.ResultType;
+import org.datatransferproject.types.common.models.blob.BlobbyStorageContainerResource;
+import org.datatransferproject.types.common.models.blob.DigitalDocumentWrapper;
+import org.datatransferproject.types.transfer.auth.AppCredentials;
+import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
+import org.junit.jupiter.api.Test;
+
+public class DriveExporterTest {
+  private static final String TOKEN_URL = "https://oauth.example.com/token";
+  private static final String FILES_URL = "https://www.googleapis.com/drive/v3/files";
+  private static final String MODIFIED_TIME = "2020-01-01T00:00:00.000Z";
+
+  @Test
+  public void export_downloadsEveryFileOfThePageAndSkipsOnesThatFail() throws Exception {
+    UUID jobId = UUID.randomUUID();
+    Monitor monitor = new Monitor() {};
+    LocalJobStore jobStore = new LocalJobStore(monitor);
+    DriveExporter exporter =
+        new DriveExporter(
+            new GoogleCredentialFactory(
+                new FakeDrive(),
+                GsonFactory.getDefaultInstance(),
+                new AppCredentials("key", "secret"),
+                monitor),
+            jobStore,
+            monitor);
+
+    ExportResult<BlobbyStorageContainerResource> result =
+        exporter.export(
+            jobId,
+            new TokensAndUrlAuthData("access-token", "refresh-token", TOKEN_URL),
+            Optional.empty());
+
+    assertThat(result.getType()).isEqualTo(ResultType.END);
+    assertThat(
+            result.getExportedData().getFiles().stream()
+                .map(DigitalDocumentWrapper::getCachedContentId)
+                .collect(toList()))
+        .containsExactly("doc-id", "photo-id", "notes-id")
+        .inOrder();
+    assertThat(read(jobStore, jobId, "doc-id")).isEqualTo("exported doc-id");
+    assertThat(read(jobStore, jobId, "photo-id")).isEqualTo("content of photo-id");
+    assertThat(read(jobStore, jobId, "notes-id")).isEqualTo("content of notes-id");
+    assertThat(result.getExportedData().getFolders()).hasSize(1);
+    assertThat(result.getContinuationData().getContainerResources()).hasSize(1);
+  }
+
+  private static String read(LocalJobStore jobStore, UUID jobId, String key) throws IOException {
+    try (InputStream stream = jobStore.getStream(jobId, key).getStream()) {
+      return new String(ByteStreams.toByteArray(stream), UTF_8);
+    }
+  }
+
+  /** Lists one folder of files, some exported, one whose download fails. */
+  private static class FakeDrive extends MockHttpTransport {
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, String url) {
+      return new MockLowLevelHttpRequest(url) {
+        @Override
+        public LowLevelHttpResponse execute() {
+          MockLowLevelHttpResponse response = new MockLowLevelHttpResponse();
+          if (url.startsWith(TOKEN_URL)) {
+            return json(response, "{\"access_token\":\"token\",\"expires_in\":3600}");
+          } else if (url.startsWith(FILES_URL + "?")) {
+            return json(
+                response,
+                "{\"files\": ["
+                    + file("folder-id", DriveExporter.FOLDER_MIME_TYPE) + ","
+                    + file("doc-id", "application/vnd.google-apps.document") + ","
+                    + file("photo-id", "image/jpeg") + ","
+                    + file("broken-id", "image/jpeg") + ","
+                    + file("notes-id", "text/plain") + "]}");
+          } else if (url.startsWith(FILES_URL + "/broken-id")) {
+            return response.setStatusCode(404);
+          }
+          String id = url.substring(FILES_URL.length() + 1).split("[/?]")[0];
+          if (url.contains("/export")) {
+            return response.setContent("exported " + id);
+          }
+          return response.setContent("content of " + id);
+        }
+      };
+    }
+
+    private static String file(String id, String mimeType) {
+      return String.format(
+          "{\"id\": \"%s\", \"name\": \"%s\", \"mimeType\": \"%s\", \"modifiedTime\": \"%s\"}",
+          id, id, mimeType, MODIFIED_TIME);
+    }
+
+    private static MockLowLevelHttpResponse json(MockLowLevelHttpResponse response, String json) {
+      return response.setContentType(Json.MEDIA_TYPE).setContent(json);
+    }
+  }
+}
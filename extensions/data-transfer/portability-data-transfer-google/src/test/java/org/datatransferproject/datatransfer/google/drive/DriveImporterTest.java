@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.datatransfer.google.drive;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.cloud.local.LocalJobStore;
+import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
+import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.InMemoryIdempotentImportExecutor;
+import org.datatransferproject.types.common.models.blob.BlobbyStorageContainerResource;
+import org.datatransferproject.types.common.models.blob.DigitalDocumentWrapper;
+import org.datatransferproject.types.common.models.blob.DtpDigitalDocument;
+import org.datatransferproject.types.transfer.auth.AppCredentials;
+import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DriveImporterTest {
+  private static final String TOKEN_URL = "https://oauth.example.com/token";
+  private static final String SESSION_URL = "https://upload.example.com/session";
+  private static final TokensAndUrlAuthData AUTH_DATA =
+      new TokensAndUrlAuthData("access-token", "refresh-token", TOKEN_URL);
+
+  private final UUID jobId = UUID.randomUUID();
+  private final Monitor monitor = new Monitor() {};
+  private FakeDrive drive;
+  private LocalJobStore jobStore;
+  private IdempotentImportExecutor executor;
+  private DriveImporter importer;
+
+  @BeforeEach
+  public void setUp() {
+    drive = new FakeDrive();
+    jobStore = new LocalJobStore(monitor);
+    executor = new InMemoryIdempotentImportExecutor(monitor);
+    executor.setJobId(jobId);
+    importer =
+        new DriveImporter(
+            new GoogleCredentialFactory(
+                drive,
+                GsonFactory.getDefaultInstance(),
+                new AppCredentials("key", "secret"),
+                monitor),
+            jobStore,
+            monitor);
+  }
+
+  @Test
+  public void importItem_sendsSmallFilesInOneRequest() throws Exception {
+    DigitalDocumentWrapper file = storeFile("small", new byte[1024]);
+
+    importer.importItem(jobId, executor, AUTH_DATA, folderWith(file));
+
+    assertThat(drive.directUploads).isEqualTo(1);
+    assertThat(drive.uploadRanges).isEmpty();
+    assertThat(executor.getErrors()).isEmpty();
+    assertThat((String) executor.getCachedValue(Integer.toString(file.hashCode())))
+        .isEqualTo("file-id");
+  }
+
+  @Test
+  public void importItem_resumesALargeFileFromWhereDriveGotTo() throws Exception {
+    byte[] content = new byte[6 * 1024 * 1024];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    DigitalDocumentWrapper file = storeFile("large", content);
+    drive.failFirstChunk = true;
+
+    importer.importItem(jobId, executor, AUTH_DATA, folderWith(file));
+
+    int half = content.length / 2;
+    assertThat(drive.uploadRanges)
+        .containsExactly(
+            "bytes 0-" + (content.length - 1) + "/" + content.length,
+            "bytes */" + content.length,
+            "bytes " + half + "-" + (content.length - 1) + "/" + content.length)
+        .inOrder();
+    assertThat(drive.uploaded.toByteArray()).isEqualTo(content);
+    assertThat(executor.getErrors()).isEmpty();
+    assertThat((String) executor.getCachedValue(Integer.toString(file.hashCode())))
+        .isEqualTo("file-id");
+  }
+
+  private DigitalDocumentWrapper storeFile(String name, byte[] content) throws IOException {
+    jobStore.create(jobId, name, new ByteArrayInputStream(content));
+    return new DigitalDocumentWrapper(
+        new DtpDigitalDocument(name, null, "application/octet-stream"),
+        "application/octet-stream",
+        name);
+  }
+
+  private static BlobbyStorageContainerResource folderWith(DigitalDocumentWrapper file) {
+    return new BlobbyStorageContainerResource(
+        "folder", "root", ImmutableList.of(file), ImmutableList.of());
+  }
+
+  /** Drive as far as the importer uses it, whose resumable uploads can fail a chunk once. */
+  private static class FakeDrive extends MockHttpTransport {
+    final ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+    final List<String> uploadRanges = new ArrayList<>();
+    boolean failFirstChunk = false;
+    int directUploads = 0;
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, String url) {
+      return new MockLowLevelHttpRequest(url) {
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+          synchronized (FakeDrive.this) {
+            MockLowLevelHttpResponse response = new MockLowLevelHttpResponse();
+            if (url.startsWith(TOKEN_URL)) {
+              return json(response, "{\"access_token\":\"token\",\"expires_in\":3600}");
+            } else if (url.contains("uploadType=resumable")) {
+              return response.addHeader("Location", SESSION_URL);
+            } else if (url.startsWith(SESSION_URL)) {
+              return receiveChunk(this, response);
+            } else if (url.contains("uploadType=multipart")) {
+              directUploads++;
+              return json(response, "{\"id\":\"file-id\"}");
+            }
+            // Creating a folder
+            return json(response, "{\"id\":\"folder-id\"}");
+          }
+        }
+      };
+    }
+
+    private LowLevelHttpResponse receiveChunk(
+        MockLowLevelHttpRequest request, MockLowLevelHttpResponse response) throws IOException {
+      String range = request.getFirstHeaderValue("Content-Range");
+      uploadRanges.add(range);
+      String span = range.substring("bytes ".length(), range.indexOf('/'));
+      if (span.equals("*")) {
+        // Asks how much of the file was received
+        if (uploaded.size() > 0) {
+          response.addHeader("Range", "bytes=0-" + (uploaded.size() - 1));
+        }
+        return response.setStatusCode(308);
+      }
+      assertThat(Long.parseLong(span.substring(0, span.indexOf('-')))).isEqualTo(uploaded.size());
+      ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+      request.getStreamingContent().writeTo(chunk);
+      if (failFirstChunk) {
+        failFirstChunk = false;
+        uploaded.write(chunk.toByteArray(), 0, chunk.size() / 2);
+        return response.setStatusCode(503);
+      }
+      chunk.writeTo(uploaded);
+      return json(response, "{\"id\":\"file-id\"}");
+    }
+
+    private static MockLowLevelHttpResponse json(MockLowLevelHttpResponse response, String json) {
+      return response.setContentType(Json.MEDIA_TYPE).setContent(json);
+    }
+  }
+}
@@ -17,13 +17,20 @@
 package org.datatransferproject.datatransfer.google.mail;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.services.gmail.Gmail;
 import com.google.api.services.gmail.Gmail.Users;
 import com.google.api.services.gmail.Gmail.Users.Messages;
@@ -38,6 +45,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import org.datatransferproject.datatransfer.google.common.GoogleBatchRequests;
 import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
 import org.datatransferproject.spi.transfer.provider.ExportResult;
 import org.datatransferproject.spi.transfer.types.ContinuationData;
@@ -79,6 +87,8 @@ public class GoogleMailExporterTest {
   @Mock
   private Gmail gmail;
   @Mock
+  private BatchRequest batch;
+  @Mock
   private GoogleCredentialFactory googleCredentialFactory;
 
   private ListMessagesResponse messageListResponse;
@@ -120,7 +130,11 @@ public class GoogleMailExporterTest {
     // Second request
     inOrder.verify(messages).get(GoogleMailExporter.USER, MESSAGE_ID);
     inOrder.verify(get).setFormat("raw");
-    inOrder.verify(get).execute();
+    inOrder.verify(get).queue(any(BatchRequest.class), any(JsonBatchCallback.class));
+    // Sent to Gmail's own batch endpoint, the global one the client defaults to is turned down
+    verify(batch).setBatchUrl(new GenericUrl(GoogleBatchRequests.GMAIL_BATCH_URL));
+    verify(batch).execute();
+    verify(get, never()).execute();
 
     // Check pagination token
     ContinuationData continuationData = (ContinuationData) result.getContinuationData();
@@ -163,13 +177,41 @@ public class GoogleMailExporterTest {
     assertThat(paginationToken).isNull();
   }
 
+  @Test
+  public void exportMessagesFailsWhenAMessageCannotBeFetched() throws IOException {
+    messageListResponse = new ListMessagesResponse()
+        .setMessages(Collections.singletonList(INITIAL_MESSAGE));
+    when(messageListRequest.execute()).thenReturn(messageListResponse);
+    when(gmail.batch()).thenReturn(batch);
+    doAnswer(invocation -> {
+      GoogleJsonError error = new GoogleJsonError();
+      error.setCode(404);
+      error.setMessage("Not Found");
+      invocation.<JsonBatchCallback<Message>>getArgument(1).onFailure(error, new HttpHeaders());
+      return null;
+    }).when(get).queue(any(BatchRequest.class), any(JsonBatchCallback.class));
+
+    // Run test
+    ExportResult<MailContainerResource> result =
+        googleMailExporter.export(JOB_ID, null, Optional.empty());
+
+    // Check results
+    assertThat(result.getThrowable().isPresent()).isTrue();
+    assertThat(result.getThrowable().get()).hasMessageThat().contains(MESSAGE_ID);
+  }
+
   /**
-   * Sets up a response with a single message
+   * Sets up a response with a single message, fetched through a batch request
    */
   private void setUpSingleMessageResponse() throws IOException {
     messageListResponse = new ListMessagesResponse()
         .setMessages(Collections.singletonList(INITIAL_MESSAGE));
     when(messageListRequest.execute()).thenReturn(messageListResponse);
-    when(get.execute()).thenReturn(FULL_MESSAGE);
+    when(gmail.batch()).thenReturn(batch);
+    doAnswer(invocation -> {
+      invocation.<JsonBatchCallback<Message>>getArgument(1)
+          .onSuccess(FULL_MESSAGE, new HttpHeaders());
+      return null;
+    }).when(get).queue(any(BatchRequest.class), any(JsonBatchCallback.class));
   }
 }
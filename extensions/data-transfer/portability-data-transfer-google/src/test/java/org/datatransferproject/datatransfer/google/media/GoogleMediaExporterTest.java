@@ -24,7 +24,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -32,6 +35,8 @@ import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.ParseException;
@@ -40,6 +45,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.datatransfer.google.common.FailedToListAlbumsException;
@@ -350,6 +356,51 @@ public class GoogleMediaExporterTest {
     assertThat(tempMediaData.lookupContainedPhotoIds()).containsExactly("some-upstream-generated-photo-id", secondId);
   }
 
+  @Test
+  public void populateContainedMediaList_listsEveryAlbumOnEveryPage()
+          throws IOException, InvalidTokenException, PermissionDeniedException, UploadErrorException, FailedToListAlbumsException, FailedToListMediaItemsException {
+    // Two pages of albums; the second album's media spans two pages
+    AlbumListResponse secondAlbumPage = mock(AlbumListResponse.class);
+    when(albumListResponse.getAlbums()).thenReturn(new GoogleAlbum[] {
+        setUpGoogleAlbum(Optional.of("album1"), Optional.of("first")),
+        setUpGoogleAlbum(Optional.of("album2"), Optional.of("second"))});
+    when(albumListResponse.getNextPageToken()).thenReturn(ALBUM_TOKEN);
+    when(secondAlbumPage.getAlbums()).thenReturn(new GoogleAlbum[] {
+        setUpGoogleAlbum(Optional.of("album3"), Optional.of("third"))});
+    when(secondAlbumPage.getNextPageToken()).thenReturn(null);
+    when(photosInterface.listAlbums(Optional.of(ALBUM_TOKEN))).thenReturn(secondAlbumPage);
+
+    setUpAlbumMediaPage("album1", Optional.empty(), null, "photo1");
+    setUpAlbumMediaPage("album2", Optional.empty(), MEDIA_TOKEN, "photo2");
+    setUpAlbumMediaPage("album2", Optional.of(MEDIA_TOKEN), null, "photo3", "photo1");
+    setUpAlbumMediaPage("album3", Optional.empty(), null, "photo4");
+
+    // Run test
+    googleMediaExporter.populateContainedMediaList(uuid, null);
+
+    // Check contents of job store
+    ArgumentCaptor<InputStream> inputStreamArgumentCaptor =
+        ArgumentCaptor.forClass(InputStream.class);
+    verify(jobStore).create(eq(uuid), eq("tempMediaData"), inputStreamArgumentCaptor.capture());
+    TempMediaData tempMediaData =
+        new ObjectMapper().readValue(inputStreamArgumentCaptor.getValue(), TempMediaData.class);
+    assertThat(tempMediaData.lookupContainedPhotoIds())
+        .containsExactly("photo1", "photo2", "photo3", "photo4");
+  }
+
+  @Test
+  public void populateContainedMediaList_failsWhenAnAlbumCannotBeListed()
+          throws IOException, InvalidTokenException, PermissionDeniedException, UploadErrorException {
+    setUpSingleAlbum();
+    when(albumListResponse.getNextPageToken()).thenReturn(null);
+    when(photosInterface.listMediaItems(eq(Optional.of(ALBUM_ID)), any(Optional.class)))
+        .thenThrow(new IOException("listing failed"));
+
+    assertThrows(FailedToListMediaItemsException.class,
+        () -> googleMediaExporter.populateContainedMediaList(uuid, null));
+    verify(jobStore, never()).create(any(), anyString(), any(InputStream.class));
+  }
+
   @Test
   /* Tests that when there is no album information passed along to exportMedia, only albumless
   photos are exported.
@@ -389,6 +440,48 @@ public class GoogleMediaExporterTest {
         .containsExactly(albumlessPhotoUri + "=d"); // download
   }
 
+  @Test
+  public void exportMedia_waitsForContainedMediaListBuiltInTheBackground() throws Exception {
+    setUpSingleAlbum();
+    when(albumListResponse.getNextPageToken()).thenReturn(null);
+    setUpAlbumMediaPage(ALBUM_ID, Optional.empty(), null, "contained photo id");
+    setUpAlbumlessMediaPage("contained photo id", "albumless photo id");
+    keepContainedMediaListInJobStore();
+
+    googleMediaExporter.export(uuid, authData, Optional.empty());
+    ExportResult<MediaContainerResource> result =
+        googleMediaExporter.exportMedia(authData, Optional.empty(), Optional.empty(), uuid);
+
+    verify(jobStore).create(eq(uuid), eq("tempMediaData"), any(InputStream.class));
+    assertThat(exportedPhotoUrls(result)).containsExactly("uri for albumless photo id=d");
+  }
+
+  @Test
+  public void exportMedia_listsAlbumsAgainWhenTheBackgroundListingFails() throws Exception {
+    setUpSingleAlbum();
+    when(albumListResponse.getNextPageToken()).thenReturn(null);
+    MediaItemSearchResponse albumMediaResponse = mock(MediaItemSearchResponse.class);
+    when(albumMediaResponse.getMediaItems())
+        .thenReturn(new GoogleMediaItem[] {setUpSinglePhoto("contained uri", "contained photo id")});
+    when(photosInterface.listMediaItems(Optional.of(ALBUM_ID), Optional.empty()))
+        .thenThrow(new IOException("listing failed"))
+        .thenReturn(albumMediaResponse);
+    setUpAlbumlessMediaPage("contained photo id", "albumless photo id");
+    keepContainedMediaListInJobStore();
+
+    googleMediaExporter.export(uuid, authData, Optional.empty());
+    ExportResult<MediaContainerResource> result =
+        googleMediaExporter.exportMedia(authData, Optional.empty(), Optional.empty(), uuid);
+    // A retry of the page uses the stored list rather than the failed background listing
+    ExportResult<MediaContainerResource> retriedResult =
+        googleMediaExporter.exportMedia(authData, Optional.empty(), Optional.empty(), uuid);
+
+    verify(photosInterface, times(2)).listMediaItems(Optional.of(ALBUM_ID), Optional.empty());
+    verify(jobStore).create(eq(uuid), eq("tempMediaData"), any(InputStream.class));
+    assertThat(exportedPhotoUrls(result)).containsExactly("uri for albumless photo id=d");
+    assertThat(exportedPhotoUrls(retriedResult)).containsExactly("uri for albumless photo id=d");
+  }
+
   @Test
   public void testGetGoogleMediaItemSucceeds() throws IOException, InvalidTokenException, PermissionDeniedException {
     String mediaItemID = "media_id";
@@ -568,6 +661,45 @@ public class GoogleMediaExporterTest {
     assertThat(retryingExecutor.getErrors().stream().findFirst().toString().contains("IOException")).isTrue();
   }
 
+  /** Sets up the first page of media that isn't listed by album. */
+  private void setUpAlbumlessMediaPage(String... mediaIds)
+      throws IOException, InvalidTokenException, PermissionDeniedException, UploadErrorException {
+    GoogleMediaItem[] mediaItems = new GoogleMediaItem[mediaIds.length];
+    for (int i = 0; i < mediaIds.length; i++) {
+      mediaItems[i] = setUpSinglePhoto("uri for " + mediaIds[i], mediaIds[i]);
+    }
+    MediaItemSearchResponse response = mock(MediaItemSearchResponse.class);
+    when(response.getMediaItems()).thenReturn(mediaItems);
+    when(response.getNextPageToken()).thenReturn(null);
+    when(photosInterface.listMediaItems(Optional.empty(), Optional.empty())).thenReturn(response);
+  }
+
+  /** Makes the job store hand back the contained media list last stored in it. */
+  private void keepContainedMediaListInJobStore() throws IOException {
+    AtomicReference<byte[]> storedList = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              storedList.set(ByteStreams.toByteArray(invocation.<InputStream>getArgument(2)));
+              return null;
+            })
+        .when(jobStore)
+        .create(eq(uuid), eq("tempMediaData"), any(InputStream.class));
+    when(jobStore.getStream(uuid, "tempMediaData"))
+        .thenAnswer(
+            invocation -> {
+              if (storedList.get() == null) {
+                throw new IOException("No contained media list stored");
+              }
+              return new InputStreamWrapper(new ByteArrayInputStream(storedList.get()));
+            });
+  }
+
+  private static List<String> exportedPhotoUrls(ExportResult<MediaContainerResource> result) {
+    return result.getExportedData().getPhotos().stream()
+        .map(PhotoModel::getFetchableUrl)
+        .collect(Collectors.toList());
+  }
+
   /** Sets up a response with a single album, containing a single photo */
   private void setUpSingleAlbum() {
     GoogleAlbum albumEntry = new GoogleAlbum();
@@ -577,6 +709,19 @@ public class GoogleMediaExporterTest {
     when(albumListResponse.getAlbums()).thenReturn(new GoogleAlbum[] {albumEntry});
   }
 
+  private void setUpAlbumMediaPage(
+      String albumId, Optional<String> pageToken, String nextPageToken, String... mediaIds)
+      throws IOException, InvalidTokenException, PermissionDeniedException, UploadErrorException {
+    GoogleMediaItem[] mediaItems = new GoogleMediaItem[mediaIds.length];
+    for (int i = 0; i < mediaIds.length; i++) {
+      mediaItems[i] = setUpSinglePhoto("uri for " + mediaIds[i], mediaIds[i]);
+    }
+    MediaItemSearchResponse response = mock(MediaItemSearchResponse.class);
+    when(response.getMediaItems()).thenReturn(mediaItems);
+    when(response.getNextPageToken()).thenReturn(nextPageToken);
+    when(photosInterface.listMediaItems(Optional.of(albumId), pageToken)).thenReturn(response);
+  }
+
   private GoogleAlbum setUpGoogleAlbum(Optional<String> albumId, Optional<String> albumTitle) {
     GoogleAlbum album = new GoogleAlbum();
     if (albumId.isPresent()) {
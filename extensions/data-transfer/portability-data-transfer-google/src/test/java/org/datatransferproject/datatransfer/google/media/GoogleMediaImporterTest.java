@@ -27,6 +27,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.mock;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.rpc.Code;
 import java.io.ByteArrayInputStream;
@@ -104,6 +105,7 @@ public class GoogleMediaImporterTest {
     connectionProvider = mock(ConnectionProvider.class);
     InputStreamWrapper is = new InputStreamWrapper(inputStream, 32L);
     Mockito.when(connectionProvider.getInputStreamForItem(any(), any())).thenReturn(is);
+    Mockito.when(connectionProvider.getInputStreamForItem(any(), any(), any())).thenReturn(is);
     photosLibraryClient = mock(PhotosLibraryClient.class);
 
     googleMediaImporter =
@@ -185,6 +187,96 @@ public class GoogleMediaImporterTest {
     assertTrue(executor.isKeyCached(String.format("%s-%s", OLD_ALBUM_ID, "oldPhotoID2")));
   }
 
+  @Test
+  public void importPhotoWithContentAlreadyImportedSkipsUpload() throws Exception {
+    UUID jobId = UUID.randomUUID();
+    PhotoModel photoModel1 =
+        new PhotoModel(
+            PHOTO_TITLE,
+            IMG_URI,
+            PHOTO_DESCRIPTION,
+            JPEG_MEDIA_TYPE,
+            "oldPhotoID1",
+            OLD_ALBUM_ID,
+            false,
+            SHA1);
+    PhotoModel photoModel2 =
+        new PhotoModel(
+            PHOTO_TITLE,
+            IMG_URI,
+            PHOTO_DESCRIPTION,
+            JPEG_MEDIA_TYPE,
+            "oldPhotoID2",
+            OLD_ALBUM_ID,
+            false,
+            SHA1);
+    Mockito.when(googlePhotosInterface.uploadMediaContent(any(), eq(SHA1))).thenReturn("token1");
+    BatchMediaItemResponse batchMediaItemResponse =
+        new BatchMediaItemResponse(
+            new NewMediaItemResult[]{buildMediaItemResult("token1", Code.OK_VALUE)});
+    Mockito.when(googlePhotosInterface.createPhotos(any(NewMediaItemUpload.class)))
+        .thenReturn(batchMediaItemResponse);
+    GPhotosUpload gPhotosUpload =
+        new GPhotosUpload(jobId, executor, mock(TokensAndUrlAuthData.class));
+
+    long firstLength = googleMediaImporter.importPhotos(Lists.newArrayList(photoModel1),
+        gPhotosUpload);
+    long secondLength = googleMediaImporter.importPhotos(Lists.newArrayList(photoModel2),
+        gPhotosUpload);
+
+    assertEquals(32L, firstLength);
+    assertEquals(0L, secondLength);
+    Mockito.verify(googlePhotosInterface, Mockito.times(1)).uploadMediaContent(any(), any());
+    Mockito.verify(googlePhotosInterface, Mockito.never()).addMediaItemsToAlbum(any(), any());
+    assertTrue(executor.isKeyCached(String.format("%s-%s", OLD_ALBUM_ID, "oldPhotoID2")));
+  }
+
+  @Test
+  public void importPhotoWithContentImportedIntoAnotherAlbumAddsItToTheAlbum() throws Exception {
+    UUID jobId = UUID.randomUUID();
+    String otherOldAlbumId = "OTHER_OLD_ALBUM_ID";
+    String otherNewAlbumId = "OTHER_NEW_ALBUM_ID";
+    executor.executeOrThrowException(otherOldAlbumId, "unused_item_name", () -> otherNewAlbumId);
+    PhotoModel photoModel1 =
+        new PhotoModel(
+            PHOTO_TITLE,
+            IMG_URI,
+            PHOTO_DESCRIPTION,
+            JPEG_MEDIA_TYPE,
+            "oldPhotoID1",
+            OLD_ALBUM_ID,
+            false,
+            SHA1);
+    PhotoModel photoModel2 =
+        new PhotoModel(
+            PHOTO_TITLE,
+            IMG_URI,
+            PHOTO_DESCRIPTION,
+            JPEG_MEDIA_TYPE,
+            "oldPhotoID2",
+            otherOldAlbumId,
+            false,
+            SHA1);
+    Mockito.when(googlePhotosInterface.uploadMediaContent(any(), eq(SHA1))).thenReturn("token1");
+    BatchMediaItemResponse batchMediaItemResponse =
+        new BatchMediaItemResponse(
+            new NewMediaItemResult[]{buildMediaItemResult("token1", Code.OK_VALUE)});
+    Mockito.when(googlePhotosInterface.createPhotos(any(NewMediaItemUpload.class)))
+        .thenReturn(batchMediaItemResponse);
+    GPhotosUpload gPhotosUpload =
+        new GPhotosUpload(jobId, executor, mock(TokensAndUrlAuthData.class));
+
+    googleMediaImporter.importPhotos(Lists.newArrayList(photoModel1), gPhotosUpload);
+    long secondLength = googleMediaImporter.importPhotos(Lists.newArrayList(photoModel2),
+        gPhotosUpload);
+
+    assertEquals(0L, secondLength);
+    Mockito.verify(googlePhotosInterface, Mockito.times(1)).uploadMediaContent(any(), any());
+    Mockito.verify(googlePhotosInterface)
+        .addMediaItemsToAlbum(otherNewAlbumId, ImmutableList.of("newId"));
+    assertTrue(executor.isKeyCached(String.format("%s-%s", otherOldAlbumId, "oldPhotoID2")));
+  }
+
   private NewMediaItemResult buildMediaItemResult(String uploadToken, int code) {
     // We do a lot of mocking as building the actual objects would require changing the constructors
     // which messed up deserialization so best to leave them unchanged.
@@ -286,6 +286,35 @@ public final class GoogleMusicImporterTest {
     assertThat(executor.getErrors()).isEmpty();
   }
 
+  @Test
+  public void importPlaylistItemsBatchRequestFailure() throws Exception {
+    importPlaylistSetUp("p1_id", "p1_title");
+
+    MusicPlaylistItem playlistItem1 =
+        new MusicPlaylistItem(
+            new MusicRecording(
+                "item1_isrc", null, 180000L, new MusicRelease("r1_icpn", null, null), null, false),
+            "p1_id",
+            1);
+    MusicPlaylistItem playlistItem2 =
+        new MusicPlaylistItem(
+            new MusicRecording(
+                "item2_isrc", null, 180000L, new MusicRelease("r1_icpn", null, null), null, false),
+            "p1_id",
+            1);
+    when(googleMusicHttpApi.importPlaylistItems(any(BatchPlaylistItemRequest.class)))
+        .thenThrow(new IOException("Bad status code: 503"));
+
+    // Run test
+    googleMusicImporter.importPlaylistItems(
+        Lists.newArrayList(playlistItem1, playlistItem2), executor, uuid, null);
+
+    // Both items are sent in one batch, resent together once, and both fail with it
+    verify(googleMusicHttpApi, times(2)).importPlaylistItems(any(BatchPlaylistItemRequest.class));
+    assertThat(executor.getErrors()).hasSize(2);
+    assertThat(executor.getErrors().iterator().next().exception()).contains("503");
+  }
+
   @Test
   void importSingleRelease() throws Exception {
     // Set up
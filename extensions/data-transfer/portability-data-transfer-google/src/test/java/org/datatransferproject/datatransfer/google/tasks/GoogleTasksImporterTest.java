@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.datatransfer.google.tasks;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.tasks.Tasks;
+import com.google.api.services.tasks.model.Task;
+import com.google.api.services.tasks.model.TaskList;
+import com.google.common.collect.ImmutableList;
+import java.util.UUID;
+import org.datatransferproject.datatransfer.google.common.GoogleCredentialFactory;
+import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.test.types.FakeIdempotentImportExecutor;
+import org.datatransferproject.types.common.models.tasks.TaskContainerResource;
+import org.datatransferproject.types.common.models.tasks.TaskListModel;
+import org.datatransferproject.types.common.models.tasks.TaskModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GoogleTasksImporterTest {
+  private GoogleTasksImporter tasksImporter;
+
+  private Tasks tasksClient;
+  private Tasks.Tasklists taskLists;
+  private Tasks.Tasklists.Insert taskListInsertRequest;
+  private Tasks.TasksOperations tasks;
+  private Tasks.TasksOperations.Insert taskInsertRequest;
+  private BatchRequest batchRequest;
+  private IdempotentImportExecutor executor;
+
+  @BeforeEach
+  public void setup() {
+    tasksClient = mock(Tasks.class);
+    taskLists = mock(Tasks.Tasklists.class);
+    taskListInsertRequest = mock(Tasks.Tasklists.Insert.class);
+    tasks = mock(Tasks.TasksOperations.class);
+    taskInsertRequest = mock(Tasks.TasksOperations.Insert.class);
+    batchRequest = mock(BatchRequest.class);
+
+    executor = new FakeIdempotentImportExecutor();
+
+    tasksImporter = new GoogleTasksImporter(mock(GoogleCredentialFactory.class), tasksClient);
+
+    when(tasksClient.tasklists()).thenReturn(taskLists);
+    when(tasksClient.tasks()).thenReturn(tasks);
+    when(tasksClient.batch()).thenReturn(batchRequest);
+  }
+
+  @Test
+  public void importTasksInOneBatch() throws Exception {
+    TaskListModel taskList = new TaskListModel("oldListId", "list");
+    TaskModel firstTask = new TaskModel("oldListId", "first", null, null, null);
+    TaskModel secondTask = new TaskModel("oldListId", "second", null, null, null);
+    // Its list is not part of the import, so there is nowhere to put it
+    TaskModel orphanTask = new TaskModel("missingListId", "orphan", null, null, null);
+
+    when(taskLists.insert(any(TaskList.class))).thenReturn(taskListInsertRequest);
+    when(taskListInsertRequest.execute()).thenReturn(new TaskList().setId("newListId"));
+    when(tasks.insert(eq("newListId"), any(Task.class))).thenReturn(taskInsertRequest);
+    doAnswer(invocation -> {
+      invocation.<JsonBatchCallback<Task>>getArgument(1)
+          .onSuccess(new Task().setId("newTaskId"), new HttpHeaders());
+      return null;
+    }).when(taskInsertRequest).queue(any(BatchRequest.class), any(JsonBatchCallback.class));
+
+    tasksImporter.importItem(
+        UUID.randomUUID(),
+        executor,
+        null,
+        new TaskContainerResource(
+            ImmutableList.of(taskList), ImmutableList.of(firstTask, secondTask, orphanTask)));
+
+    verify(tasks, times(2)).insert(eq("newListId"), any(Task.class));
+    verify(tasks, never()).insert(eq("missingListId"), any(Task.class));
+    verify(taskInsertRequest, times(2))
+        .queue(any(BatchRequest.class), any(JsonBatchCallback.class));
+    verify(batchRequest).execute();
+    verify(taskInsertRequest, never()).execute();
+    assertThat((String) executor.getCachedValue("oldListIdfirst")).isEqualTo("newTaskId");
+    assertThat((String) executor.getCachedValue("oldListIdsecond")).isEqualTo("newTaskId");
+    assertThat(executor.isKeyCached("missingListIdorphan")).isFalse();
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.datatransfer.google.videos;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.datatransferproject.datatransfer.google.videos.GoogleVideosResumableUploader.SourceNotReplayableException;
+import org.junit.jupiter.api.Test;
+
+public class GoogleVideosResumableUploaderTest {
+  private static final byte[] VIDEO = "0123456789".getBytes();
+  private static final int CHUNK_SIZE = 4;
+
+  @Test
+  public void uploadSendsVideoInChunks() throws Exception {
+    FakeUploadServer server = new FakeUploadServer();
+
+    String uploadToken = upload(server);
+
+    assertThat(uploadToken).isEqualTo("upload-token");
+    assertThat(server.received.toByteArray()).isEqualTo(VIDEO);
+    assertThat(server.commands)
+        .containsExactly("start", "upload", "upload", "upload, finalize")
+        .inOrder();
+  }
+
+  @Test
+  public void uploadResendsRestOfFailedChunk() throws Exception {
+    FakeUploadServer server = new FakeUploadServer();
+    server.failingUploadOffset = CHUNK_SIZE;
+
+    String uploadToken = upload(server);
+
+    assertThat(uploadToken).isEqualTo("upload-token");
+    assertThat(server.received.toByteArray()).isEqualTo(VIDEO);
+    assertThat(server.commands)
+        .containsExactly("start", "upload", "upload", "query", "upload", "upload, finalize")
+        .inOrder();
+  }
+
+  @Test
+  public void uploadDisconnectsEveryResponse() throws Exception {
+    FakeUploadServer server = new FakeUploadServer();
+    server.failingUploadOffset = CHUNK_SIZE;
+
+    upload(server);
+
+    assertThat(server.responses).hasSize(6);
+    for (MockLowLevelHttpResponse response : server.responses) {
+      assertThat(response.isDisconnected()).isTrue();
+    }
+  }
+
+  @Test
+  public void uploadFailsWhenServerLosesEarlierChunks() {
+    FakeUploadServer server = new FakeUploadServer();
+    server.failingUploadOffset = CHUNK_SIZE;
+    server.forgetEverythingOnFailure = true;
+
+    assertThrows(SourceNotReplayableException.class, () -> upload(server));
+  }
+
+  private static String upload(FakeUploadServer server) throws Exception {
+    return new GoogleVideosResumableUploader(server.createRequestFactory(), CHUNK_SIZE)
+        .upload(new ByteArrayInputStream(VIDEO), VIDEO.length, "video.mp4", "video/mp4");
+  }
+
+  /**
+   * Stands in for the resumable upload endpoint. The first upload at {@code failingUploadOffset}
+   * fails after keeping half of what was sent, as if the connection had dropped part way through.
+   */
+  private static class FakeUploadServer extends MockHttpTransport {
+    final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    final List<String> commands = new ArrayList<>();
+    final List<MockLowLevelHttpResponse> responses = new ArrayList<>();
+    long failingUploadOffset = -1;
+    boolean forgetEverythingOnFailure = false;
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, String url) {
+      return new MockLowLevelHttpRequest(url) {
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+          String command = getFirstHeaderValue("X-Goog-Upload-Command");
+          commands.add(command);
+          MockLowLevelHttpResponse response = new MockLowLevelHttpResponse();
+          responses.add(response);
+          switch (command) {
+            case "start":
+              response.addHeader("X-Goog-Upload-URL", "https://upload.example.com/session");
+              response.addHeader("X-Goog-Upload-Chunk-Granularity", Integer.toString(CHUNK_SIZE));
+              return response;
+            case "query":
+              response.addHeader("X-Goog-Upload-Size-Received", Integer.toString(received.size()));
+              return response;
+            default:
+              long offset = Long.parseLong(getFirstHeaderValue("X-Goog-Upload-Offset"));
+              assertThat(offset).isEqualTo(received.size());
+              ByteArrayOutputStream content = new ByteArrayOutputStream();
+              getStreamingContent().writeTo(content);
+              if (offset == failingUploadOffset) {
+                failingUploadOffset = -1;
+                if (forgetEverythingOnFailure) {
+                  received.reset();
+                } else {
+                  received.write(content.toByteArray(), 0, content.size() / 2);
+                }
+                return response.setStatusCode(503);
+              }
+              content.writeTo(received);
+              if (command.contains("finalize")) {
+                response.setContent("upload-token");
+              }
+              return response;
+          }
+        }
+      };
+    }
+  }
+}
@@ -13,6 +13,7 @@ import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import okhttp3.OkHttpClient;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.ExtensionContext;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.storage.AppCredentialStore;
@@ -115,9 +116,12 @@ public class KoofrTransferExtension implements TransferExtension {
         new KoofrClientFactory(
             BASE_API_URL, client, fileUploadClient, mapper, monitor, credentialFactory);
 
+    DtpInternalMetricRecorder metricRecorder = context.getService(DtpInternalMetricRecorder.class);
     ImmutableMap.Builder<DataVertical, Importer> importBuilder = ImmutableMap.builder();
-    importBuilder.put(PHOTOS, new KoofrPhotosImporter(koofrClientFactory, monitor, jobStore));
-    importBuilder.put(VIDEOS, new KoofrVideosImporter(koofrClientFactory, monitor, jobStore));
+    importBuilder.put(
+        PHOTOS, new KoofrPhotosImporter(koofrClientFactory, monitor, jobStore, metricRecorder));
+    importBuilder.put(
+        VIDEOS, new KoofrVideosImporter(koofrClientFactory, monitor, jobStore, metricRecorder));
     importerMap = importBuilder.build();
 
     ImmutableMap.Builder<DataVertical, Exporter> exportBuilder = ImmutableMap.builder();
@@ -31,6 +31,7 @@ import org.apache.commons.imaging.formats.jpeg.JpegImageMetadata;
 import org.apache.commons.imaging.formats.tiff.TiffImageMetadata;
 import org.apache.commons.imaging.formats.tiff.constants.ExifTagConstants;
 import org.apache.commons.io.IOUtils;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
 import org.datatransferproject.spi.cloud.storage.JobStore;
@@ -70,9 +71,12 @@ public class KoofrPhotosImporter
   private volatile HashMap<UUID, SimpleDateFormat> titleDateFormats = new HashMap<>();
 
   public KoofrPhotosImporter(
-      KoofrClientFactory koofrClientFactory, Monitor monitor, JobStore jobStore) {
+      KoofrClientFactory koofrClientFactory,
+      Monitor monitor,
+      JobStore jobStore,
+      DtpInternalMetricRecorder metricRecorder) {
     this.koofrClientFactory = koofrClientFactory;
-    this.connectionProvider = new ConnectionProvider(jobStore);
+    this.connectionProvider = new ConnectionProvider(jobStore, metricRecorder);
     this.monitor = monitor;
     this.jobStore = jobStore;
   }
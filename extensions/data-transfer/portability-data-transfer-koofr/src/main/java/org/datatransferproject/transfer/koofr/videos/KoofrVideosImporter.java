@@ -21,6 +21,7 @@ import java.io.InputStream;
 import java.util.UUID;
 import java.util.concurrent.atomic.LongAdder;
 
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
 import org.datatransferproject.spi.cloud.storage.JobStore;
@@ -50,9 +51,12 @@ public class KoofrVideosImporter
   private final Monitor monitor;
 
   public KoofrVideosImporter(
-      KoofrClientFactory koofrClientFactory, Monitor monitor, JobStore jobStore) {
+      KoofrClientFactory koofrClientFactory,
+      Monitor monitor,
+      JobStore jobStore,
+      DtpInternalMetricRecorder metricRecorder) {
     this.koofrClientFactory = koofrClientFactory;
-    this.connectionProvider = new ConnectionProvider(jobStore);
+    this.connectionProvider = new ConnectionProvider(jobStore, metricRecorder);
     this.monitor = monitor;
   }
 
@@ -77,7 +77,7 @@ public class KoofrPhotosImporterTest {
     monitor = mock(Monitor.class);
     jobStore = mock(JobStore.class);
 
-    importer = new KoofrPhotosImporter(clientFactory, monitor, jobStore);
+    importer = new KoofrPhotosImporter(clientFactory, monitor, jobStore, null);
 
     executor = mock(IdempotentImportExecutor.class);
     when(executor.executeAndSwallowIOExceptions(any(), any(), any()))
@@ -54,7 +54,7 @@ public class KoofrVideosImporterTest {
 
     when(clientFactory.create(any())).thenReturn(client);
 
-    importer = new KoofrVideosImporter(clientFactory, monitor, mock(JobStore.class));
+    importer = new KoofrVideosImporter(clientFactory, monitor, mock(JobStore.class), null);
 
     when(executor.executeAndSwallowIOExceptions(any(), any(), any()))
         .then(
@@ -98,6 +98,9 @@ public class MicrosoftTransferExtension implements TransferExtension {
     if (initialized) return;
 
     final double maxWritesPerSecond =  context.getSetting("msoftMaxWritesPerSecond", 1.0);
+    final int uploadChunkByteSize =
+        context.getSetting(
+            "msoftUploadChunkByteSize", MicrosoftMediaImporter.DEFAULT_UPLOAD_CHUNK_BYTE_SIZE);
     TemporaryPerJobDataStore jobStore = context.getService(TemporaryPerJobDataStore.class);
     HttpTransport httpTransport = context.getService(HttpTransport.class);
 
@@ -144,7 +147,7 @@ public class MicrosoftTransferExtension implements TransferExtension {
         PHOTOS, new MicrosoftPhotosImporter(BASE_GRAPH_URL, sharedHttpClient, mapper, jobStore, monitor,
           credentialFactory, jobFileStream));
     importBuilder.put(MEDIA, new MicrosoftMediaImporter(BASE_GRAPH_URL, httpClientBuilder, mapper, jobStore, monitor,
-          credentialFactory, jobFileStream, maxWritesPerSecond));
+          credentialFactory, jobFileStream, maxWritesPerSecond, uploadChunkByteSize));
     importerMap = importBuilder.build();
 
     ImmutableMap.Builder<DataVertical, Exporter> exporterBuilder = ImmutableMap.builder();
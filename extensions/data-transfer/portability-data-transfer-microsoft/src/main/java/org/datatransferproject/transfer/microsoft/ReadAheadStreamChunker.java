@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.transfer.microsoft;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Throwables;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.annotation.Nullable;
+
+/**
+ * Wraps a {@link StreamChunker} to read the next chunk of the stream on a background thread while
+ * the caller is still busy with the current one, eg: uploading it.
+ *
+ * <p>Chunks are read into a fixed pool of reusable buffers, so at most {@code bufferCount} chunks
+ * are held in memory at once: once every buffer holds a chunk that hasn't been {@link release
+ * released} yet, reading pauses until one is.
+ *
+ * <p>Like {@link StreamChunker}, does not close the held input stream.
+ */
+public class ReadAheadStreamChunker implements Closeable {
+  private final StreamChunker streamChunker;
+  private final int bufferCount;
+  private final BlockingQueue<byte[]> bufferPool;
+  private final BlockingQueue<ReadResult> readResults = new LinkedBlockingQueue<>();
+  private final Future<?> reader;
+
+  /** Only touched by the reading thread. */
+  private int buffersAllocated = 0;
+
+  private boolean finished = false;
+
+  public ReadAheadStreamChunker(
+      StreamChunker streamChunker, int bufferCount, ExecutorService executor) {
+    checkArgument(bufferCount >= 2, "reading ahead needs at least 2 buffers, got %s", bufferCount);
+    this.streamChunker = streamChunker;
+    this.bufferCount = bufferCount;
+    this.bufferPool = new ArrayBlockingQueue<>(bufferCount);
+    this.reader = executor.submit(this::readChunks);
+  }
+
+  /**
+   * Returns the next chunk of the stream, waiting for it to be read if need be, or absent if no
+   * bytes were remaining in the stream.
+   *
+   * <p>The returned chunk should be passed to {@link release} once the caller is done with it.
+   */
+  public Optional<DataChunk> nextChunk() throws IOException {
+    if (finished) {
+      return Optional.empty();
+    }
+    ReadResult result;
+    try {
+      result = readResults.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted waiting for the next chunk to be read");
+    }
+    if (result.error != null) {
+      finished = true;
+      Throwables.throwIfInstanceOf(result.error, IOException.class);
+      Throwables.throwIfUnchecked(result.error);
+      throw new IOException(result.error);
+    }
+    if (result.chunk == null) {
+      finished = true;
+      return Optional.empty();
+    }
+    return Optional.of(result.chunk);
+  }
+
+  /**
+   * Hands the buffer backing {@code chunk} back to be read into again; {@code chunk} must not be
+   * used afterwards.
+   */
+  public void release(DataChunk chunk) {
+    bufferPool.offer(chunk.chunk());
+  }
+
+  /** Stops reading ahead. */
+  @Override
+  public void close() {
+    reader.cancel(true);
+  }
+
+  private void readChunks() {
+    try {
+      while (true) {
+        Optional<DataChunk> chunk = streamChunker.nextChunk(takeBuffer());
+        if (chunk.isEmpty()) {
+          readResults.add(ReadResult.END_OF_STREAM);
+          return;
+        }
+        readResults.add(new ReadResult(chunk.get(), null));
+        if (chunk.get().size() < streamChunker.getChunkSizeBytes()) {
+          // A short read means the stream is exhausted, so don't tie up another buffer finding out.
+          readResults.add(ReadResult.END_OF_STREAM);
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      // We've been closed, so nobody is waiting on any more chunks.
+      Thread.currentThread().interrupt();
+    } catch (Throwable t) {
+      readResults.add(new ReadResult(null, t));
+      Throwables.throwIfInstanceOf(t, Error.class);
+    }
+  }
+
+  private byte[] takeBuffer() throws InterruptedException {
+    // Buffers are allocated as they're first needed, so short streams don't pay for the whole pool.
+    if (bufferPool.isEmpty() && buffersAllocated < bufferCount) {
+      buffersAllocated++;
+      return new byte[streamChunker.getChunkSizeBytes()];
+    }
+    return bufferPool.take();
+  }
+
+  /** Either a chunk, a failure to read one, or neither at the end of the stream. */
+  private static final class ReadResult {
+    static final ReadResult END_OF_STREAM = new ReadResult(null, null);
+
+    @Nullable final DataChunk chunk;
+    @Nullable final Throwable error;
+
+    ReadResult(@Nullable DataChunk chunk, @Nullable Throwable error) {
+      this.chunk = chunk;
+      this.error = error;
+    }
+  }
+}
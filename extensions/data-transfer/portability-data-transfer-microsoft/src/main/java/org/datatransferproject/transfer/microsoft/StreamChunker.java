@@ -1,5 +1,7 @@
 package org.datatransferproject.transfer.microsoft;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
@@ -28,15 +30,40 @@ public class StreamChunker {
    */
   public Optional<DataChunk> nextChunk() throws IOException {
     byte[] chunkOfData = inputStream.readNBytes(chunkSizeBytes);
+    return toChunk(chunkOfData, chunkOfData.length);
+  }
+
+  /**
+   * Like {@link nextChunk()}, but reads into {@code buffer} instead of allocating a new array, so
+   * that callers can reuse a few buffers across a whole stream.
+   *
+   * <p>The returned chunk is backed by {@code buffer}, so is only valid until the buffer is reused.
+   */
+  public Optional<DataChunk> nextChunk(byte[] buffer) throws IOException {
+    checkArgument(
+        buffer.length >= chunkSizeBytes,
+        "buffer of %s bytes can't hold a chunk of %s bytes",
+        buffer.length,
+        chunkSizeBytes);
+    int bytesRead = inputStream.readNBytes(buffer, 0, chunkSizeBytes);
+    return toChunk(buffer, bytesRead);
+  }
+
+  public int getChunkSizeBytes() {
+    return chunkSizeBytes;
+  }
+
+  private Optional<DataChunk> toChunk(byte[] buffer, int size) {
     Optional<DataChunk> resp =
-        chunkOfData.length == 0
+        size == 0
             ? Optional.empty()
             : Optional.of(
                 DataChunk.builder()
-                    .setChunk(chunkOfData)
+                    .setChunk(buffer)
+                    .setSize(size)
                     .setStreamByteOffset(streamByteOffset)
                     .build());
-    streamByteOffset += chunkOfData.length;
+    streamByteOffset += size;
     return resp;
   }
 }
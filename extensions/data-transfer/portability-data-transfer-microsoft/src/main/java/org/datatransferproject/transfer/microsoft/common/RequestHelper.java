@@ -16,6 +16,9 @@
 package org.datatransferproject.transfer.microsoft.common;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -26,14 +29,42 @@ import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.types.transfer.auth.TokenAuthData;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /** Provides request operations. */
 public class RequestHelper {
   private static final String BATCH_URL = "/beta/$batch";
+  // Graph rejects batches with more requests than this
+  static final int MAX_BATCH_SIZE = 20;
+  static final int MAX_CONCURRENT_BATCHES_PER_ACCOUNT = 4;
+  static final int MAX_THROTTLED_ATTEMPTS = 3;
+  private static final int THROTTLED_STATUS = 429;
+  private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+  private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+  private static final ExecutorService BATCH_EXECUTOR =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("microsoft-graph-batch-%d")
+              .build());
+  // Batches in flight per account, keyed by token and shared by every importer in the worker.
+  // Striped so the number of semaphores stays bounded; accounts sharing a stripe share a limit.
+  private static final Striped<Semaphore> ACCOUNT_PERMITS =
+      Striped.semaphore(64, MAX_CONCURRENT_BATCHES_PER_ACCOUNT);
 
   private RequestHelper() {}
 
@@ -57,20 +88,122 @@ public class RequestHelper {
   }
 
   /**
-   * Creates a Graph API batch request with required the authorization header.
+   * Creates Graph API batch requests with required the authorization header.
+   *
+   * <p>Graph takes at most {@value #MAX_BATCH_SIZE} requests in a batch, so larger lists are split
+   * and the batches sent concurrently, at most {@value #MAX_CONCURRENT_BATCHES_PER_ACCOUNT} at a
+   * time for an account. Requests Graph throttled are sent again on their own once their {@code
+   * Retry-After} has passed. The responses of every batch are merged into the one returned.
    *
    * @param authData the auth token
    * @param requests the batch request data
    * @param client the client to construct the request with
    * @param objectMapper the mapper to serialize data
    */
-  @SuppressWarnings("unchecked")
   public static BatchResponse batchRequest(
       TokenAuthData authData,
       List<Map<String, Object>> requests,
       String baseUrl,
       OkHttpClient client,
       ObjectMapper objectMapper) {
+    List<List<Map<String, Object>>> batches = Lists.partition(requests, MAX_BATCH_SIZE);
+    if (batches.size() <= 1) {
+      return sendBatch(authData, requests, baseUrl, client, objectMapper);
+    }
+
+    List<Future<BatchResponse>> pendingBatches = new ArrayList<>();
+    List<Map<String, Object>> responses = new ArrayList<>();
+    try {
+      for (List<Map<String, Object>> batch : batches) {
+        pendingBatches.add(
+            BATCH_EXECUTOR.submit(
+                () -> sendBatch(authData, batch, baseUrl, client, objectMapper)));
+      }
+      for (Future<BatchResponse> pendingBatch : pendingBatches) {
+        BatchResponse batchResponse = pendingBatch.get();
+        if (ImportResult.ResultType.OK != batchResponse.getResult().getType()) {
+          return batchResponse;
+        }
+        responses.addAll(batchResponse.getBatchResponse());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new BatchResponse(new ImportResult(e));
+    } catch (ExecutionException e) {
+      return new BatchResponse(new ImportResult(e.getCause()));
+    } finally {
+      // No-op for batches that already finished; stops the rest once one has failed.
+      pendingBatches.forEach(pendingBatch -> pendingBatch.cancel(true));
+    }
+    return new BatchResponse(new ImportResult(ImportResult.ResultType.OK), responses);
+  }
+
+  /**
+   * Sends a single batch, sending the requests Graph throttled again until they go through or
+   * {@value #MAX_THROTTLED_ATTEMPTS} attempts have been made. The last response to each request is
+   * returned.
+   */
+  private static BatchResponse sendBatch(
+      TokenAuthData authData,
+      List<Map<String, Object>> requests,
+      String baseUrl,
+      OkHttpClient client,
+      ObjectMapper objectMapper) {
+    Semaphore permit = ACCOUNT_PERMITS.get(authData.getToken());
+    try {
+      permit.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new BatchResponse(new ImportResult(e));
+    }
+    try {
+      // Keyed by request id; a retried request's response replaces the throttled one in place
+      Map<String, Map<String, Object>> responsesById = new LinkedHashMap<>();
+      List<Map<String, Object>> pendingRequests = requests;
+      for (int attempt = 1; ; attempt++) {
+        BatchResponse batchResponse =
+            postBatch(authData, pendingRequests, baseUrl, client, objectMapper);
+        if (ImportResult.ResultType.OK != batchResponse.getResult().getType()) {
+          return batchResponse;
+        }
+        long retryAfterSeconds = 0;
+        Set<String> throttledIds = new HashSet<>();
+        for (Map<String, Object> response : batchResponse.getBatchResponse()) {
+          String id = String.valueOf(response.get("id"));
+          responsesById.put(id, response);
+          if (isThrottled(response)) {
+            throttledIds.add(id);
+            retryAfterSeconds = Math.max(retryAfterSeconds, getRetryAfterSeconds(response));
+          }
+        }
+        if (throttledIds.isEmpty() || attempt == MAX_THROTTLED_ATTEMPTS) {
+          break;
+        }
+        pendingRequests =
+            pendingRequests.stream()
+                .filter(request -> throttledIds.contains(String.valueOf(request.get("id"))))
+                .collect(Collectors.toList());
+        try {
+          Thread.sleep(TimeUnit.SECONDS.toMillis(retryAfterSeconds));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return new BatchResponse(new ImportResult(e));
+        }
+      }
+      return new BatchResponse(
+          new ImportResult(ImportResult.ResultType.OK), new ArrayList<>(responsesById.values()));
+    } finally {
+      permit.release();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BatchResponse postBatch(
+      TokenAuthData authData,
+      List<Map<String, Object>> requests,
+      String baseUrl,
+      OkHttpClient client,
+      ObjectMapper objectMapper) {
     try {
       Map<String, Object> batch = new LinkedHashMap<>();
       batch.put("requests", requests);
@@ -104,6 +237,29 @@ public class RequestHelper {
     }
   }
 
+  private static boolean isThrottled(Map<String, Object> response) {
+    Object status = response.get("status");
+    return status instanceof Number && ((Number) status).intValue() == THROTTLED_STATUS;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static long getRetryAfterSeconds(Map<String, Object> response) {
+    Object headers = response.get("headers");
+    if (headers instanceof Map) {
+      for (Map.Entry<String, Object> header : ((Map<String, Object>) headers).entrySet()) {
+        if ("Retry-After".equalsIgnoreCase(header.getKey()) && header.getValue() != null) {
+          try {
+            long seconds = Long.parseLong(String.valueOf(header.getValue()).trim());
+            return Math.min(Math.max(seconds, 0), MAX_RETRY_AFTER_SECONDS);
+          } catch (NumberFormatException e) {
+            // Graph sends seconds, fall through to the default for anything else
+          }
+        }
+      }
+    }
+    return DEFAULT_RETRY_AFTER_SECONDS;
+  }
+
   public static class BatchResponse {
     private final ImportResult result;
     private final List<Map<String, Object>> batchResponse;
@@ -78,6 +78,11 @@ public class MicrosoftDriveItem {
     return prefix.containsType(file.mimeType);
   }
 
+  /** SHA1 of the file content in hex, or null if the drive doesn't provide one. */
+  public String getSha1Hash() {
+    return isFile() && file.hashes != null ? file.hashes.sha1Hash : null;
+  }
+
   public boolean isImage() {
     return isFile() && isMimeType(MimeTypePrefix.IMAGE);
   }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.transfer.microsoft.driveModels;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Microsoft hashes resource type, which hashes are set depends on the kind of drive. Ref:
+ * https://docs.microsoft.com/en-us/graph/api/resources/hashes?view=graph-rest-1.0
+ */
+public class MicrosoftFileHashes {
+
+  /** SHA1 hash of the file content in hex, only set for OneDrive for home. */
+  @JsonProperty("sha1Hash")
+  public String sha1Hash;
+
+  /** Proprietary Microsoft hash of the file content in base64, set on all drives. */
+  @JsonProperty("quickXorHash")
+  public String quickXorHash;
+}
@@ -26,4 +26,7 @@ public class MicrosoftFileMetadata {
 
   @JsonProperty("mimeType")
   public String mimeType;
+
+  @JsonProperty("hashes")
+  public MicrosoftFileHashes hashes;
 }
@@ -165,7 +165,8 @@ public class MicrosoftMediaExporter
 
     PhotoModel photo =
         new PhotoModel(driveItem.name, driveItem.downloadUrl, driveItem.description,
-            driveItem.file.mimeType, driveItem.id, albumId.orElse(null), false /*inTempStore*/);
+            driveItem.file.mimeType, driveItem.id, albumId.orElse(null), false /*inTempStore*/,
+            driveItem.getSha1Hash());
     monitor.debug(
         () -> String.format("%s: Microsoft OneDrive exporting photo: %s", jobId, photo));
     return photo;
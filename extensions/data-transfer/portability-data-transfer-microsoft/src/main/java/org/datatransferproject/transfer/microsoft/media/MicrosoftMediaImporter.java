@@ -15,6 +15,7 @@
  */
 package org.datatransferproject.transfer.microsoft.media;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static org.datatransferproject.spi.api.transport.DiscardingStreamCounter.discardForLength;
@@ -23,6 +24,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
@@ -30,6 +32,8 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -49,6 +53,7 @@ import org.datatransferproject.spi.transfer.types.PermissionDeniedException;
 import org.datatransferproject.transfer.microsoft.DataChunk;
 import org.datatransferproject.transfer.microsoft.MicrosoftApiResponse;
 import org.datatransferproject.transfer.microsoft.MicrosoftTransmogrificationConfig;
+import org.datatransferproject.transfer.microsoft.ReadAheadStreamChunker;
 import org.datatransferproject.transfer.microsoft.StreamChunker;
 import org.datatransferproject.transfer.microsoft.common.MicrosoftCredentialFactory;
 import org.datatransferproject.types.common.DownloadableFile;
@@ -59,8 +64,26 @@ import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
 /** Imports albums with their photos and videos to OneDrive using the Microsoft Graph API. */
 public class MicrosoftMediaImporter
     implements Importer<TokensAndUrlAuthData, MediaContainerResource> {
-  /** Max number of bytes to upload to Microsoft's APIs at a time. */
-  private static final int MICROSOFT_UPLOAD_CHUNK_BYTE_SIZE = 32000 * 1024; // 32000KiB
+  /** Default max number of bytes to upload to Microsoft's APIs at a time. */
+  public static final int DEFAULT_UPLOAD_CHUNK_BYTE_SIZE = 32000 * 1024; // 32000KiB
+
+  /**
+   * Upload session chunks must be a multiple of this size, see:
+   * https://learn.microsoft.com/en-us/graph/api/driveitem-createuploadsession?view=graph-rest-1.0#upload-bytes-to-the-upload-session
+   */
+  private static final int UPLOAD_CHUNK_BYTE_ALIGNMENT = 320 * 1024; // 320KiB
+
+  /** Upload session requests must be smaller than 60MiB. */
+  private static final int MAX_UPLOAD_CHUNK_BYTE_SIZE = 60 * 1024 * 1024;
+
+  /**
+   * Number of chunk buffers per upload: one for the chunk being sent while the next is read into
+   * the other.
+   */
+  private static final int UPLOAD_CHUNK_BUFFER_COUNT = 2;
+
+  private final int uploadChunkByteSize;
+  private final ExecutorService chunkReadExecutor;
 
   private final OkHttpClient.Builder httpClientBuilder;
   private OkHttpClient client;
@@ -91,6 +114,40 @@ public class MicrosoftMediaImporter
       MicrosoftCredentialFactory credentialFactory,
       JobFileStream jobFileStream,
       double maxWritesPerSecond) {
+    this(
+        baseUrl,
+        httpClientBuilder,
+        objectMapper,
+        jobStore,
+        monitor,
+        credentialFactory,
+        jobFileStream,
+        maxWritesPerSecond,
+        DEFAULT_UPLOAD_CHUNK_BYTE_SIZE);
+  }
+
+  /**
+   * @param uploadChunkByteSize how many bytes of a file to send per request, which must be a
+   *     multiple of 320KiB and less than 60MiB. Up to two chunks are held in memory per upload.
+   */
+  public MicrosoftMediaImporter(
+      String baseUrl,
+      OkHttpClient.Builder httpClientBuilder,
+      ObjectMapper objectMapper,
+      TemporaryPerJobDataStore jobStore,
+      Monitor monitor,
+      MicrosoftCredentialFactory credentialFactory,
+      JobFileStream jobFileStream,
+      double maxWritesPerSecond,
+      int uploadChunkByteSize) {
+    checkArgument(
+        uploadChunkByteSize > 0
+            && uploadChunkByteSize % UPLOAD_CHUNK_BYTE_ALIGNMENT == 0
+            && uploadChunkByteSize < MAX_UPLOAD_CHUNK_BYTE_SIZE,
+        "upload chunk size must be a positive multiple of %s bytes below %s bytes, got %s",
+        UPLOAD_CHUNK_BYTE_ALIGNMENT,
+        MAX_UPLOAD_CHUNK_BYTE_SIZE,
+        uploadChunkByteSize);
     // NOTE: "special/photos" is a specific folder in One Drive that corresponds to items that
     // should appear in https://photos.onedrive.com/, for more information see:
     // https://learn.microsoft.com/en-us/onedrive/developer/rest-api/api/drive_get_specialfolder?#special-folder-names
@@ -111,6 +168,13 @@ public class MicrosoftMediaImporter
     this.credential = null;
     this.jobFileStream = jobFileStream;
     this.writeRateLimiter = RateLimiter.create(maxWritesPerSecond);
+    this.uploadChunkByteSize = uploadChunkByteSize;
+    this.chunkReadExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("microsoft-chunk-reader-%d")
+                .build());
   }
 
   @Override
@@ -226,32 +290,45 @@ public class MicrosoftMediaImporter
   /**
    * Depletes input stream, uploading a chunk of the stream at a time, throwing a DTP exception
    * along the way if any unrecoverable errors are encountered.
+   *
+   * <p>The upload session only accepts chunks in order, so they're sent one at a time, but the next
+   * chunk is read from the stream while the current one is being sent.
    */
   private MicrosoftApiResponse uploadStreamInChunks(
       long totalFileSize, String itemUploadUrl, String itemMimeType, InputStream inputStream)
       throws IOException, DestinationMemoryFullException, PermissionDeniedException {
     MicrosoftApiResponse lastChunkResponse = null;
-    StreamChunker streamChunker = new StreamChunker(MICROSOFT_UPLOAD_CHUNK_BYTE_SIZE, inputStream);
-    Optional<DataChunk> currentChunk;
-    while (true) {
-      currentChunk = streamChunker.nextChunk();
-      if (currentChunk.isEmpty()) {
-        break;
+    try (ReadAheadStreamChunker streamChunker =
+        new ReadAheadStreamChunker(
+            new StreamChunker(uploadChunkByteSize, inputStream),
+            UPLOAD_CHUNK_BUFFER_COUNT,
+            chunkReadExecutor)) {
+      Optional<DataChunk> currentChunk;
+      while (true) {
+        currentChunk = streamChunker.nextChunk();
+        if (currentChunk.isEmpty()) {
+          break;
+        }
+        try {
+          lastChunkResponse =
+              uploadChunk(currentChunk.get(), itemUploadUrl, totalFileSize, itemMimeType);
+        } finally {
+          streamChunker.release(currentChunk.get());
+        }
+
+        // Log our progress before continuing to the next chunk.
+        final DataChunk lastChunksent = currentChunk.get();
+        final int httpStatus = lastChunkResponse.httpStatus();
+        monitor.info(
+            () ->
+                String.format(
+                    "Uploaded chunk range %d-%d (of total bytesize: %d) successfuly,"
+                        + " HTTP status %d",
+                    lastChunksent.streamByteOffset(),
+                    lastChunksent.finalByteOffset(),
+                    totalFileSize,
+                    httpStatus));
       }
-      lastChunkResponse =
-          uploadChunk(currentChunk.get(), itemUploadUrl, totalFileSize, itemMimeType);
-
-      // Log our progress before continuing to the next chunk.
-      final DataChunk lastChunksent = currentChunk.get();
-      final int httpStatus = lastChunkResponse.httpStatus();
-      monitor.info(
-          () ->
-              String.format(
-                  "Uploaded chunk range %d-%d (of total bytesize: %d) successfuly, HTTP status %d",
-                  lastChunksent.streamByteOffset(),
-                  lastChunksent.finalByteOffset(),
-                  totalFileSize,
-                  httpStatus));
     }
     return checkNotNull(
         lastChunkResponse, "bug: empty-stream already checked for yet stream empty now?");
@@ -174,7 +174,8 @@ public class MicrosoftPhotosExporter
               driveItem.file.mimeType,
               driveItem.id,
               albumId.orElse(null),
-              false);
+              false,
+              driveItem.getSha1Hash());
       monitor.debug(
           () -> String.format("%s: Microsoft OneDrive exporting photo: %s", jobId, photo));
       return photo;
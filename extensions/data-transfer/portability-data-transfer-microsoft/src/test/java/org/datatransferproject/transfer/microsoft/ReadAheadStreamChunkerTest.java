@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 The Data-Portability Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.transfer.microsoft;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ReadAheadStreamChunkerTest {
+  private static final int TEST_CHUNK_SIZE = 1024;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testChunksMatchStreamWhileReusingBuffers() throws IOException {
+    byte[] data = new byte[TEST_CHUNK_SIZE * 4 + 10];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) i;
+    }
+    Set<byte[]> buffersSeen = new HashSet<>();
+
+    try (ReadAheadStreamChunker chunker =
+        new ReadAheadStreamChunker(
+            new StreamChunker(TEST_CHUNK_SIZE, new ByteArrayInputStream(data)), 2, executor)) {
+      long expectedOffset = 0;
+      Optional<DataChunk> chunk;
+      while ((chunk = chunker.nextChunk()).isPresent()) {
+        DataChunk c = chunk.get();
+        assertThat(c.streamByteOffset()).isEqualTo(expectedOffset);
+        assertThat(Arrays.copyOf(c.chunk(), c.size()))
+            .isEqualTo(
+                Arrays.copyOfRange(data, (int) expectedOffset, (int) expectedOffset + c.size()));
+        expectedOffset += c.size();
+        buffersSeen.add(c.chunk());
+        chunker.release(c);
+      }
+      assertThat(expectedOffset).isEqualTo(data.length);
+      assertThat(chunker.nextChunk().isEmpty()).isTrue();
+    }
+    assertThat(buffersSeen).hasSize(2);
+  }
+
+  @Test
+  public void testEmptyStream() throws IOException {
+    try (ReadAheadStreamChunker chunker =
+        new ReadAheadStreamChunker(
+            new StreamChunker(TEST_CHUNK_SIZE, new ByteArrayInputStream(new byte[0])),
+            2,
+            executor)) {
+      assertThat(chunker.nextChunk().isEmpty()).isTrue();
+    }
+  }
+
+  @Test
+  public void testReadFailureIsThrownToCaller() {
+    InputStream failingStream =
+        new InputStream() {
+          @Override
+          public int read() throws IOException {
+            throw new IOException("disk on fire");
+          }
+        };
+
+    try (ReadAheadStreamChunker chunker =
+        new ReadAheadStreamChunker(new StreamChunker(TEST_CHUNK_SIZE, failingStream), 2, executor)) {
+      IOException e = assertThrows(IOException.class, chunker::nextChunk);
+      assertThat(e).hasMessageThat().contains("disk on fire");
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.transfer.microsoft.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.datatransferproject.spi.transfer.provider.ImportResult;
+import org.datatransferproject.types.transfer.auth.TokenAuthData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RequestHelperTest {
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final OkHttpClient client = new OkHttpClient.Builder().build();
+  private final TokenAuthData token = new TokenAuthData("token");
+  // Ids of the requests to answer with a 429 the first time they are seen
+  private final Set<String> throttleOnce = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger batchCount = new AtomicInteger();
+  private MockWebServer server;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            batchCount.incrementAndGet();
+            try {
+              return new MockResponse().setBody(respondTo(request.getBody().readUtf8()));
+            } catch (IOException e) {
+              return new MockResponse().setResponseCode(500);
+            }
+          }
+        });
+    server.start();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  public void batchRequest_splitsLargeListsIntoBatchesOfTwenty() {
+    RequestHelper.BatchResponse response =
+        RequestHelper.batchRequest(
+            token, createRequests(45), server.url("").toString(), client, mapper);
+
+    assertEquals(ImportResult.ResultType.OK, response.getResult().getType());
+    assertEquals(45, response.getBatchResponse().size());
+    assertEquals(3, batchCount.get());
+  }
+
+  @Test
+  public void batchRequest_resendsOnlyThrottledRequests() {
+    throttleOnce.add("2");
+
+    RequestHelper.BatchResponse response =
+        RequestHelper.batchRequest(
+            token, createRequests(3), server.url("").toString(), client, mapper);
+
+    assertEquals(ImportResult.ResultType.OK, response.getResult().getType());
+    assertEquals(2, batchCount.get());
+    List<Map<String, Object>> responses = response.getBatchResponse();
+    assertEquals(3, responses.size());
+    assertEquals("2", responses.get(1).get("id"));
+    assertEquals(201, responses.get(1).get("status"));
+  }
+
+  private static List<Map<String, Object>> createRequests(int count) {
+    List<Map<String, Object>> requests = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      requests.add(RequestHelper.createRequest(i, "/v1.0/me/contacts", new LinkedHashMap()));
+    }
+    return requests;
+  }
+
+  @SuppressWarnings("unchecked")
+  private String respondTo(String batchBody) throws IOException {
+    List<Map<String, Object>> requests =
+        (List<Map<String, Object>>) mapper.readValue(batchBody, Map.class).get("requests");
+    List<Map<String, Object>> responses = new ArrayList<>();
+    for (Map<String, Object> request : requests) {
+      String id = (String) request.get("id");
+      Map<String, Object> response = new LinkedHashMap<>();
+      response.put("id", id);
+      if (throttleOnce.remove(id)) {
+        response.put("status", 429);
+        response.put("headers", Map.of("Retry-After", "0"));
+      } else {
+        response.put("status", 201);
+        response.put("body", Map.of("id", "new-" + id));
+      }
+      responses.add(response);
+    }
+    return mapper.writeValueAsString(Map.of("responses", responses));
+  }
+}
@@ -26,6 +26,7 @@ import com.google.api.client.http.HttpTransport;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.repackaged.com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.RateLimiter;
 import java.io.IOException;
 import java.net.URL;
 import java.time.Instant;
@@ -45,6 +46,8 @@ import org.datatransferproject.transfer.rememberthemilk.model.tasks.TimelineCrea
 class RememberTheMilkService {
   private static final String BASE_URL = "https://api.rememberthemilk.com/services/rest/";
   private static final HttpTransport HTTP_TRANSPORT = new NetHttpTransport();
+  // RTM allows an average of one call a second per API key, which every service here shares
+  private static final RateLimiter RATE_LIMITER = RateLimiter.create(1.0);
   private RememberTheMilkSignatureGenerator signatureGenerator;
   private XmlMapper xmlMapper = new XmlMapper();
 
@@ -143,6 +146,7 @@ class RememberTheMilkService {
 
     URL signedUrl = signatureGenerator.getSignature(BASE_URL, parameters);
 
+    RATE_LIMITER.acquire();
     HttpRequestFactory requestFactory = HTTP_TRANSPORT.createRequestFactory();
     HttpRequest getRequest = requestFactory.buildGetRequest(new GenericUrl(signedUrl));
     HttpResponse response = getRequest.execute();
@@ -18,8 +18,10 @@ package org.datatransferproject.transfer.rememberthemilk.tasks;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.transfer.rememberthemilk.model.tasks.TaskSeries;
@@ -31,16 +33,36 @@ import org.datatransferproject.types.transfer.auth.AuthData;
 import org.datatransferproject.types.transfer.auth.TokenAuthData;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 
 /*
  * Importer for Tasks data type to Remember The Milk Service.
+ *
+ * Tasks are added a few at a time, all under the one timeline created for the import, so that
+ * each call's round trip overlaps the others. The calls themselves are still paced by the rate
+ * limit in RememberTheMilkService.
  */
 public class RememberTheMilkTasksImporter implements Importer<AuthData, TaskContainerResource> {
+  // Enough to overlap round trips at RTM's rate limit, more would only queue on the limiter
+  private static final int MAX_CONCURRENT_TASK_INSERTS = 3;
 
   private final AppCredentials appCredentials;
   private final Monitor monitor;
+  private final ExecutorService insertExecutor =
+      Executors.newFixedThreadPool(
+          MAX_CONCURRENT_TASK_INSERTS,
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("rememberthemilk-task-insert-%d")
+              .build());
   private RememberTheMilkService service;
 
   public RememberTheMilkTasksImporter(
@@ -70,18 +92,16 @@ public class RememberTheMilkTasksImporter implements Importer<AuthData, TaskCont
         );
       }
 
-      for (TaskModel task : data.getTasks()) {
-        // Empty or blank tasks aren't valid in RTM
-        if (!Strings.isNullOrEmpty(task.getText())) {
-          idempotentExecutor.executeAndSwallowIOExceptions(
-              Integer.toString(task.hashCode()),
-              task.getText(),
-              () -> {
-                String newList = idempotentExecutor.getCachedValue(task.getTaskListId());
-                return insertTask(task, newList, timeline);
-              });
-        }
-      }
+      List<TaskModel> tasks =
+          data.getTasks().stream()
+              // Empty or blank tasks aren't valid in RTM
+              .filter(task -> !Strings.isNullOrEmpty(task.getText()))
+              .collect(Collectors.toList());
+      idempotentExecutor.executeBatchAndSwallowIOExceptions(
+          tasks,
+          task -> Integer.toString(task.hashCode()),
+          TaskModel::getText,
+          tasksToInsert -> insertTasks(service, idempotentExecutor, tasksToInsert, timeline));
     } catch (Exception e) {
       monitor.severe(() -> "Error importing item", e);
       return new ImportResult(e);
@@ -89,7 +109,53 @@ public class RememberTheMilkTasksImporter implements Importer<AuthData, TaskCont
     return new ImportResult(ImportResult.ResultType.OK);
   }
 
-  private Integer insertTask(TaskModel task, String newList, String timeline) throws IOException {
+  /**
+   * Adds the given tasks, at most {@link #MAX_CONCURRENT_TASK_INSERTS} at a time.
+   *
+   * @return the ID of each new task series, or the error adding it, in the order of {@code tasks}
+   */
+  private List<ItemImportResult<Integer>> insertTasks(
+      RememberTheMilkService service,
+      IdempotentImportExecutor idempotentExecutor,
+      List<TaskModel> tasks,
+      String timeline)
+      throws InterruptedException {
+    List<Future<Integer>> inserts = new ArrayList<>(tasks.size());
+    try {
+      for (TaskModel task : tasks) {
+        inserts.add(
+            insertExecutor.submit(
+                () -> {
+                  String newList = idempotentExecutor.getCachedValue(task.getTaskListId());
+                  return insertTask(service, task, newList, timeline);
+                }));
+      }
+      List<ItemImportResult<Integer>> results = new ArrayList<>(tasks.size());
+      for (Future<Integer> insert : inserts) {
+        try {
+          results.add(ItemImportResult.success(insert.get()));
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          results.add(
+              ItemImportResult.error(
+                  cause instanceof Exception ? (Exception) cause : e, null));
+        }
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw e;
+    } finally {
+      for (Future<Integer> insert : inserts) {
+        // No-op for inserts that already finished; stops the rest if we were interrupted
+        insert.cancel(true);
+      }
+    }
+  }
+
+  private Integer insertTask(
+      RememberTheMilkService service, TaskModel task, String newList, String timeline)
+      throws IOException {
     TaskSeries addedTask = service.createTask(task.getText(), timeline, newList);
     // todo: add notes
     if (task.getCompletedTime() != null) {
@@ -25,12 +25,17 @@ import com.github.scribejava.core.model.OAuthRequest;
 import com.github.scribejava.core.model.Response;
 import com.github.scribejava.core.model.Verb;
 import com.github.scribejava.core.oauth.OAuth10aService;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpTransport;
 import com.google.api.client.http.InputStreamContent;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.net.HttpHeaders;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
@@ -38,7 +43,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
-import javax.annotation.Nullable;
 import org.datatransferproject.transfer.smugmug.photos.SmugMugOauthApi;
 import org.datatransferproject.transfer.smugmug.photos.model.*;
 import org.datatransferproject.transfer.smugmug.photos.model.SmugMugAlbumImageResponse;
@@ -56,14 +60,21 @@ public class SmugMugInterface {
   private static final String USER_URL = "/api/v2!authuser";
   private static final String ALBUMS_KEY = "UserAlbums";
   private static final String FOLDER_KEY = "Folder";
+  private static final String UPLOAD_URL = "https://upload.smugmug.com/";
+  private static final String AUTHORIZATION_HEADER = "Authorization";
 
   private final OAuth10aService oAuthService;
   private final OAuth1AccessToken accessToken;
   private final ObjectMapper mapper;
   private final SmugMugUser user;
+  private final HttpRequestFactory uploadRequestFactory;
 
+  /**
+   * @param uploadTransport sends uploads; meant to be shared by every interface so that they all
+   *     use the same connections
+   */
   public SmugMugInterface(AppCredentials appCredentials, TokenSecretAuthData authData,
-      ObjectMapper mapper)
+      HttpTransport uploadTransport, ObjectMapper mapper)
       throws IOException {
     this.oAuthService =
         new ServiceBuilder(appCredentials.getKey())
@@ -71,9 +82,24 @@ public class SmugMugInterface {
             .build(new SmugMugOauthApi());
     this.accessToken = new OAuth1AccessToken(authData.getToken(), authData.getSecret());
     this.mapper = mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    this.uploadRequestFactory = uploadTransport.createRequestFactory();
     this.user = getUserInformation().getUser();
   }
 
+  @VisibleForTesting
+  SmugMugInterface(
+      OAuth10aService oAuthService,
+      OAuth1AccessToken accessToken,
+      SmugMugUser user,
+      HttpTransport uploadTransport,
+      ObjectMapper mapper) {
+    this.oAuthService = oAuthService;
+    this.accessToken = accessToken;
+    this.user = user;
+    this.uploadRequestFactory = uploadTransport.createRequestFactory();
+    this.mapper = mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  }
+
   public SmugMugAlbumImageResponse getListOfAlbumImages(String url) throws IOException {
     Preconditions.checkArgument(
         !Strings.isNullOrEmpty(url), "Album URI is required to retrieve album information");
@@ -111,7 +137,6 @@ public class SmugMugInterface {
         postRequest(
             folder + "!albums",
             json,
-            null, // No HttpContent for album creation
             ImmutableMap.of(), // No special Smugmug headers are required
             new TypeReference<SmugMugResponse<SmugMugAlbumResponse>>() {});
 
@@ -122,21 +147,16 @@ public class SmugMugInterface {
   }
 
   /* Uploads the resource at photoUrl to the albumId provided
-   * The albumId must exist before calling upload, else the request will fail */
+   * The albumId must exist before calling upload, else the request will fail
+   * contentLength is the size of inputStream in bytes, or zero if unknown */
   public SmugMugImageUploadResponse uploadImage(
-      PhotoModel photoModel, String albumUri, InputStream inputStream) throws IOException {
-    // Set up photo
-    InputStreamContent content = new InputStreamContent(null, inputStream);
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    content.writeTo(outputStream);
-    byte[] contentBytes = outputStream.toByteArray();
-
+      PhotoModel photoModel, String albumUri, InputStream inputStream, long contentLength)
+      throws IOException {
     // Headers from: https://api.smugmug.com/api/v2/doc/reference/upload.html
     Map<String, String> headersMap = new HashMap<>();
     headersMap.put("X-Smug-AlbumUri", albumUri);
     headersMap.put("X-Smug-ResponseType", "JSON");
     headersMap.put("X-Smug-Version", "v2");
-    headersMap.put("Content-Type", photoModel.getMediaType());
 
     if (!Strings.isNullOrEmpty(photoModel.getTitle())) {
       headersMap.put("X-Smug-Title", cleanHeader(photoModel.getTitle()));
@@ -147,33 +167,23 @@ public class SmugMugInterface {
 
     // Upload photo
     SmugMugImageUploadResponse response =
-        postRequest(
-            "https://upload.smugmug.com/",
-            ImmutableMap.of(), // No content params for photo upload
-            contentBytes,
-            headersMap,
-            new TypeReference<SmugMugImageUploadResponse>() {});
+        uploadRequest(photoModel.getMediaType(), inputStream, contentLength, headersMap);
 
     Preconditions.checkState(response.getStat().equals("ok"), "Failed to upload image");
     return Preconditions.checkNotNull(response, "Image upload Response is null");
   }
 
   /* Uploads the resource at videoUrl to the albumId provided
-   * The albumId must exist before calling upload, else the request will fail */
+   * The albumId must exist before calling upload, else the request will fail
+   * contentLength is the size of inputStream in bytes, or zero if unknown */
   public SmugMugImageUploadResponse uploadVideo(
-      VideoModel videoModel, String albumUri, InputStream inputStream) throws IOException {
-    // Set up photo
-    InputStreamContent content = new InputStreamContent(null, inputStream);
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    content.writeTo(outputStream);
-    byte[] contentBytes = outputStream.toByteArray();
-
+      VideoModel videoModel, String albumUri, InputStream inputStream, long contentLength)
+      throws IOException {
     // Headers from: https://api.smugmug.com/api/v2/doc/reference/upload.html
     Map<String, String> headersMap = new HashMap<>();
     headersMap.put("X-Smug-AlbumUri", albumUri);
     headersMap.put("X-Smug-ResponseType", "JSON");
     headersMap.put("X-Smug-Version", "v2");
-    headersMap.put("Content-Type", videoModel.getMimeType());
 
     if (!Strings.isNullOrEmpty(videoModel.getName())) {
       headersMap.put("X-Smug-Title", cleanHeader(videoModel.getName()));
@@ -184,12 +194,7 @@ public class SmugMugInterface {
 
     // Upload video
     SmugMugImageUploadResponse response =
-        postRequest(
-            "https://upload.smugmug.com/",
-            ImmutableMap.of(), // No content params for video upload
-            contentBytes,
-            headersMap,
-            new TypeReference<SmugMugImageUploadResponse>() {});
+        uploadRequest(videoModel.getMimeType(), inputStream, contentLength, headersMap);
 
     Preconditions.checkState(response.getStat().equals("ok"), "Failed to upload image");
     return Preconditions.checkNotNull(response, "Image upload Response is null");
@@ -238,12 +243,10 @@ public class SmugMugInterface {
     }
   }
 
-  // Makes a post request with the content parameters provided as the body, or the httpcontent as
-  // the body
+  // Makes a post request with the content parameters provided as the body
   private <T> T postRequest(
       String url,
       Map<String, String> contentParams,
-      @Nullable byte[] contentBytes,
       Map<String, String> smugMugHeaders,
       TypeReference<T> typeReference)
       throws IOException {
@@ -254,11 +257,6 @@ public class SmugMugInterface {
     }
     OAuthRequest request = new OAuthRequest(Verb.POST, fullUrl);
 
-    // Add payload
-    if (contentBytes != null) {
-      request.setPayload(contentBytes);
-    }
-
     // Add body params
     for (Entry<String, String> param : contentParams.entrySet()) {
       request.addBodyParameter(param.getKey(), param.getValue());
@@ -301,6 +299,51 @@ public class SmugMugInterface {
     }
   }
 
+  // Makes an upload request, streaming the body from inputStream as it is sent rather than reading
+  // it into memory first. The OAuth signature doesn't cover a raw body, so the request is signed
+  // up front. The body is sent with its Content-Length when contentLength is known, and with
+  // chunked transfer encoding otherwise. The body can only be read once, so a failed upload is not
+  // resent here; the importer retries it with a fresh stream.
+  private SmugMugImageUploadResponse uploadRequest(
+      String contentType,
+      InputStream inputStream,
+      long contentLength,
+      Map<String, String> smugMugHeaders)
+      throws IOException {
+    OAuthRequest signedRequest = new OAuthRequest(Verb.POST, UPLOAD_URL);
+    oAuthService.signRequest(accessToken, signedRequest);
+
+    InputStreamContent content = new InputStreamContent(contentType, inputStream);
+    if (contentLength > 0) {
+      content.setLength(contentLength);
+    }
+    HttpRequest request =
+        uploadRequestFactory.buildPostRequest(new GenericUrl(UPLOAD_URL), content);
+    request.getHeaders().setAuthorization(signedRequest.getHeaders().get(AUTHORIZATION_HEADER));
+    for (Entry<String, String> header : smugMugHeaders.entrySet()) {
+      request.getHeaders().set(header.getKey(), header.getValue());
+    }
+    // add accept header so the response comes back in json and not html
+    request.getHeaders().setAccept("application/json");
+    // Like the OAuth client, wait as long as SmugMug takes to process a large upload
+    request.setReadTimeout(0);
+    request.setThrowExceptionOnExecuteError(false);
+
+    HttpResponse response = request.execute();
+    try {
+      if (!response.isSuccessStatusCode()) {
+        throw new IOException(
+            String.format(
+                "Error occurred in request for %s, code: %s, message: %s",
+                UPLOAD_URL, response.getStatusCode(), response.getStatusMessage()));
+      }
+      return mapper.readValue(
+          response.getContent(), new TypeReference<SmugMugImageUploadResponse>() {});
+    } finally {
+      response.disconnect();
+    }
+  }
+
   public static String cleanName(String name) {
     // TODO:  Handle cases where the entire album name is non-alphanumeric, e.g. all emojis
     return name.chars()
@@ -17,6 +17,8 @@
 package org.datatransferproject.transfer.smugmug;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -103,12 +105,20 @@ public class SmugMugTransferExtension implements TransferExtension {
 
     ObjectMapper mapper = context.getService(TypeManager.class).getMapper();
 
-    exporter = new SmugMugPhotosExporter(appCredentials, mapper, jobStore, monitor);
+    // Shared by every SmugMugInterface so that uploads reuse the same connections
+    HttpTransport uploadTransport = new NetHttpTransport();
+
+    exporter =
+        new SmugMugPhotosExporter(appCredentials, uploadTransport, mapper, jobStore, monitor);
 
     ImmutableMap.Builder<DataVertical, Importer> importerBuilder = ImmutableMap.builder();
 
-    importerBuilder.put(PHOTOS, new SmugMugPhotosImporter(jobStore, appCredentials, mapper, monitor));
-    importerBuilder.put(MEDIA, new SmugMugMediaImporter(jobStore, appCredentials, mapper, monitor));
+    importerBuilder.put(
+        PHOTOS,
+        new SmugMugPhotosImporter(jobStore, appCredentials, uploadTransport, mapper, monitor));
+    importerBuilder.put(
+        MEDIA,
+        new SmugMugMediaImporter(jobStore, appCredentials, uploadTransport, mapper, monitor));
     importerMap = importerBuilder.build();
 
     initialized = true;
@@ -19,6 +19,7 @@ package org.datatransferproject.transfer.smugmug.media;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.http.HttpTransport;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import java.io.IOException;
@@ -26,6 +27,7 @@ import java.io.InputStream;
 import java.util.UUID;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
@@ -51,13 +53,22 @@ public class SmugMugMediaImporter
   private final Monitor monitor;
   private final SmugMugTransmogrificationConfig transmogrificationConfig;
   private final SmugMugInterface smugMugInterface;
+  private final HttpTransport uploadTransport;
 
   public SmugMugMediaImporter(
       TemporaryPerJobDataStore jobStore,
       AppCredentials appCredentials,
+      HttpTransport uploadTransport,
       ObjectMapper mapper,
       Monitor monitor) {
-    this(null, new SmugMugTransmogrificationConfig(), jobStore, appCredentials, mapper, monitor);
+    this(
+        null,
+        new SmugMugTransmogrificationConfig(),
+        jobStore,
+        appCredentials,
+        uploadTransport,
+        mapper,
+        monitor);
   }
 
   @VisibleForTesting
@@ -68,7 +79,26 @@ public class SmugMugMediaImporter
       AppCredentials appCredentials,
       ObjectMapper mapper,
       Monitor monitor) {
+    this(
+        smugMugInterface,
+        transmogrificationConfig,
+        jobStore,
+        appCredentials,
+        null,
+        mapper,
+        monitor);
+  }
+
+  private SmugMugMediaImporter(
+      SmugMugInterface smugMugInterface,
+      SmugMugTransmogrificationConfig transmogrificationConfig,
+      TemporaryPerJobDataStore jobStore,
+      AppCredentials appCredentials,
+      HttpTransport uploadTransport,
+      ObjectMapper mapper,
+      Monitor monitor) {
     this.smugMugInterface = smugMugInterface;
+    this.uploadTransport = uploadTransport;
     this.transmogrificationConfig = transmogrificationConfig;
     this.jobStore = jobStore;
     this.appCredentials = appCredentials;
@@ -141,8 +171,11 @@ public class SmugMugMediaImporter
       SmugMugInterface smugMugInterface)
       throws Exception {
     InputStream inputStream;
+    long contentLength = 0;
     if (inputPhoto.isInTempStore()) {
-      inputStream = jobStore.getStream(jobId, inputPhoto.getFetchableUrl()).getStream();
+      InputStreamWrapper content = jobStore.getStream(jobId, inputPhoto.getFetchableUrl());
+      inputStream = content.getStream();
+      contentLength = content.getBytes();
     } else {
       inputStream = smugMugInterface.getImageAsStream(inputPhoto.getFetchableUrl());
     }
@@ -152,7 +185,8 @@ public class SmugMugMediaImporter
         getDestinationAlbumTempData(jobId, idempotentExecutor, originalAlbumId, smugMugInterface);
 
     SmugMugImageUploadResponse response =
-        smugMugInterface.uploadImage(inputPhoto, albumTempData.getAlbumUri(), inputStream);
+        smugMugInterface.uploadImage(
+            inputPhoto, albumTempData.getAlbumUri(), inputStream, contentLength);
     albumTempData.incrementPhotoCount();
     jobStore.update(jobId, getTempDataId(albumTempData.getAlbumExportId()), albumTempData);
 
@@ -167,8 +201,11 @@ public class SmugMugMediaImporter
       SmugMugInterface smugMugInterface)
       throws Exception {
     InputStream inputStream;
+    long contentLength = 0;
     if (inputVideo.isInTempStore()) {
-      inputStream = jobStore.getStream(jobId, inputVideo.getFetchableUrl()).getStream();
+      InputStreamWrapper content = jobStore.getStream(jobId, inputVideo.getFetchableUrl());
+      inputStream = content.getStream();
+      contentLength = content.getBytes();
     } else {
       inputStream = smugMugInterface.getImageAsStream(inputVideo.getFetchableUrl());
     }
@@ -178,7 +215,8 @@ public class SmugMugMediaImporter
         getDestinationAlbumTempData(jobId, idempotentExecutor, originalAlbumId, smugMugInterface);
 
     SmugMugImageUploadResponse response =
-        smugMugInterface.uploadVideo(inputVideo, albumTempData.getAlbumUri(), inputStream);
+        smugMugInterface.uploadVideo(
+            inputVideo, albumTempData.getAlbumUri(), inputStream, contentLength);
 
     albumTempData.incrementPhotoCount();
     jobStore.update(jobId, getTempDataId(albumTempData.getAlbumExportId()), albumTempData);
@@ -190,7 +228,7 @@ public class SmugMugMediaImporter
   private SmugMugInterface getOrCreateSmugMugInterface(TokenSecretAuthData authData)
       throws IOException {
     return smugMugInterface == null
-        ? new SmugMugInterface(appCredentials, authData, mapper)
+        ? new SmugMugInterface(appCredentials, authData, uploadTransport, mapper)
         : smugMugInterface;
   }
 
@@ -17,6 +17,7 @@
 package org.datatransferproject.transfer.smugmug.photos;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.http.HttpTransport;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
@@ -58,15 +59,17 @@ public class SmugMugPhotosExporter
   private final ObjectMapper mapper;
   private final TemporaryPerJobDataStore jobStore;
   private final Monitor monitor;
+  private final HttpTransport uploadTransport;
 
   private SmugMugInterface smugMugInterface;
 
   public SmugMugPhotosExporter(
       AppCredentials appCredentials,
+      HttpTransport uploadTransport,
       ObjectMapper mapper,
       TemporaryPerJobDataStore jobStore,
       Monitor monitor) {
-    this(null, appCredentials, mapper, jobStore, monitor);
+    this(null, appCredentials, uploadTransport, mapper, jobStore, monitor);
   }
 
   @VisibleForTesting
@@ -76,7 +79,18 @@ public class SmugMugPhotosExporter
       ObjectMapper mapper,
       TemporaryPerJobDataStore jobStore,
       Monitor monitor) {
+    this(smugMugInterface, appCredentials, null, mapper, jobStore, monitor);
+  }
+
+  private SmugMugPhotosExporter(
+      SmugMugInterface smugMugInterface,
+      AppCredentials appCredentials,
+      HttpTransport uploadTransport,
+      ObjectMapper mapper,
+      TemporaryPerJobDataStore jobStore,
+      Monitor monitor) {
     this.appCredentials = appCredentials;
+    this.uploadTransport = uploadTransport;
     this.smugMugInterface = smugMugInterface;
     this.mapper = mapper;
     this.jobStore = jobStore;
@@ -244,7 +258,7 @@ public class SmugMugPhotosExporter
   private SmugMugInterface getOrCreateSmugMugInterface(TokenSecretAuthData authData)
       throws IOException {
     return smugMugInterface == null
-        ? new SmugMugInterface(appCredentials, authData, mapper)
+        ? new SmugMugInterface(appCredentials, authData, uploadTransport, mapper)
         : smugMugInterface;
   }
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.transfer.smugmug;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scribejava.core.model.OAuth1AccessToken;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.oauth.OAuth10aService;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.datatransferproject.transfer.smugmug.photos.model.SmugMugUser;
+import org.datatransferproject.types.common.models.photos.PhotoModel;
+import org.datatransferproject.types.common.models.videos.VideoModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SmugMugInterfaceUploadTest {
+
+  private static final byte[] PHOTO = "photo bytes".getBytes(UTF_8);
+  private static final String ALBUM_URI = "/api/v2/album/abc123";
+
+  private FakeUploadServer server;
+  private SmugMugInterface smugMugInterface;
+
+  @BeforeEach
+  public void setUp() {
+    OAuth10aService oAuthService = mock(OAuth10aService.class);
+    doAnswer(
+            invocation -> {
+              OAuthRequest request = invocation.getArgument(1);
+              request.addHeader("Authorization", "OAuth signed");
+              return null;
+            })
+        .when(oAuthService)
+        .signRequest(any(OAuth1AccessToken.class), any(OAuthRequest.class));
+    server = new FakeUploadServer();
+    smugMugInterface =
+        new SmugMugInterface(
+            oAuthService,
+            new OAuth1AccessToken("token", "secret"),
+            new SmugMugUser(),
+            server,
+            new ObjectMapper());
+  }
+
+  @Test
+  public void uploadImage_sendsContentLengthWhenKnown() throws Exception {
+    PhotoModel photo =
+        new PhotoModel(
+            "title", "fetchableUrl", "line one\nline two", "image/jpeg", "photoId", null, false);
+
+    smugMugInterface.uploadImage(photo, ALBUM_URI, new ByteArrayInputStream(PHOTO), PHOTO.length);
+
+    assertThat(server.request.getUrl()).isEqualTo("https://upload.smugmug.com/");
+    assertThat(server.request.getContentLength()).isEqualTo(PHOTO.length);
+    assertThat(server.request.getContentType()).isEqualTo("image/jpeg");
+    assertThat(server.request.getFirstHeaderValue("Authorization")).isEqualTo("OAuth signed");
+    assertThat(server.request.getFirstHeaderValue("Accept")).isEqualTo("application/json");
+    assertThat(server.request.getFirstHeaderValue("X-Smug-AlbumUri")).isEqualTo(ALBUM_URI);
+    assertThat(server.request.getFirstHeaderValue("X-Smug-ResponseType")).isEqualTo("JSON");
+    assertThat(server.request.getFirstHeaderValue("X-Smug-Version")).isEqualTo("v2");
+    assertThat(server.request.getFirstHeaderValue("X-Smug-Title")).isEqualTo("title");
+    assertThat(server.request.getFirstHeaderValue("X-Smug-Caption"))
+        .isEqualTo("line one%0Aline two");
+    assertThat(server.body).isEqualTo(PHOTO);
+  }
+
+  @Test
+  public void uploadVideo_leavesContentLengthUnsetWhenUnknown() throws Exception {
+    VideoModel video =
+        new VideoModel(
+            "name", "contentUrl", "description", "video/mp4", "videoId", null, false, null);
+
+    smugMugInterface.uploadVideo(video, ALBUM_URI, new ByteArrayInputStream(PHOTO), 0);
+
+    // An unknown length makes the transport send the body with chunked transfer encoding
+    assertThat(server.request.getContentLength()).isEqualTo(-1);
+    assertThat(server.request.getContentType()).isEqualTo("video/mp4");
+    assertThat(server.request.getFirstHeaderValue("X-Smug-Title")).isEqualTo("name");
+    assertThat(server.body).isEqualTo(PHOTO);
+  }
+
+  /** Stands in for the upload endpoint, keeping the last request and the body it sent. */
+  private static class FakeUploadServer extends MockHttpTransport {
+    MockLowLevelHttpRequest request;
+    byte[] body;
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, String url) {
+      request =
+          new MockLowLevelHttpRequest(url) {
+            @Override
+            public LowLevelHttpResponse execute() throws IOException {
+              ByteArrayOutputStream content = new ByteArrayOutputStream();
+              getStreamingContent().writeTo(content);
+              body = content.toByteArray();
+              return new MockLowLevelHttpResponse()
+                  .setContentType("application/json")
+                  .setContent("{\"stat\": \"ok\", \"method\": \"smugmug.upload\"}");
+            }
+          };
+      return request;
+    }
+  }
+}
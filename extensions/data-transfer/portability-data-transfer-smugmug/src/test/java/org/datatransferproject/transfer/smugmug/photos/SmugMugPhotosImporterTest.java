@@ -19,6 +19,7 @@ package org.datatransferproject.transfer.smugmug.photos;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -144,7 +145,8 @@ public class SmugMugPhotosImporterTest {
             "imageUri",
             "albumImageUri",
             new ImageInfo("imageUri", "albumImageUri", "statusImageReplaceUri", "url"));
-    when(smugMugInterface.uploadImage(any(), any(), any())).thenReturn(smugMugUploadImageResponse);
+    when(smugMugInterface.uploadImage(any(), any(), any(), anyLong()))
+        .thenReturn(smugMugUploadImageResponse);
     when(smugMugInterface.getImageAsStream(any())).thenReturn(bufferedInputStream);
 
     // Run test
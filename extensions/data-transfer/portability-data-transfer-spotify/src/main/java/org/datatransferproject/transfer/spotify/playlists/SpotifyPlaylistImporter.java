@@ -18,6 +18,12 @@ package org.datatransferproject.transfer.spotify.playlists;
 
 
 import com.google.common.base.Strings;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.wrapper.spotify.SpotifyApi;
 import com.wrapper.spotify.exceptions.SpotifyWebApiException;
 import com.wrapper.spotify.model_objects.specification.Paging;
@@ -25,6 +31,7 @@ import com.wrapper.spotify.model_objects.specification.Track;
 import com.wrapper.spotify.model_objects.specification.User;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
+import org.datatransferproject.spi.transfer.idempotentexecutor.ItemImportResult;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.types.common.models.playlists.MusicPlaylist;
@@ -33,21 +40,57 @@ import org.datatransferproject.types.common.models.playlists.PlaylistContainerRe
 import org.datatransferproject.types.transfer.auth.TokensAndUrlAuthData;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-
-import static com.google.common.base.Preconditions.checkArgument;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Imports playlists into Spotify.
  **/
 public class SpotifyPlaylistImporter
     implements Importer<TokensAndUrlAuthData, PlaylistContainerResource> {
+  // The most tracks the API accepts in a single add-to-playlist request.
+  private static final int MAX_TRACKS_PER_REQUEST = 100;
+  private static final int MAX_CONCURRENT_SEARCHES = 4;
+  private static final double MAX_REQUESTS_PER_SECOND = 5.0;
+  private static final long SEARCH_CACHE_EXPIRATION_HOURS = 1;
+
   private final Monitor monitor;
   private final SpotifyApi spotifyApi;
+  private final ExecutorService searchExecutor;
+  private final RateLimiter requestRateLimiter;
+  // URIs of the tracks found for each job, keyed by search query, so that tracks appearing in
+  // several playlists are only searched for once.
+  private final LoadingCache<UUID, Map<String, String>> trackUrisByJob;
 
   public SpotifyPlaylistImporter(Monitor monitor, SpotifyApi spotifyApi) {
     this.monitor = monitor;
     this.spotifyApi = spotifyApi;
+    this.searchExecutor =
+        Executors.newFixedThreadPool(
+            MAX_CONCURRENT_SEARCHES,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("spotify-track-search-%d")
+                .build());
+    this.requestRateLimiter = RateLimiter.create(MAX_REQUESTS_PER_SECOND);
+    this.trackUrisByJob =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(SEARCH_CACHE_EXPIRATION_HOURS, TimeUnit.HOURS)
+            .build(
+                new CacheLoader<UUID, Map<String, String>>() {
+                  @Override
+                  public Map<String, String> load(UUID jobId) {
+                    return new ConcurrentHashMap<>();
+                  }
+                });
   }
 
   @Override
@@ -61,12 +104,14 @@ public class SpotifyPlaylistImporter
 
     User user = spotifyApi.getCurrentUsersProfile().build().execute();
     for (MusicPlaylist playlist : data.getLists()) {
-      createPlaylist(idempotentExecutor, playlist, user.getId());
+      createPlaylist(jobId, idempotentExecutor, playlist, user.getId());
     }
     return ImportResult.OK;
   }
 
-  private void createPlaylist(IdempotentImportExecutor idempotentExecutor,
+  private void createPlaylist(
+      UUID jobId,
+      IdempotentImportExecutor idempotentExecutor,
       MusicPlaylist playlist,
       String userId)
       throws Exception, SpotifyWebApiException {
@@ -82,46 +127,109 @@ public class SpotifyPlaylistImporter
             .execute()
             .getId());
     if (playlistId != null) {
-      for (MusicRecording track : playlist.getTrack()) {
-        addTrack(idempotentExecutor, playlistId, playlist.getHeadline(), track);
-      }
+      idempotentExecutor.executeBatchAndSwallowIOExceptions(
+          playlist.getTrack(),
+          track -> playlistId + "-" + track.hashCode(),
+          track -> playlist.getHeadline() + " - " + track.getHeadline(),
+          tracks -> addTracks(trackUrisByJob.getUnchecked(jobId), playlistId, tracks));
     }
   }
 
-  private void addTrack(
-      IdempotentImportExecutor idempotentExecutor,
-      String playlistId,
-      String playlistName,
-      MusicRecording track)
-      throws Exception {
-    idempotentExecutor.executeAndSwallowIOExceptions(
-        playlistId + "-" + track.hashCode(),
-        playlistName + " - " + track.getHeadline(),
-        () -> {
-          Track spotifyTrack = searchForSong(track);
-          spotifyApi
-              .addTracksToPlaylist(playlistId, new String[] {spotifyTrack.getUri()})
-              .position(0)
-              .build()
-              .execute();
-          return null;
+  /**
+   * Searches for all of the given tracks concurrently, then appends the ones found to the playlist,
+   * in order, {@link #MAX_TRACKS_PER_REQUEST} at a time.
+   *
+   * @return the URI of each track added, or the error finding or adding it, in order
+   */
+  private List<ItemImportResult<String>> addTracks(
+      Map<String, String> trackUris, String playlistId, List<MusicRecording> tracks)
+      throws InterruptedException {
+    List<Future<String>> searches = new ArrayList<>(tracks.size());
+    for (MusicRecording track : tracks) {
+      searches.add(searchExecutor.submit(() -> findTrackUri(trackUris, track)));
+    }
+
+    List<ItemImportResult<String>> results = new ArrayList<>(tracks.size());
+    // Indices of the tracks that were found, in playlist order
+    List<Integer> found = new ArrayList<>(tracks.size());
+    try {
+      for (Future<String> search : searches) {
+        try {
+          results.add(ItemImportResult.success(search.get()));
+          found.add(results.size() - 1);
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          results.add(ItemImportResult.error((Exception) cause, null));
+        }
+      }
+    } finally {
+      for (Future<String> search : searches) {
+        search.cancel(true);
+      }
+    }
+
+    for (List<Integer> chunk : Lists.partition(found, MAX_TRACKS_PER_REQUEST)) {
+      String[] uris = chunk.stream().map(i -> results.get(i).getData()).toArray(String[]::new);
+      try {
+        requestRateLimiter.acquire();
+        // Without a position the tracks are appended, which keeps them in the original order
+        spotifyApi.addTracksToPlaylist(playlistId, uris).build().execute();
+      } catch (IOException | SpotifyWebApiException e) {
+        monitor.info(() -> "Couldn't add " + uris.length + " tracks to playlist " + playlistId, e);
+        for (int i : chunk) {
+          results.set(i, ItemImportResult.error(e, null));
         }
-    );
+      }
+    }
+    return results;
+  }
+
+  private String findTrackUri(Map<String, String> trackUris, MusicRecording track)
+      throws IOException, SpotifyWebApiException {
+    String query = searchQuery(track);
+    String uri = trackUris.get(query);
+    if (uri == null) {
+      uri = searchForSong(track, query).getUri();
+      trackUris.put(query, uri);
+    }
+    return uri;
+  }
+
+  /**
+   * Searches by ISRC when the track has one, which identifies the recording exactly, and otherwise
+   * by title and artist.
+   */
+  private static String searchQuery(MusicRecording track) throws IOException {
+    if (!Strings.isNullOrEmpty(track.getIsrcCode())) {
+      return "isrc:" + track.getIsrcCode();
+    }
+    if (Strings.isNullOrEmpty(track.getHeadline())) {
+      throw new IOException("No ISRC code or title present for: " + track);
+    }
+    StringBuilder query = new StringBuilder("track:").append(quote(track.getHeadline()));
+    if (track.getByArtist() != null && !Strings.isNullOrEmpty(track.getByArtist().getHeadline())) {
+      query.append(" artist:").append(quote(track.getByArtist().getHeadline()));
+    }
+    return query.toString();
+  }
+
+  private static String quote(String value) {
+    return '"' + value.replace("\"", "") + '"';
   }
 
-  private Track searchForSong(MusicRecording track)
+  private Track searchForSong(MusicRecording track, String query)
       throws IOException, SpotifyWebApiException {
-    // TODO: right now this depends on an ISRC being present, we should add fallback
-    // logic.
-    checkArgument(!Strings.isNullOrEmpty(track.getIsrcCode()), "No ISRC code present for: "
-        + track.getHeadline());
+    requestRateLimiter.acquire();
     Paging<Track> searchResponse = spotifyApi
-        .searchTracks("isrc:" + track.getIsrcCode())
+        .searchTracks(query)
         .build()
         .execute();
     if (searchResponse.getItems().length == 0) {
       throw new IOException("Couldn't find track: " + track.getHeadline()
-          + " with code: " + track.getIsrcCode());
+          + " with query: " + query);
     }
     return searchResponse.getItems()[0];
   }
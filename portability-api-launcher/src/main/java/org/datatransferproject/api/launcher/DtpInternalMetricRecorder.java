@@ -66,6 +66,26 @@ public interface DtpInternalMetricRecorder {
   /** An attempt to import a page of data finished including all retires. **/
   void importPageFinished(DataVertical dataType, String service, boolean success, Duration duration);
 
+  // Per-item metrics. These default to doing nothing so existing recorders keep working, and
+  // dataType and service are null when the caller doesn't know them.
+
+  /** A single item finished importing, including all retries. **/
+  default void importItemFinished(
+      DataVertical dataType, String service, boolean success, Duration duration) {}
+
+  /** The content of a single item was read, eg: downloaded from the export service. **/
+  default void itemBytesRead(DataVertical dataType, String service, long bytes, Duration duration) {}
+
+  /** An attempt of a retried call failed, {@code attempt} counts from 1. **/
+  default void retryAttemptFailed(
+      DataVertical dataType, String service, int attempt, Duration duration) {}
+
+  /**
+   * The number of operations of a kind that are in flight changed by {@code delta}, eg: +1 when
+   * a download starts and -1 when it ends.
+   **/
+  default void inFlightChanged(String operation, int delta) {}
+
   // Metrics from {@link MetricRecorder}
   void recordGenericMetric(DataVertical dataType, String service, String tag);
   void recordGenericMetric(DataVertical dataType, String service, String tag, boolean bool);
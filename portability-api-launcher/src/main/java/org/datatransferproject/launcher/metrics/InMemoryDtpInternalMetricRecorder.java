@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.launcher.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
+import org.datatransferproject.api.launcher.ExtensionContext;
+import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.types.common.models.DataVertical;
+
+/**
+ * A {@link DtpInternalMetricRecorder} that forwards every metric to another recorder and also
+ * keeps running totals in memory: throughput, latency histograms and the peak number of
+ * operations in flight. The totals are reset when a job starts and logged as a summary when it
+ * finishes or is cancelled, so operators can see which phase of a job is the bottleneck without a
+ * metrics backend.
+ *
+ * <p>Recording only updates counters and lock-free histograms, so it is cheap enough to call for
+ * every item.
+ */
+public class InMemoryDtpInternalMetricRecorder implements DtpInternalMetricRecorder {
+  private final DtpInternalMetricRecorder delegate;
+  private final Monitor monitor;
+  private final Clock clock;
+  private volatile JobMetrics metrics;
+
+  /**
+   * Wraps the {@link DtpInternalMetricRecorder} registered in the {@link ExtensionContext} so that
+   * it keeps a per-job summary, unless it already does.
+   */
+  public static void registerSummarizingRecorder(ExtensionContext context) {
+    DtpInternalMetricRecorder recorder = context.getService(DtpInternalMetricRecorder.class);
+    if (recorder != null && !(recorder instanceof InMemoryDtpInternalMetricRecorder)) {
+      context.registerService(
+          DtpInternalMetricRecorder.class,
+          new InMemoryDtpInternalMetricRecorder(recorder, context.getMonitor(), Clock.systemUTC()));
+    }
+  }
+
+  public InMemoryDtpInternalMetricRecorder(
+      DtpInternalMetricRecorder delegate, Monitor monitor, Clock clock) {
+    this.delegate = checkNotNull(delegate, "delegate can't be null");
+    this.monitor = monitor;
+    this.clock = clock;
+    this.metrics = new JobMetrics(clock.instant());
+  }
+
+  /** Returns a human readable summary of the metrics recorded since the job started. */
+  public String getSummary() {
+    return metrics.summarize(clock.instant());
+  }
+
+  @Override
+  public void startedJob(DataVertical dataType, String exportService, String importService) {
+    metrics = new JobMetrics(clock.instant());
+    delegate.startedJob(dataType, exportService, importService);
+  }
+
+  @Override
+  public void finishedJob(
+      DataVertical dataType,
+      String exportService,
+      String importService,
+      boolean success,
+      Duration duration) {
+    delegate.finishedJob(dataType, exportService, importService, success, duration);
+    String summary = getSummary();
+    monitor.info(
+        () -> format("Metrics for %s job from %s to %s: %s",
+            dataType, exportService, importService, summary));
+  }
+
+  @Override
+  public void cancelledJob(
+      DataVertical dataType, String exportService, String importService, Duration duration) {
+    delegate.cancelledJob(dataType, exportService, importService, duration);
+    String summary = getSummary();
+    monitor.info(
+        () -> format("Metrics for cancelled %s job from %s to %s: %s",
+            dataType, exportService, importService, summary));
+  }
+
+  @Override
+  public void exportPageAttemptFinished(
+      DataVertical dataType, String service, boolean success, Duration duration) {
+    delegate.exportPageAttemptFinished(dataType, service, success, duration);
+  }
+
+  @Override
+  public void exportPageFinished(
+      DataVertical dataType, String service, boolean success, Duration duration) {
+    metrics.exportPages.record(success, duration);
+    delegate.exportPageFinished(dataType, service, success, duration);
+  }
+
+  @Override
+  public void importPageAttemptFinished(
+      DataVertical dataType, String service, boolean success, Duration duration) {
+    delegate.importPageAttemptFinished(dataType, service, success, duration);
+  }
+
+  @Override
+  public void importPageFinished(
+      DataVertical dataType, String service, boolean success, Duration duration) {
+    metrics.importPages.record(success, duration);
+    delegate.importPageFinished(dataType, service, success, duration);
+  }
+
+  @Override
+  public void importItemFinished(
+      DataVertical dataType, String service, boolean success, Duration duration) {
+    metrics.importItems.record(success, duration);
+    delegate.importItemFinished(dataType, service, success, duration);
+  }
+
+  @Override
+  public void itemBytesRead(DataVertical dataType, String service, long bytes, Duration duration) {
+    metrics.itemReads.record(true, duration);
+    metrics.bytesRead.add(bytes);
+    delegate.itemBytesRead(dataType, service, bytes, duration);
+  }
+
+  @Override
+  public void retryAttemptFailed(
+      DataVertical dataType, String service, int attempt, Duration duration) {
+    metrics.failedAttempts.increment();
+    delegate.retryAttemptFailed(dataType, service, attempt, duration);
+  }
+
+  @Override
+  public void inFlightChanged(String operation, int delta) {
+    metrics.inFlight.computeIfAbsent(operation, op -> new Gauge()).add(delta);
+    delegate.inFlightChanged(operation, delta);
+  }
+
+  @Override
+  public void recordGenericMetric(DataVertical dataType, String service, String tag) {
+    delegate.recordGenericMetric(dataType, service, tag);
+  }
+
+  @Override
+  public void recordGenericMetric(DataVertical dataType, String service, String tag, boolean bool) {
+    delegate.recordGenericMetric(dataType, service, tag, bool);
+  }
+
+  @Override
+  public void recordGenericMetric(
+      DataVertical dataType, String service, String tag, Duration duration) {
+    delegate.recordGenericMetric(dataType, service, tag, duration);
+  }
+
+  @Override
+  public void recordGenericMetric(DataVertical dataType, String service, String tag, int value) {
+    delegate.recordGenericMetric(dataType, service, tag, value);
+  }
+
+  /** Everything recorded for one job. */
+  private static class JobMetrics {
+    private final Instant started;
+    private final Operation exportPages = new Operation();
+    private final Operation importPages = new Operation();
+    private final Operation importItems = new Operation();
+    private final Operation itemReads = new Operation();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final Map<String, Gauge> inFlight = new ConcurrentHashMap<>();
+
+    JobMetrics(Instant started) {
+      this.started = started;
+    }
+
+    String summarize(Instant now) {
+      Duration elapsed = Duration.between(started, now);
+      double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+      long bytes = bytesRead.sum();
+      StringBuilder summary = new StringBuilder();
+      summary.append(format("elapsed %s", elapsed));
+      summary.append(format("; export pages %s", exportPages.summarize(seconds)));
+      summary.append(format("; import pages %s", importPages.summarize(seconds)));
+      summary.append(format("; items imported %s", importItems.summarize(seconds)));
+      summary.append(format("; item reads %s, %d bytes (%.1f bytes/s)",
+          itemReads.summarize(seconds), bytes, bytes / seconds));
+      summary.append(format("; failed attempts %d", failedAttempts.sum()));
+      Map<String, Long> peaks = new TreeMap<>();
+      inFlight.forEach((operation, gauge) -> peaks.put(operation, gauge.getPeak()));
+      summary.append(format("; peak in flight %s", peaks));
+      return summary.toString();
+    }
+  }
+
+  /** Counts and latencies of one kind of operation. */
+  private static class Operation {
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    void record(boolean success, Duration duration) {
+      (success ? succeeded : failed).increment();
+      latency.record(duration);
+    }
+
+    String summarize(double seconds) {
+      long total = latency.getCount();
+      if (total == 0) {
+        return "none";
+      }
+      return format("%d (%d failed, %.2f/s), latency p50 %s p90 %s p99 %s max %s",
+          total,
+          failed.sum(),
+          total / seconds,
+          latency.getPercentile(50),
+          latency.getPercentile(90),
+          latency.getPercentile(99),
+          latency.getMax());
+    }
+  }
+
+  /** The number of operations in flight and the most there have been at once. */
+  private static class Gauge {
+    private final AtomicLong current = new AtomicLong();
+    private final AtomicLong peak = new AtomicLong();
+
+    void add(int delta) {
+      long value = current.addAndGet(delta);
+      peak.accumulateAndGet(value, Math::max);
+    }
+
+    long getPeak() {
+      return peak.get();
+    }
+  }
+}
@@ -134,6 +134,36 @@ public class LoggingDtpInternalMetricRecorder implements DtpInternalMetricRecord
                 dataType, exportService, importService, duration));
   }
 
+  @Override
+  public void importItemFinished(
+      DataVertical dataType, String service, boolean success, Duration duration) {
+    monitor.debug(
+        () ->
+            format(
+                "Metric: importItemFinished, data type: %s, service: %s, success: %s, duration: %s",
+                dataType, service, success, duration));
+  }
+
+  @Override
+  public void itemBytesRead(DataVertical dataType, String service, long bytes, Duration duration) {
+    monitor.debug(
+        () ->
+            format(
+                "Metric: itemBytesRead, data type: %s, service: %s, bytes: %d, duration: %s",
+                dataType, service, bytes, duration));
+  }
+
+  @Override
+  public void retryAttemptFailed(
+      DataVertical dataType, String service, int attempt, Duration duration) {
+    monitor.debug(
+        () ->
+            format(
+                "Metric: retryAttemptFailed, data type: %s, service: %s, attempt: %d, "
+                    + "duration: %s",
+                dataType, service, attempt, duration));
+  }
+
   @Override
   public void recordGenericMetric(DataVertical dataType, String service, String tag) {
     monitor.debug(
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.launcher.monitor;
+
+import static java.lang.String.format;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.launcher.monitor.ConsoleMonitor.Level;
+
+/**
+ * Outputs monitor events to the console like {@link ConsoleMonitor}, but from a background thread
+ * so that logging threads don't contend on standard error or wait on a slow reader of it.
+ *
+ * <p>Events are put on a lock-free {@link RingBuffer} and written out in batches, one write per
+ * batch. Messages are evaluated on the calling thread, since suppliers may read state that changes
+ * after the call, but only for levels that are enabled and debug events that are sampled; the
+ * formatting and writing happen in the background.
+ *
+ * <p>When the buffer is full, info and debug events are dropped and a count of them is written
+ * with the next batch. Severe events are never dropped: the caller writes out the backlog and the
+ * event itself instead.
+ */
+public class AsyncConsoleMonitor implements Monitor {
+  static final int DEFAULT_CAPACITY = 8192;
+  private static final int MAX_BATCH_SIZE = 512;
+  private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final ConsoleMonitor console;
+  private final PrintStream out;
+  private final RingBuffer<Event> buffer;
+  private final int debugSampleRate;
+  private final AtomicLong debugEvents = new AtomicLong();
+  private final AtomicLong droppedEvents = new AtomicLong();
+  // Serializes readers of the buffer, writers never take it
+  private final Object drainLock = new Object();
+  @VisibleForTesting final Thread shutdownHook;
+
+  /** Constructs a logger that drops all logs at a level below {@code minLevel}. */
+  public AsyncConsoleMonitor(Level minLevel) {
+    this(minLevel, DEFAULT_CAPACITY, 1);
+  }
+
+  /**
+   * @param minLevel events below this level are dropped without evaluating their message
+   * @param capacity number of events buffered before info and debug events are dropped
+   * @param debugSampleRate writes one in every {@code debugSampleRate} debug events, 1 writes all
+   */
+  public AsyncConsoleMonitor(Level minLevel, int capacity, int debugSampleRate) {
+    this(minLevel, capacity, debugSampleRate, System.err, true);
+  }
+
+  /**
+   * @param out where events are written
+   * @param startWriter whether to write from a background thread, otherwise events are only
+   *     written by {@link #flushLogs()}, the shutdown hook and severe events
+   */
+  @VisibleForTesting
+  AsyncConsoleMonitor(
+      Level minLevel, int capacity, int debugSampleRate, PrintStream out, boolean startWriter) {
+    if (debugSampleRate < 1) {
+      throw new IllegalArgumentException("Invalid debug sample rate: " + debugSampleRate);
+    }
+    this.console = new ConsoleMonitor(minLevel);
+    this.out = out;
+    this.buffer = new RingBuffer<>(capacity);
+    this.debugSampleRate = debugSampleRate;
+
+    if (startWriter) {
+      Thread writer = new Thread(this::writeLoop, "async-console-monitor");
+      writer.setDaemon(true);
+      writer.start();
+    }
+    shutdownHook = new Thread(this::flushLogs, "async-console-monitor-shutdown");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+  }
+
+  @Override
+  public void severe(Supplier<String> supplier, Object... data) {
+    Event event = new Event(Level.SEVERE, supplier.get(), data);
+    if (!buffer.offer(event)) {
+      synchronized (drainLock) {
+        drain();
+        write(List.of(event));
+      }
+    }
+  }
+
+  @Override
+  public void info(Supplier<String> supplier, Object... data) {
+    if (!console.isEnabled(Level.INFO)) {
+      return;
+    }
+    offer(new Event(Level.INFO, supplier.get(), data));
+  }
+
+  @Override
+  public void debug(Supplier<String> supplier, Object... data) {
+    if (!console.isEnabled(Level.DEBUG)) {
+      return;
+    }
+    if (debugSampleRate > 1 && debugEvents.getAndIncrement() % debugSampleRate != 0) {
+      return;
+    }
+    offer(new Event(Level.DEBUG, supplier.get(), data));
+  }
+
+  /** Writes out all buffered events before returning. */
+  @Override
+  public void flushLogs() {
+    drain();
+  }
+
+  private void offer(Event event) {
+    if (!buffer.offer(event)) {
+      droppedEvents.incrementAndGet();
+    }
+  }
+
+  private void writeLoop() {
+    while (true) {
+      if (drain() == 0) {
+        LockSupport.parkNanos(IDLE_WAIT_NANOS);
+      }
+    }
+  }
+
+  /** Writes out buffered events in batches, returning how many were written. */
+  private int drain() {
+    synchronized (drainLock) {
+      List<Event> batch = new ArrayList<>(MAX_BATCH_SIZE);
+      int written = 0;
+      while (buffer.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+        write(batch);
+        written += batch.size();
+        batch.clear();
+      }
+      long dropped = droppedEvents.getAndSet(0);
+      if (dropped > 0) {
+        write(List.of(new Event(Level.INFO,
+            format("Dropped %d log events as the console couldn't keep up", dropped))));
+      }
+      return written;
+    }
+  }
+
+  private void write(List<Event> batch) {
+    StringBuilder builder = new StringBuilder();
+    for (Event event : batch) {
+      try {
+        builder.append(console.format(event.level,
+            event.time.atZone(ZoneId.systemDefault()), event.message, event.data));
+      } catch (RuntimeException e) {
+        // Eg: a data item's toString() threw, which mustn't stop the writer thread
+        builder.append(format("%s %s (couldn't format log event: %s)",
+            event.level.name(), event.message, e));
+      }
+      builder.append(System.lineSeparator());
+    }
+    out.print(builder);
+    out.flush();
+  }
+
+  private static class Event {
+    private final Level level;
+    private final Instant time = Instant.now();
+    private final String message;
+    private final Object[] data;
+
+    Event(Level level, String message, Object... data) {
+      this.level = level;
+      this.message = message;
+      this.data = data;
+    }
+  }
+}
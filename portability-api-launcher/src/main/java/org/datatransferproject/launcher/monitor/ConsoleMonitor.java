@@ -61,39 +61,52 @@ public class ConsoleMonitor implements Monitor {
   }
 
   public void severe(Supplier<String> supplier, Object... data) {
-    output("SEVERE", supplier, ANSI_RED, data);
+    output(Level.SEVERE, supplier, data);
   }
 
   public void info(Supplier<String> supplier, Object... data) {
-    if (Level.INFO.value < minLevel.value) {
+    if (!isEnabled(Level.INFO)) {
       return;
     }
-    output("INFO", supplier, ANSI_BLUE, data);
+    output(Level.INFO, supplier, data);
   }
 
   public void debug(Supplier<String> supplier, Object... data) {
-    if (Level.DEBUG.value < minLevel.value) {
+    if (!isEnabled(Level.DEBUG)) {
       return;
     }
-    output("DEBUG", supplier, ANSI_BLACK, data);
+    output(Level.DEBUG, supplier, data);
   }
 
-  private void output(String level, Supplier<String> supplier, String color, Object... data) {
+  /** Whether events at {@code level} are written rather than dropped. */
+  boolean isEnabled(Level level) {
+    return level.value >= minLevel.value;
+  }
+
+  private void output(Level level, Supplier<String> supplier, Object... data) {
+    // Write to standard error, as these are debug logs for which any buffering
+    // won't help us at all.
+    System.err.println(format(level, ZonedDateTime.now(ZoneId.systemDefault()), supplier.get(),
+        data));
+  }
+
+  /** Formats an event the way it is written to the console, without a trailing newline. */
+  String format(Level level, ZonedDateTime time, String message, Object... data) {
     StringBuilder builder = new StringBuilder();
     if (useAnsiColor) {
-      builder.append(color);
+      builder.append(colorOf(level));
     }
 
-    builder.append(level);
+    builder.append(level.name());
     builder.append(" ");
 
     // ISO, because obvz (sortable, standard), and offset because this may be
     // shared/discussed/debugged outside someone's console, at which point a
     // vague clock time without its timezone is useless.
-    builder.append(ZonedDateTime.now(ZoneId.systemDefault()).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+    builder.append(time.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
 
     builder.append(" ");
-    builder.append(supplier.get());
+    builder.append(message);
 
     if (useAnsiColor) {
       builder.append(ANSI_RESET);
@@ -115,9 +128,18 @@ public class ConsoleMonitor implements Monitor {
       }
     }
 
-    // Write to standard error, as these are debug logs for which any buffering
-    // won't help us at all.
-    System.err.println(builder.toString());
+    return builder.toString();
+  }
+
+  private static String colorOf(Level level) {
+    switch (level) {
+      case SEVERE:
+        return ANSI_RED;
+      case INFO:
+        return ANSI_BLUE;
+      default:
+        return ANSI_BLACK;
+    }
   }
 
   /**
@@ -136,7 +158,7 @@ public class ConsoleMonitor implements Monitor {
   }
 
   /** Check of boolean-esque env. variable, or false if anything goes wrong. */
-  private static final boolean getEnv(String envVarName) {
+  static final boolean getEnv(String envVarName) {
     try {
       final String rawEnvValue = System.getenv(envVarName);
       if (isNullOrEmpty(rawEnvValue)) {
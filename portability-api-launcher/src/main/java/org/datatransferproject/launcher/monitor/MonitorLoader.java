@@ -44,7 +44,7 @@ public class MonitorLoader {
                   }
                 });
         if (monitors.isEmpty()) {
-          monitor = new ConsoleMonitor(DEBUG);
+          monitor = loadConsoleMonitor();
         } else if (monitors.size() == 1) {
           monitor = monitors.get(0);
         } else {
@@ -60,5 +60,26 @@ public class MonitorLoader {
     return monitor;
   }
 
+  /**
+   * Logs to the console from a background thread, unless {@code CONSOLE_MONITOR_SYNC} is set to
+   * "1" or "true", eg: to keep the last events before a crash. {@code
+   * CONSOLE_MONITOR_DEBUG_SAMPLE_RATE} can be set to only write one in that many debug events.
+   */
+  private static Monitor loadConsoleMonitor() {
+    if (ConsoleMonitor.getEnv("CONSOLE_MONITOR_SYNC")) {
+      return new ConsoleMonitor(DEBUG);
+    }
+    int debugSampleRate = 1;
+    String rawSampleRate = System.getenv("CONSOLE_MONITOR_DEBUG_SAMPLE_RATE");
+    if (rawSampleRate != null) {
+      try {
+        debugSampleRate = Math.max(1, Integer.parseInt(rawSampleRate.trim()));
+      } catch (NumberFormatException e) {
+        // Keeps writing every debug event, there is no monitor yet to report the bad value to
+      }
+    }
+    return new AsyncConsoleMonitor(DEBUG, AsyncConsoleMonitor.DEFAULT_CAPACITY, debugSampleRate);
+  }
+
   private MonitorLoader() {}
 }
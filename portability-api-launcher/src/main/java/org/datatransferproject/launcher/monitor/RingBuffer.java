@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.launcher.monitor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded queue that many threads can add to without taking a lock, drained by one reader at a
+ * time.
+ *
+ * <p>Each slot carries a sequence number that says whether it is free to write or ready to read,
+ * so writers only contend on claiming a position and never wait on the reader. When the buffer is
+ * full {@link #offer} fails rather than blocking.
+ */
+final class RingBuffer<T> {
+  private final int mask;
+  private final AtomicReferenceArray<T> slots;
+  private final AtomicLongArray sequences;
+  private final AtomicLong writePosition = new AtomicLong();
+  // Only touched by the reader, which callers serialize
+  private long readPosition = 0;
+
+  /** @param capacity the minimum number of items held, rounded up to a power of two */
+  RingBuffer(int capacity) {
+    if (capacity < 1 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("Invalid ring buffer capacity: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    mask = size - 1;
+    slots = new AtomicReferenceArray<>(size);
+    sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /** Adds {@code item} unless the buffer is full. Safe to call from any thread. */
+  boolean offer(T item) {
+    long position = writePosition.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (writePosition.compareAndSet(position, position + 1)) {
+          slots.set(index, item);
+          // Publishes the item to the reader
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = writePosition.get();
+      } else if (available < 0) {
+        // The slot still holds an item from the previous lap
+        return false;
+      } else {
+        // Another writer claimed this position first
+        position = writePosition.get();
+      }
+    }
+  }
+
+  /**
+   * Moves up to {@code maxItems} items into {@code sink} in the order they were added, returning
+   * how many were moved. Callers must not drain from several threads at once.
+   */
+  int drainTo(List<T> sink, int maxItems) {
+    int drained = 0;
+    while (drained < maxItems) {
+      int index = (int) (readPosition & mask);
+      if (sequences.get(index) != readPosition + 1) {
+        // Empty, or the next writer hasn't published its item yet
+        break;
+      }
+      sink.add(slots.get(index));
+      slots.set(index, null);
+      // Frees the slot for the writer one lap ahead
+      sequences.set(index, readPosition + mask + 1);
+      readPosition++;
+      drained++;
+    }
+    return drained;
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.launcher.metrics;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.datatransferproject.types.common.models.DataVertical.PHOTOS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
+import org.datatransferproject.api.launcher.ExtensionContext;
+import org.datatransferproject.api.launcher.Monitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class InMemoryDtpInternalMetricRecorderTest {
+
+  private DtpInternalMetricRecorder delegate;
+  private Monitor monitor;
+  private InMemoryDtpInternalMetricRecorder recorder;
+
+  @BeforeEach
+  public void setUp() {
+    delegate = mock(DtpInternalMetricRecorder.class);
+    monitor = mock(Monitor.class);
+    recorder =
+        new InMemoryDtpInternalMetricRecorder(
+            delegate, monitor, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+  }
+
+  @Test
+  public void forwardsEveryMetricToTheDelegate() {
+    Duration duration = Duration.ofMillis(5);
+
+    recorder.importItemFinished(PHOTOS, "service", true, duration);
+    recorder.itemBytesRead(PHOTOS, "service", 10, duration);
+    recorder.retryAttemptFailed(PHOTOS, "service", 1, duration);
+    recorder.inFlightChanged("upload", 1);
+    recorder.recordGenericMetric(PHOTOS, "service", "tag", 3);
+
+    verify(delegate).importItemFinished(PHOTOS, "service", true, duration);
+    verify(delegate).itemBytesRead(PHOTOS, "service", 10, duration);
+    verify(delegate).retryAttemptFailed(PHOTOS, "service", 1, duration);
+    verify(delegate).inFlightChanged("upload", 1);
+    verify(delegate).recordGenericMetric(PHOTOS, "service", "tag", 3);
+  }
+
+  @Test
+  public void summarizesTheMetricsOfTheJob() {
+    recorder.importItemFinished(PHOTOS, "service", true, Duration.ofMillis(4));
+    recorder.importItemFinished(PHOTOS, "service", false, Duration.ofMillis(8));
+    recorder.itemBytesRead(PHOTOS, "service", 1000, Duration.ofMillis(2));
+    recorder.itemBytesRead(PHOTOS, "service", 24, Duration.ofMillis(2));
+    recorder.retryAttemptFailed(PHOTOS, "service", 1, Duration.ofMillis(1));
+    recorder.inFlightChanged("upload", 1);
+    recorder.inFlightChanged("upload", 1);
+    recorder.inFlightChanged("upload", -1);
+    recorder.inFlightChanged("upload", 1);
+
+    String summary = recorder.getSummary();
+
+    assertThat(summary).contains("export pages none");
+    assertThat(summary).contains("items imported 2 (1 failed");
+    assertThat(summary).contains("max PT0.008S");
+    assertThat(summary).contains("item reads 2 (0 failed");
+    assertThat(summary).contains("1024 bytes");
+    assertThat(summary).contains("failed attempts 1");
+    assertThat(summary).contains("peak in flight {upload=2}");
+  }
+
+  @Test
+  public void startedJob_resetsTheMetrics() {
+    recorder.importItemFinished(PHOTOS, "service", true, Duration.ofMillis(4));
+    recorder.retryAttemptFailed(PHOTOS, "service", 1, Duration.ofMillis(1));
+
+    recorder.startedJob(PHOTOS, "exporter", "importer");
+
+    assertThat(recorder.getSummary()).contains("items imported none");
+    assertThat(recorder.getSummary()).contains("failed attempts 0");
+    verify(delegate).startedJob(PHOTOS, "exporter", "importer");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void finishedJob_logsTheSummary() {
+    recorder.importItemFinished(PHOTOS, "service", true, Duration.ofMillis(4));
+
+    recorder.finishedJob(PHOTOS, "exporter", "importer", true, Duration.ofSeconds(1));
+
+    ArgumentCaptor<Supplier<String>> message = ArgumentCaptor.forClass(Supplier.class);
+    verify(monitor).info(message.capture());
+    assertThat(message.getValue().get()).contains("PHOTOS job from exporter to importer");
+    assertThat(message.getValue().get()).contains("items imported 1 (0 failed");
+    verify(delegate).finishedJob(PHOTOS, "exporter", "importer", true, Duration.ofSeconds(1));
+  }
+
+  @Test
+  public void registerSummarizingRecorder_wrapsTheRegisteredRecorder() {
+    ExtensionContext context = mock(ExtensionContext.class);
+    when(context.getService(DtpInternalMetricRecorder.class)).thenReturn(delegate);
+
+    InMemoryDtpInternalMetricRecorder.registerSummarizingRecorder(context);
+
+    verify(context)
+        .registerService(
+            eq(DtpInternalMetricRecorder.class), any(InMemoryDtpInternalMetricRecorder.class));
+  }
+
+  @Test
+  public void registerSummarizingRecorder_doesNotWrapTwice() {
+    ExtensionContext context = mock(ExtensionContext.class);
+    when(context.getService(DtpInternalMetricRecorder.class)).thenReturn(recorder);
+
+    InMemoryDtpInternalMetricRecorder.registerSummarizingRecorder(context);
+
+    verify(context, never()).registerService(any(), any());
+  }
+}
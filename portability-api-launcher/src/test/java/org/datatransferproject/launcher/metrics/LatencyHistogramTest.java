@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.launcher.metrics;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void emptyHistogramReportsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertThat(histogram.getCount()).isEqualTo(0L);
+    assertThat(histogram.getMax()).isEqualTo(Duration.ZERO);
+    assertThat(histogram.getPercentile(50)).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(micros(i));
+    }
+
+    assertThat(histogram.getCount()).isEqualTo(10L);
+    assertThat(histogram.getPercentile(50)).isEqualTo(micros(5));
+    assertThat(histogram.getPercentile(90)).isEqualTo(micros(9));
+    assertThat(histogram.getPercentile(100)).isEqualTo(micros(10));
+    assertThat(histogram.getMax()).isEqualTo(micros(10));
+  }
+
+  @Test
+  public void largeValuesAreWithinTheBucketResolution() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(Duration.ofMillis(i));
+    }
+
+    for (int percentile : new int[] {1, 25, 50, 90, 99}) {
+      long expectedMicros = percentile * 10 * 1000L;
+      long reportedMicros = histogram.getPercentile(percentile).toNanos() / 1000;
+      // Sixteen sub-buckets per power of two put each value within 1/16 above its true value
+      assertThat(reportedMicros).isAtLeast(expectedMicros);
+      assertThat(reportedMicros).isAtMost(expectedMicros + expectedMicros / 16);
+    }
+  }
+
+  @Test
+  public void percentilesNeverExceedTheMax() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    // 1000us falls in a bucket reaching up to 1023us
+    histogram.record(micros(1000));
+
+    assertThat(histogram.getPercentile(99)).isEqualTo(micros(1000));
+  }
+
+  @Test
+  public void clampsValuesOutsideTheRange() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    histogram.record(Duration.ofMillis(-5));
+    histogram.record(Duration.ofDays(365));
+
+    assertThat(histogram.getPercentile(50)).isEqualTo(Duration.ZERO);
+    // The largest value tracked is 2^40 - 1 microseconds, about 12 days
+    assertThat(histogram.getMax()).isEqualTo(micros((1L << 40) - 1));
+    assertThat(histogram.getPercentile(100)).isEqualTo(histogram.getMax());
+  }
+
+  @Test
+  public void countsValuesRecordedConcurrently() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    int threads = 4;
+    int valuesPerThread = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < valuesPerThread; i++) {
+                    histogram.record(micros(i % 100));
+                  }
+                }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(histogram.getCount()).isEqualTo((long) threads * valuesPerThread);
+    assertThat(histogram.getPercentile(100)).isEqualTo(micros(99));
+  }
+
+  private static Duration micros(long micros) {
+    return Duration.ofNanos(micros * 1000);
+  }
+}
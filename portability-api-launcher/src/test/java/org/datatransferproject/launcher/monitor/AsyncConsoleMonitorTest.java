@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.launcher.monitor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.datatransferproject.launcher.monitor.ConsoleMonitor.Level.DEBUG;
+import static org.datatransferproject.launcher.monitor.ConsoleMonitor.Level.INFO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.datatransferproject.launcher.monitor.ConsoleMonitor.Level;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AsyncConsoleMonitorTest {
+
+  private final List<AsyncConsoleMonitor> monitors = new ArrayList<>();
+  private ByteArrayOutputStream output;
+
+  @BeforeEach
+  public void setUp() {
+    output = new ByteArrayOutputStream();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    monitors.forEach(monitor -> Runtime.getRuntime().removeShutdownHook(monitor.shutdownHook));
+  }
+
+  @Test
+  public void flushLogs_writesEverythingBufferedInOrder() {
+    AsyncConsoleMonitor monitor = newMonitor(DEBUG, 16, 1, false);
+
+    monitor.info(() -> "first");
+    monitor.debug(() -> "second");
+    monitor.info(() -> "third");
+    assertThat(writtenLines()).isEmpty();
+
+    monitor.flushLogs();
+
+    assertThat(writtenLines()).hasSize(3);
+    assertThat(written()).containsMatch("(?s)first.*second.*third");
+  }
+
+  @Test
+  public void shutdownHook_drainsTheBuffer() {
+    AsyncConsoleMonitor monitor = newMonitor(DEBUG, 16, 1, false);
+    monitor.info(() -> "before shutdown");
+
+    // Runs the hook's work on this thread, as the JVM would on its own thread at exit
+    monitor.shutdownHook.run();
+
+    assertThat(written()).contains("before shutdown");
+  }
+
+  @Test
+  public void flushLogs_waitsForTheBackgroundWriter() {
+    AsyncConsoleMonitor monitor = newMonitor(DEBUG, 1024, 1, true);
+
+    for (int i = 0; i < 500; i++) {
+      int event = i;
+      monitor.info(() -> "event " + event);
+    }
+    monitor.flushLogs();
+
+    assertThat(writtenLines()).hasSize(500);
+    assertThat(written()).contains("event 499");
+  }
+
+  @Test
+  public void info_countsEventsDroppedWhenTheBufferIsFull() {
+    AsyncConsoleMonitor monitor = newMonitor(DEBUG, 2, 1, false);
+
+    for (int i = 0; i < 5; i++) {
+      int event = i;
+      monitor.info(() -> "event " + event);
+    }
+    monitor.flushLogs();
+
+    assertThat(written()).contains("event 1");
+    assertThat(written()).doesNotContain("event 2");
+    assertThat(written()).contains("Dropped 3 log events");
+  }
+
+  @Test
+  public void severe_isWrittenWhenTheBufferIsFull() {
+    AsyncConsoleMonitor monitor = newMonitor(DEBUG, 2, 1, false);
+    monitor.info(() -> "first");
+    monitor.info(() -> "second");
+
+    monitor.severe(() -> "severe");
+
+    // Written straight away, behind the backlog
+    assertThat(written()).containsMatch("(?s)first.*second.*severe");
+  }
+
+  @Test
+  public void debug_writesOneInEverySampleRateEvents() {
+    AsyncConsoleMonitor monitor = newMonitor(DEBUG, 16, 3, false);
+
+    for (int i = 0; i < 6; i++) {
+      int event = i;
+      monitor.debug(() -> "debug " + event);
+    }
+    monitor.flushLogs();
+
+    assertThat(writtenLines()).hasSize(2);
+    assertThat(written()).contains("debug 0");
+    assertThat(written()).contains("debug 3");
+  }
+
+  @Test
+  public void debug_isDroppedBelowTheMinimumLevel() {
+    AsyncConsoleMonitor monitor = newMonitor(INFO, 16, 1, false);
+
+    monitor.debug(
+        () -> {
+          throw new AssertionError("Evaluated a disabled debug message");
+        });
+    monitor.flushLogs();
+
+    assertThat(writtenLines()).isEmpty();
+  }
+
+  private AsyncConsoleMonitor newMonitor(
+      Level minLevel, int capacity, int debugSampleRate, boolean startWriter) {
+    AsyncConsoleMonitor monitor =
+        new AsyncConsoleMonitor(
+            minLevel, capacity, debugSampleRate, new PrintStream(output, true), startWriter);
+    monitors.add(monitor);
+    return monitor;
+  }
+
+  private String written() {
+    return new String(output.toByteArray(), UTF_8);
+  }
+
+  private List<String> writtenLines() {
+    return Arrays.stream(written().split(System.lineSeparator()))
+        .filter(line -> !line.isEmpty())
+        .collect(Collectors.toList());
+  }
+}
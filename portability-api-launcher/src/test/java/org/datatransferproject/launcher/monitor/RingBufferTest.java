@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.launcher.monitor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class RingBufferTest {
+
+  @Test
+  public void rejectsInvalidCapacities() {
+    assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>((1 << 30) + 1));
+  }
+
+  @Test
+  public void drainsItemsInTheOrderTheyWereAdded() {
+    RingBuffer<Integer> buffer = new RingBuffer<>(4);
+    List<Integer> drained = new ArrayList<>();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+
+    assertThat(buffer.drainTo(drained, 10)).isEqualTo(3);
+    assertThat(drained).containsExactly(0, 1, 2).inOrder();
+    assertThat(buffer.drainTo(drained, 10)).isEqualTo(0);
+  }
+
+  @Test
+  public void keepsOrderAcrossManyLaps() {
+    RingBuffer<Integer> buffer = new RingBuffer<>(4);
+    List<Integer> drained = new ArrayList<>();
+    List<Integer> expected = new ArrayList<>();
+
+    // Fills the buffer and drains three at a time, so laps start at every slot in turn
+    int next = 0;
+    for (int round = 0; round < 20; round++) {
+      while (buffer.offer(next)) {
+        expected.add(next++);
+      }
+      assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+    }
+    buffer.drainTo(drained, Integer.MAX_VALUE);
+
+    assertThat(drained).isEqualTo(expected);
+    assertThat(drained).hasSize(4 + 19 * 3);
+  }
+
+  @Test
+  public void refusesItemsWhenFullUntilDrained() {
+    // Rounded up to four slots
+    RingBuffer<String> buffer = new RingBuffer<>(3);
+    List<String> drained = new ArrayList<>();
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer("item" + i)).isTrue();
+    }
+    assertThat(buffer.offer("dropped")).isFalse();
+
+    assertThat(buffer.drainTo(drained, 1)).isEqualTo(1);
+    assertThat(buffer.offer("item4")).isTrue();
+    assertThat(buffer.offer("dropped")).isFalse();
+
+    buffer.drainTo(drained, Integer.MAX_VALUE);
+    assertThat(drained).containsExactly("item0", "item1", "item2", "item3", "item4").inOrder();
+  }
+
+  @Test
+  public void drainsNoMoreThanAskedFor() {
+    RingBuffer<Integer> buffer = new RingBuffer<>(8);
+    List<Integer> drained = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      buffer.offer(i);
+    }
+
+    assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+    assertThat(drained).containsExactly(0, 1).inOrder();
+  }
+
+  @Test
+  public void keepsEveryItemOfConcurrentWriters() throws Exception {
+    int writers = 4;
+    int itemsPerWriter = 10_000;
+    RingBuffer<int[]> buffer = new RingBuffer<>(writers * itemsPerWriter);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int writer = 0; writer < writers; writer++) {
+        int writerId = writer;
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < itemsPerWriter; i++) {
+                    assertThat(buffer.offer(new int[] {writerId, i})).isTrue();
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    List<int[]> drained = new ArrayList<>();
+    assertThat(buffer.drainTo(drained, Integer.MAX_VALUE)).isEqualTo(writers * itemsPerWriter);
+    // Each writer's items come out once each, in the order that writer added them
+    Map<Integer, Integer> nextByWriter = new HashMap<>();
+    for (int[] item : drained) {
+      int expected = nextByWriter.getOrDefault(item[0], 0);
+      assertThat(item[1]).isEqualTo(expected);
+      nextByWriter.put(item[0], expected + 1);
+    }
+    for (int writer = 0; writer < writers; writer++) {
+      assertThat(nextByWriter.get(writer)).isEqualTo(itemsPerWriter);
+    }
+  }
+}
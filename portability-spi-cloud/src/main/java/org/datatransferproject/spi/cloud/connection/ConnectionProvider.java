@@ -1,24 +1,66 @@
 package org.datatransferproject.spi.cloud.connection;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.UUID;
+import javax.annotation.Nullable;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
 import org.datatransferproject.types.common.DownloadableItem;
 
 public class ConnectionProvider {
 
+  private static final String IN_FLIGHT_OPERATION = "item-download";
+
   private final TemporaryPerJobDataStore jobStore;
+  @Nullable private final DtpInternalMetricRecorder metricRecorder;
 
   public ConnectionProvider(TemporaryPerJobDataStore jobStore) {
+    this(jobStore, null);
+  }
+
+  /**
+   * @param metricRecorder if set, records the bytes read from each item's stream and how long it
+   *     was open for, as well as the number of streams open at once
+   */
+  public ConnectionProvider(
+      TemporaryPerJobDataStore jobStore, @Nullable DtpInternalMetricRecorder metricRecorder) {
     this.jobStore = jobStore;
+    this.metricRecorder = metricRecorder;
   }
 
   public InputStreamWrapper getInputStreamForItem(UUID jobId, DownloadableItem item)
       throws IOException {
+    long startNanos = System.nanoTime();
+    InputStreamWrapper wrapper = openItem(jobId, item);
+    if (metricRecorder == null) {
+      return wrapper;
+    }
+    return new InputStreamWrapper(
+        new MeteredInputStream(wrapper.getStream(), metricRecorder, startNanos),
+        wrapper.getBytes());
+  }
 
+  /**
+   * Same as {@link #getInputStreamForItem(UUID, DownloadableItem)}, but every byte read from the
+   * returned stream is also fed to {@code digest}. Once the stream has been read to the end the
+   * digest holds the hash of the content, without a second pass over the bytes.
+   */
+  public InputStreamWrapper getInputStreamForItem(
+      UUID jobId, DownloadableItem item, MessageDigest digest) throws IOException {
+    InputStreamWrapper wrapper = getInputStreamForItem(jobId, item);
+    return new InputStreamWrapper(
+        new DigestInputStream(wrapper.getStream(), digest), wrapper.getBytes());
+  }
+
+  private InputStreamWrapper openItem(UUID jobId, DownloadableItem item) throws IOException {
     String fetchableUrl = item.getFetchableUrl();
     if (item.isInTempStore()) {
       return jobStore.getStream(jobId, fetchableUrl);
@@ -35,4 +77,65 @@ public class ConnectionProvider {
     conn.connect();
     return conn;
   }
+
+  /** Counts the bytes read from an item's stream and records them once it is closed. */
+  private static class MeteredInputStream extends FilterInputStream {
+    private final DtpInternalMetricRecorder metricRecorder;
+    private final long startNanos;
+    private long bytesRead = 0;
+    private boolean closed = false;
+
+    MeteredInputStream(
+        InputStream in, DtpInternalMetricRecorder metricRecorder, long startNanos) {
+      super(in);
+      this.metricRecorder = metricRecorder;
+      this.startNanos = startNanos;
+      metricRecorder.inFlightChanged(IN_FLIGHT_OPERATION, 1);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        bytesRead++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      if (read > 0) {
+        bytesRead += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      bytesRead += skipped;
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      // Re-reading marked bytes would count them twice
+      return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (!closed) {
+          closed = true;
+          metricRecorder.inFlightChanged(IN_FLIGHT_OPERATION, -1);
+          metricRecorder.itemBytesRead(
+              null, null, bytesRead, Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+      }
+    }
+  }
 }
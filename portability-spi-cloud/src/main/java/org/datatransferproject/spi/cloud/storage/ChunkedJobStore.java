@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.spi.cloud.storage;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Stack;
+import java.util.UUID;
+import org.datatransferproject.spi.cloud.types.JobAuthorization;
+import org.datatransferproject.spi.cloud.types.PortabilityJob;
+import org.datatransferproject.spi.cloud.types.PortabilityJob.State;
+import org.datatransferproject.types.common.ExportInformation;
+import org.datatransferproject.types.transfer.errors.ErrorDetail;
+
+/**
+ * A {@link JobStore} that stores per job data the way {@link ChunkedTemporaryPerJobDataStore}
+ * does, and leaves the jobs themselves to the store underneath.
+ *
+ * <p>Extensions look up either the job store or the temporary data store to keep their data in,
+ * and an item stored through one is often read back through the other. Registering this as both
+ * keeps them on the same, chunked, data.
+ */
+public class ChunkedJobStore extends ChunkedTemporaryPerJobDataStore implements JobStore {
+
+  private final JobStore delegate;
+
+  public ChunkedJobStore(JobStore delegate) {
+    this(delegate, DEFAULT_CHUNK_SIZE);
+  }
+
+  public ChunkedJobStore(JobStore delegate, int chunkSize) {
+    super(delegate, chunkSize);
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void createJob(UUID jobId, PortabilityJob job) throws IOException {
+    delegate.createJob(jobId, job);
+  }
+
+  @Override
+  public void claimJob(UUID jobId, PortabilityJob job) throws IOException {
+    delegate.claimJob(jobId, job);
+  }
+
+  @Override
+  public void updateJobAuthStateToCredsAvailable(UUID jobId) throws IOException {
+    delegate.updateJobAuthStateToCredsAvailable(jobId);
+  }
+
+  @Override
+  public void updateJobWithCredentials(UUID jobId, PortabilityJob job) throws IOException {
+    delegate.updateJobWithCredentials(jobId, job);
+  }
+
+  @Override
+  public void addErrorsToJob(UUID jobId, Collection<ErrorDetail> errors) throws IOException {
+    delegate.addErrorsToJob(jobId, errors);
+  }
+
+  @Override
+  public void addFailureReasonToJob(UUID jobId, String failureReason) throws IOException {
+    delegate.addFailureReasonToJob(jobId, failureReason);
+  }
+
+  @Override
+  public void markJobAsFinished(UUID jobId, State state) throws IOException {
+    delegate.markJobAsFinished(jobId, state);
+  }
+
+  @Override
+  public void markJobAsStarted(UUID jobId) throws IOException {
+    delegate.markJobAsStarted(jobId);
+  }
+
+  @Override
+  public void markJobAsTimedOut(UUID jobId) throws IOException {
+    delegate.markJobAsTimedOut(jobId);
+  }
+
+  @Override
+  public void remove(UUID jobId) throws IOException {
+    delegate.remove(jobId);
+  }
+
+  @Override
+  public PortabilityJob findJob(UUID jobId) {
+    return delegate.findJob(jobId);
+  }
+
+  @Override
+  public UUID findFirst(JobAuthorization.State jobState) {
+    return delegate.findFirst(jobState);
+  }
+
+  @Override
+  public void addCounts(UUID jobId, Map<String, Integer> newCounts) throws IOException {
+    delegate.addCounts(jobId, newCounts);
+  }
+
+  @Override
+  public Map<String, Integer> getCounts(UUID jobId) {
+    return delegate.getCounts(jobId);
+  }
+
+  @Override
+  public void addBytes(UUID jobId, Long bytes) throws IOException {
+    delegate.addBytes(jobId, bytes);
+  }
+
+  @Override
+  public void addBytes(UUID jobId, Map<String, Long> bytes) {
+    delegate.addBytes(jobId, bytes);
+  }
+
+  @Override
+  public Long getBytes(UUID jobId) {
+    return delegate.getBytes(jobId);
+  }
+
+  @Override
+  public Optional<Stack<ExportInformation>> loadJobStack(UUID jobId) {
+    return delegate.loadJobStack(jobId);
+  }
+
+  @Override
+  public void storeJobStack(UUID jobId, Stack<ExportInformation> stack) {
+    delegate.storeJobStack(jobId, stack);
+  }
+
+  @Override
+  public void abandonJob(UUID jobId, String reason) {
+    delegate.abandonJob(jobId, reason);
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.spi.cloud.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import org.datatransferproject.spi.cloud.types.ChunkManifest;
+import org.datatransferproject.types.common.models.DataModel;
+
+/**
+ * A {@link TemporaryPerJobDataStore} that stores streams as fixed-size chunks in another store,
+ * each under the hash of its content, along with a {@link ChunkManifest} listing them.
+ *
+ * <p>This gives the underlying store a few things it can't do with one blob per stream:
+ *
+ * <ul>
+ *   <li>A write that fails part way, eg: because the worker was restarted, can be retried with
+ *       the same key and only the chunks after the last one recorded in the manifest are stored
+ *       again. The stream still has to be read from the start to get back to that point.
+ *   <li>Content that is stored more than once in a job, under the same key or another one, is only
+ *       written once. Chunks stored by this instance are remembered for the life of the job, and
+ *       on top of that a retried write skips the chunks its own manifest already lists.
+ *   <li>Chunks can be read independently, see {@link #getManifest} and {@link #getChunk}, so an
+ *       importer that can upload ranges can read several at once.
+ * </ul>
+ *
+ * <p>Data models are passed through to the underlying store as they are. Streams stored directly
+ * in the underlying store, with no manifest, can still be read through {@link #getStream}.
+ *
+ * <p>{@link #removeData} removes a stream's manifest but leaves its chunks, which may be shared
+ * with other streams; they go when the job's data does. Keys with no manifest are removed from the
+ * underlying store as they are.
+ *
+ * <p>The manifest is updated as each chunk is stored, so the underlying store has to support
+ * {@link #update}. Stores that don't, such as the Azure table store, can only hold streams
+ * shorter than one chunk this way.
+ */
+public class ChunkedTemporaryPerJobDataStore implements TemporaryPerJobDataStore {
+
+  /** Chunk size used unless another is given; large enough that the manifest stays small. */
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  private static final String MANIFEST_KEY_PREFIX = "chunk-manifest-";
+  private static final String CHUNK_KEY_PREFIX = "chunk-";
+
+  private final TemporaryPerJobDataStore delegate;
+  private final int chunkSize;
+  // Hashes of the chunks known to be stored for each job
+  private final Map<UUID, Set<String>> storedChunks = new ConcurrentHashMap<>();
+
+  public ChunkedTemporaryPerJobDataStore(TemporaryPerJobDataStore delegate) {
+    this(delegate, DEFAULT_CHUNK_SIZE);
+  }
+
+  public ChunkedTemporaryPerJobDataStore(TemporaryPerJobDataStore delegate, int chunkSize) {
+    checkArgument(chunkSize > 0, "Chunk size must be positive, got %s", chunkSize);
+    this.delegate = delegate;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public <T extends DataModel> void create(UUID jobId, String key, T model) throws IOException {
+    delegate.create(jobId, key, model);
+  }
+
+  @Override
+  public <T extends DataModel> void update(UUID jobId, String key, T model) {
+    delegate.update(jobId, key, model);
+  }
+
+  @Override
+  public <T extends DataModel> T findData(UUID jobId, String key, Class<T> type)
+      throws IOException {
+    return delegate.findData(jobId, key, type);
+  }
+
+  @Override
+  public void removeData(UUID jobId, String key) {
+    ChunkManifest manifest;
+    try {
+      manifest = getManifest(jobId, key);
+    } catch (IOException e) {
+      // Can't tell how the key was stored, so remove it either way
+      delegate.removeData(jobId, manifestKey(key));
+      delegate.removeData(jobId, key);
+      return;
+    }
+    // Data models, and streams stored without chunks, are under the key itself
+    delegate.removeData(jobId, manifest != null ? manifestKey(key) : key);
+  }
+
+  /**
+   * Stores {@code stream} in chunks, saving the manifest after each one. If a previous attempt to
+   * store {@code key} didn't finish, the chunks it got through are not written again.
+   */
+  @Override
+  public void create(UUID jobId, String key, InputStream stream) throws IOException {
+    String manifestKey = manifestKey(key);
+    Set<String> jobChunks =
+        storedChunks.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet());
+    ChunkManifest previous = delegate.findData(jobId, manifestKey, ChunkManifest.class);
+    boolean manifestExists = previous != null;
+    if (manifestExists && previous.getChunkSize() == chunkSize) {
+      jobChunks.addAll(previous.getChunkHashes());
+    }
+
+    List<String> chunkHashes = new ArrayList<>();
+    long totalBytes = 0;
+    byte[] buffer = new byte[chunkSize];
+    while (true) {
+      int length = ByteStreams.read(stream, buffer, 0, chunkSize);
+      if (length == 0 && !chunkHashes.isEmpty()) {
+        break;
+      }
+      String hash = hash(buffer, length);
+      if (!jobChunks.contains(hash)) {
+        delegate.create(jobId, chunkKey(hash), new ByteArrayInputStream(buffer, 0, length));
+        jobChunks.add(hash);
+      }
+      chunkHashes.add(hash);
+      totalBytes += length;
+
+      boolean complete = length < chunkSize;
+      ChunkManifest manifest = new ChunkManifest(chunkSize, chunkHashes, totalBytes, complete);
+      if (manifestExists) {
+        updateManifest(jobId, manifestKey, manifest);
+      } else {
+        delegate.create(jobId, manifestKey, manifest);
+        manifestExists = true;
+      }
+      if (complete) {
+        return;
+      }
+    }
+    // The stream ended right on a chunk boundary
+    updateManifest(
+        jobId, manifestKey, new ChunkManifest(chunkSize, chunkHashes, totalBytes, true));
+  }
+
+  private void updateManifest(UUID jobId, String manifestKey, ChunkManifest manifest)
+      throws IOException {
+    try {
+      delegate.update(jobId, manifestKey, manifest);
+    } catch (UnsupportedOperationException e) {
+      throw new IOException(
+          String.format(
+              "Can't store %s in chunks, the underlying store can't update its manifest",
+              manifestKey),
+          e);
+    }
+  }
+
+  /**
+   * Returns the content stored for {@code key}, reading its chunks one after the other as the
+   * stream is consumed.
+   *
+   * @throws IOException if the content for {@code key} was only partly stored
+   */
+  @Override
+  public InputStreamWrapper getStream(UUID jobId, String key) throws IOException {
+    ChunkManifest manifest = getManifest(jobId, key);
+    if (manifest == null) {
+      return delegate.getStream(jobId, key);
+    }
+    if (!manifest.isComplete()) {
+      throw new IOException(
+          String.format(
+              "Content for %s was only partly stored, %d bytes in %d chunks",
+              key, manifest.getTotalBytes(), manifest.getChunkCount()));
+    }
+    return new InputStreamWrapper(
+        new SequenceInputStream(new ChunkEnumeration(jobId, manifest)),
+        manifest.getTotalBytes());
+  }
+
+  /** Returns the manifest of the chunks stored for {@code key}, or null if there is none. */
+  @Nullable
+  public ChunkManifest getManifest(UUID jobId, String key) throws IOException {
+    return delegate.findData(jobId, manifestKey(key), ChunkManifest.class);
+  }
+
+  /** Returns the content of chunk {@code index} of {@code manifest}. */
+  public InputStreamWrapper getChunk(UUID jobId, ChunkManifest manifest, int index)
+      throws IOException {
+    InputStream chunk =
+        delegate.getStream(jobId, chunkKey(manifest.getChunkHashes().get(index))).getStream();
+    return new InputStreamWrapper(chunk, manifest.getChunkLength(index));
+  }
+
+  private static String manifestKey(String key) {
+    return MANIFEST_KEY_PREFIX + key;
+  }
+
+  private static String chunkKey(String hash) {
+    return CHUNK_KEY_PREFIX + hash;
+  }
+
+  private static String hash(byte[] buffer, int length) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(buffer, 0, length);
+      return BaseEncoding.base16().lowerCase().encode(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Opens each chunk of a manifest only once the previous one has been read. */
+  private class ChunkEnumeration implements Enumeration<InputStream> {
+    private final UUID jobId;
+    private final ChunkManifest manifest;
+    private int next = 0;
+
+    ChunkEnumeration(UUID jobId, ChunkManifest manifest) {
+      this.jobId = jobId;
+      this.manifest = manifest;
+    }
+
+    @Override
+    public boolean hasMoreElements() {
+      return next < manifest.getChunkCount();
+    }
+
+    @Override
+    public InputStream nextElement() {
+      try {
+        return getChunk(jobId, manifest, next++).getStream();
+      } catch (IOException e) {
+        // Enumeration can't throw checked exceptions, SequenceInputStream passes this on as is
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
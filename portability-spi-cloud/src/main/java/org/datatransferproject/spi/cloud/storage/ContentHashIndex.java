@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.spi.cloud.storage;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.Striped;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import javax.annotation.Nullable;
+import org.datatransferproject.spi.cloud.types.ImportedContent;
+
+/**
+ * A per-job index from content hashes to the ids the destination gave that content, so an
+ * importer can skip uploading bytes it has already imported in the same job, eg: the same photo
+ * exported once for each album it is in.
+ *
+ * <p>Entries are kept in the job's {@link TemporaryPerJobDataStore}, one per hash, so the index
+ * survives a worker restart and never has to be loaded as a whole.
+ *
+ * <p>Lookups can be scoped, eg: by destination album, to tell whether content is already in a
+ * given place as well as whether it was imported at all. Hashes are compared as lowercase hex.
+ *
+ * <p>Stores differ in what {@code create} does with a key that already exists, some overwrite it
+ * and some fail, so records are made by looking for the entry first, under a lock per entry. A
+ * job runs on a single worker, which makes that lock enough to let only the first record win.
+ */
+public class ContentHashIndex {
+
+  private static final String KEY_PREFIX = "content-hash-";
+
+  private final TemporaryPerJobDataStore dataStore;
+  private final Striped<Lock> locks = Striped.lazyWeakLock(64);
+
+  public ContentHashIndex(TemporaryPerJobDataStore dataStore) {
+    this.dataStore = dataStore;
+  }
+
+  /** Returns the id content with {@code contentHash} was imported as in {@code scope}, if any. */
+  public Optional<String> findImportedId(UUID jobId, @Nullable String scope, String contentHash)
+      throws IOException {
+    return Optional.ofNullable(find(jobId, key(scope, contentHash)))
+        .map(ImportedContent::getImportedId);
+  }
+
+  /**
+   * Records that content with {@code contentHash} was imported as {@code importedId}, unless it
+   * has already been recorded, eg: by an import of the same content running at the same time.
+   *
+   * @return the id the content is recorded as, which is {@code importedId} unless it was already
+   *     recorded
+   */
+  public String recordImport(
+      UUID jobId, @Nullable String scope, String contentHash, String importedId)
+      throws IOException {
+    String key = key(scope, contentHash);
+    Lock lock = locks.get(jobId + key);
+    lock.lock();
+    try {
+      ImportedContent existing = find(jobId, key);
+      if (existing != null) {
+        return existing.getImportedId();
+      }
+      try {
+        dataStore.create(jobId, key, new ImportedContent(normalize(contentHash), importedId));
+      } catch (RuntimeException e) {
+        // Some stores, eg: Azure, report failures unchecked
+        throw new IOException("Unable to record content hash " + key, e);
+      }
+      return importedId;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns a new SHA-1 digest, eg: to pass to {@code ConnectionProvider}. */
+  public static MessageDigest newSha1Digest() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-1
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Returns the hash held by {@code digest} as lowercase hex, resetting the digest. */
+  public static String toHex(MessageDigest digest) {
+    return BaseEncoding.base16().lowerCase().encode(digest.digest());
+  }
+
+  @Nullable
+  private ImportedContent find(UUID jobId, String key) throws IOException {
+    try {
+      return dataStore.findData(jobId, key, ImportedContent.class);
+    } catch (RuntimeException e) {
+      throw new IOException("Unable to look up content hash " + key, e);
+    }
+  }
+
+  private static String key(@Nullable String scope, String contentHash) {
+    String hash = normalize(contentHash);
+    return scope == null ? KEY_PREFIX + hash : KEY_PREFIX + scope + "-" + hash;
+  }
+
+  private static String normalize(String contentHash) {
+    return contentHash.toLowerCase(Locale.ROOT);
+  }
+}
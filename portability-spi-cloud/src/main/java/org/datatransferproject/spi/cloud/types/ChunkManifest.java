@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.spi.cloud.types;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.datatransferproject.types.common.models.DataModel;
+
+/**
+ * Lists the chunks, in order, that a stream was stored as. Every chunk but the last is {@link
+ * #getChunkSize()} bytes long.
+ *
+ * <p>A manifest is saved after each chunk is stored, so one that isn't {@link #isComplete()} says
+ * how far an interrupted write got.
+ */
+@JsonTypeName("org.dataportability:ChunkManifest")
+public class ChunkManifest extends DataModel {
+
+  @JsonProperty("chunkSize")
+  private final int chunkSize;
+
+  @JsonProperty("chunkHashes")
+  private final List<String> chunkHashes;
+
+  @JsonProperty("totalBytes")
+  private final long totalBytes;
+
+  @JsonProperty("complete")
+  private final boolean complete;
+
+  @JsonCreator
+  public ChunkManifest(
+      @JsonProperty("chunkSize") int chunkSize,
+      @JsonProperty("chunkHashes") List<String> chunkHashes,
+      @JsonProperty("totalBytes") long totalBytes,
+      @JsonProperty("complete") boolean complete) {
+    this.chunkSize = chunkSize;
+    this.chunkHashes = chunkHashes == null ? ImmutableList.of() : ImmutableList.copyOf(chunkHashes);
+    this.totalBytes = totalBytes;
+    this.complete = complete;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * The SHA-256 of each chunk as lowercase hex. Each chunk is stored under {@code "chunk-"}
+   * followed by its hash.
+   */
+  public List<String> getChunkHashes() {
+    return chunkHashes;
+  }
+
+  /** Length of the stored content, counting only the chunks stored so far if not complete. */
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  /** Whether the whole stream was stored, rather than only the chunks listed so far. */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  @JsonIgnore
+  public int getChunkCount() {
+    return chunkHashes.size();
+  }
+
+  /** Offset in the content of the first byte of chunk {@code index}. */
+  @JsonIgnore
+  public long getChunkOffset(int index) {
+    return (long) index * chunkSize;
+  }
+
+  /** Length of chunk {@code index}, which is only short of the chunk size for the last one. */
+  @JsonIgnore
+  public long getChunkLength(int index) {
+    return Math.min(chunkSize, totalBytes - getChunkOffset(index));
+  }
+}
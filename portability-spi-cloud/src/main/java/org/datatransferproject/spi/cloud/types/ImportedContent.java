@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.spi.cloud.types;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import org.datatransferproject.types.common.models.DataModel;
+
+/** Records where content with a given hash ended up at the destination. */
+@JsonTypeName("org.dataportability:ImportedContent")
+public class ImportedContent extends DataModel {
+
+  @JsonProperty("contentHash")
+  private final String contentHash;
+
+  @JsonProperty("importedId")
+  private final String importedId;
+
+  @JsonCreator
+  public ImportedContent(
+      @JsonProperty("contentHash") String contentHash,
+      @JsonProperty("importedId") String importedId) {
+    this.contentHash = contentHash;
+    this.importedId = importedId;
+  }
+
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  /** The id the destination gave the content when it was imported. */
+  public String getImportedId() {
+    return importedId;
+  }
+}
@@ -3,12 +3,20 @@ package org.datatransferproject.spi.cloud.connection;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.truth.Truth;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.UUID;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
+import org.datatransferproject.spi.cloud.storage.ContentHashIndex;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore.InputStreamWrapper;
 import org.datatransferproject.types.common.DownloadableItem;
@@ -43,4 +51,44 @@ public class ConnectionProviderTest {
     Truth.assertThat(streamWrapper.getBytes()).isEqualTo(expectedBytes);
     verify(jobStore).getStream(eq(jobId), eq(fetchableUrl));
   }
+
+  @Test
+  public void getInputStreamHashesContentAsItIsRead() throws Exception {
+    byte[] content = "abc".getBytes(StandardCharsets.UTF_8);
+    when(jobStore.getStream(any(), anyString())).thenReturn(
+        new InputStreamWrapper(new ByteArrayInputStream(content), (long) content.length));
+    DownloadableItem item = new PhotoModel("title", "https://example.com", "description", "jpeg",
+        "123", "album", true);
+    MessageDigest digest = ContentHashIndex.newSha1Digest();
+
+    InputStreamWrapper streamWrapper = connectionProvider.getInputStreamForItem(
+        UUID.randomUUID(), item, digest);
+    try (InputStream stream = streamWrapper.getStream()) {
+      Truth.assertThat(ByteStreams.toByteArray(stream)).isEqualTo(content);
+    }
+
+    Truth.assertThat(streamWrapper.getBytes()).isEqualTo(3L);
+    Truth.assertThat(ContentHashIndex.toHex(digest))
+        .isEqualTo("a9993e364706816aba3e25717850c26c9cd0d89d");
+  }
+
+  @Test
+  public void getInputStreamRecordsBytesReadOnClose() throws Exception {
+    DtpInternalMetricRecorder metricRecorder = mock(DtpInternalMetricRecorder.class);
+    connectionProvider = new ConnectionProvider(jobStore, metricRecorder);
+    byte[] content = "abc".getBytes(StandardCharsets.UTF_8);
+    when(jobStore.getStream(any(), anyString())).thenReturn(
+        new InputStreamWrapper(new ByteArrayInputStream(content), (long) content.length));
+    DownloadableItem item = new PhotoModel("title", "https://example.com", "description", "jpeg",
+        "123", "album", true);
+
+    try (InputStream stream =
+        connectionProvider.getInputStreamForItem(UUID.randomUUID(), item).getStream()) {
+      ByteStreams.toByteArray(stream);
+      verify(metricRecorder).inFlightChanged("item-download", 1);
+    }
+
+    verify(metricRecorder).inFlightChanged("item-download", -1);
+    verify(metricRecorder).itemBytesRead(isNull(), isNull(), eq(3L), any());
+  }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.spi.cloud.storage;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.UUID;
+import org.datatransferproject.spi.cloud.types.ChunkManifest;
+import org.datatransferproject.spi.cloud.types.PortabilityJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChunkedJobStoreTest {
+
+  private final UUID jobId = UUID.randomUUID();
+  private JobStore delegate;
+  private ChunkedJobStore store;
+
+  @BeforeEach
+  public void setUp() {
+    delegate = mock(JobStore.class);
+    store = new ChunkedJobStore(delegate, 4);
+  }
+
+  @Test
+  public void jobMethodsGoToTheUnderlyingStore() throws Exception {
+    PortabilityJob job = mock(PortabilityJob.class);
+    when(delegate.findJob(jobId)).thenReturn(job);
+
+    assertThat(store.findJob(jobId)).isSameAs(job);
+    store.markJobAsStarted(jobId);
+    store.addBytes(jobId, 10L);
+
+    verify(delegate).markJobAsStarted(jobId);
+    verify(delegate).addBytes(jobId, 10L);
+  }
+
+  @Test
+  public void streamsAreStoredInChunks() throws Exception {
+    store.create(jobId, "photo", stream("abc"));
+
+    verify(delegate).create(eq(jobId), startsWith("chunk-"), any(InputStream.class));
+    verify(delegate).create(eq(jobId), any(String.class), any(ChunkManifest.class));
+    verify(delegate, never()).create(eq(jobId), eq("photo"), any(InputStream.class));
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.spi.cloud.storage;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.datatransferproject.spi.cloud.types.ChunkManifest;
+import org.datatransferproject.types.common.models.DataModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChunkedTemporaryPerJobDataStoreTest {
+
+  private static final int CHUNK_SIZE = 4;
+
+  private final UUID jobId = UUID.randomUUID();
+  private FakeDataStore delegate;
+  private ChunkedTemporaryPerJobDataStore store;
+
+  @BeforeEach
+  public void setUp() {
+    delegate = new FakeDataStore();
+    store = new ChunkedTemporaryPerJobDataStore(delegate, CHUNK_SIZE);
+  }
+
+  @Test
+  public void create_storesContentInChunksThatReadBackInOrder() throws Exception {
+    store.create(jobId, "photo", stream("abcdefghij"));
+
+    ChunkManifest manifest = store.getManifest(jobId, "photo");
+    assertThat(manifest.isComplete()).isTrue();
+    assertThat(manifest.getChunkCount()).isEqualTo(3);
+    assertThat(manifest.getChunkLength(2)).isEqualTo(2);
+    assertThat(read(store.getChunk(jobId, manifest, 1).getStream())).isEqualTo("efgh");
+
+    TemporaryPerJobDataStore.InputStreamWrapper content = store.getStream(jobId, "photo");
+    assertThat(content.getBytes()).isEqualTo(10);
+    assertThat(read(content.getStream())).isEqualTo("abcdefghij");
+  }
+
+  @Test
+  public void create_writesRepeatedChunksOnce() throws Exception {
+    store.create(jobId, "first", stream("abcdabcd"));
+    store.create(jobId, "second", stream("abcd"));
+
+    assertThat(delegate.streamWrites).hasSize(1);
+    assertThat(read(store.getStream(jobId, "first").getStream())).isEqualTo("abcdabcd");
+    assertThat(read(store.getStream(jobId, "second").getStream())).isEqualTo("abcd");
+  }
+
+  @Test
+  public void create_resumesAfterTheLastStoredChunk() throws Exception {
+    delegate.failStreamWritesAfter = 1;
+    assertThrows(IOException.class, () -> store.create(jobId, "video", stream("abcdefgh")));
+    assertThrows(IOException.class, () -> store.getStream(jobId, "video"));
+
+    // A fresh store, as a restarted worker would have
+    delegate.failStreamWritesAfter = Integer.MAX_VALUE;
+    delegate.streamWrites.clear();
+    new ChunkedTemporaryPerJobDataStore(delegate, CHUNK_SIZE)
+        .create(jobId, "video", stream("abcdefgh"));
+
+    assertThat(delegate.streamWrites).hasSize(1);
+    assertThat(read(store.getStream(jobId, "video").getStream())).isEqualTo("abcdefgh");
+  }
+
+  @Test
+  public void create_failsWhenTheStoreCannotUpdateTheManifest() throws Exception {
+    delegate.updateSupported = false;
+
+    store.create(jobId, "short", stream("abc"));
+    assertThrows(IOException.class, () -> store.create(jobId, "long", stream("abcdefgh")));
+
+    assertThat(read(store.getStream(jobId, "short").getStream())).isEqualTo("abc");
+  }
+
+  @Test
+  public void getStream_readsContentStoredWithoutChunks() throws Exception {
+    delegate.create(jobId, "plain", stream("plain content"));
+
+    assertThat(read(store.getStream(jobId, "plain").getStream())).isEqualTo("plain content");
+  }
+
+  @Test
+  public void removeData_removesTheManifestOfChunkedContent() throws Exception {
+    store.create(jobId, "photo", stream("abcdefgh"));
+
+    store.removeData(jobId, "photo");
+
+    assertThat(store.getManifest(jobId, "photo")).isNull();
+    assertThrows(IOException.class, () -> store.getStream(jobId, "photo"));
+  }
+
+  @Test
+  public void removeData_removesKeysStoredWithoutChunks() throws Exception {
+    delegate.create(jobId, "plain", stream("plain content"));
+    store.create(jobId, "model", new ChunkManifest(1, new ArrayList<>(), 0, true));
+
+    store.removeData(jobId, "plain");
+    store.removeData(jobId, "model");
+
+    assertThrows(IOException.class, () -> store.getStream(jobId, "plain"));
+    assertThat(store.findData(jobId, "model", ChunkManifest.class)).isNull();
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(UTF_8));
+  }
+
+  private static String read(InputStream stream) throws IOException {
+    return new String(ByteStreams.toByteArray(stream), UTF_8);
+  }
+
+  /** Keeps everything in memory, and can be made to fail stream writes. */
+  private static class FakeDataStore implements TemporaryPerJobDataStore {
+    private final Map<String, DataModel> models = new HashMap<>();
+    private final Map<String, byte[]> streams = new HashMap<>();
+    private final List<String> streamWrites = new ArrayList<>();
+    private int failStreamWritesAfter = Integer.MAX_VALUE;
+    private boolean updateSupported = true;
+
+    @Override
+    public <T extends DataModel> void create(UUID jobId, String key, T model) {
+      models.put(jobId + key, model);
+    }
+
+    @Override
+    public <T extends DataModel> void update(UUID jobId, String key, T model) {
+      if (!updateSupported) {
+        throw new UnsupportedOperationException();
+      }
+      models.put(jobId + key, model);
+    }
+
+    @Override
+    public <T extends DataModel> T findData(UUID jobId, String key, Class<T> type) {
+      return type.cast(models.get(jobId + key));
+    }
+
+    @Override
+    public void removeData(UUID jobId, String key) {
+      models.remove(jobId + key);
+      streams.remove(jobId + key);
+    }
+
+    @Override
+    public void create(UUID jobId, String key, InputStream stream) throws IOException {
+      if (streamWrites.size() >= failStreamWritesAfter) {
+        throw new IOException("Store unavailable");
+      }
+      streamWrites.add(key);
+      streams.put(jobId + key, ByteStreams.toByteArray(stream));
+    }
+
+    @Override
+    public InputStreamWrapper getStream(UUID jobId, String key) throws IOException {
+      byte[] content = streams.get(jobId + key);
+      if (content == null) {
+        throw new IOException("Nothing stored for " + key);
+      }
+      return new InputStreamWrapper(new ByteArrayInputStream(content), (long) content.length);
+    }
+  }
+}
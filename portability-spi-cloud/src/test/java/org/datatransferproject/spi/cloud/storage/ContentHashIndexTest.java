@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.spi.cloud.storage;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.datatransferproject.spi.cloud.types.ImportedContent;
+import org.datatransferproject.types.common.models.DataModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ContentHashIndexTest {
+
+  private static final String HASH = "11AA11aa";
+
+  private final UUID jobId = UUID.randomUUID();
+  private TemporaryPerJobDataStore dataStore;
+  private ContentHashIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    dataStore = mock(TemporaryPerJobDataStore.class);
+    index = new ContentHashIndex(dataStore);
+  }
+
+  @Test
+  public void recordImport_createsTheEntryWhenThereIsNone() throws Exception {
+    assertThat(index.recordImport(jobId, "album", HASH, "newId")).isEqualTo("newId");
+
+    verify(dataStore)
+        .create(eq(jobId), eq("content-hash-album-11aa11aa"), any(ImportedContent.class));
+  }
+
+  @Test
+  public void recordImport_keepsTheEntryAlreadyRecorded() throws Exception {
+    when(dataStore.findData(jobId, "content-hash-album-11aa11aa", ImportedContent.class))
+        .thenReturn(new ImportedContent("11aa11aa", "firstId"));
+
+    assertThat(index.recordImport(jobId, "album", HASH, "newId")).isEqualTo("firstId");
+    verify(dataStore, never()).create(any(), anyString(), any(ImportedContent.class));
+  }
+
+  @Test
+  public void recordImport_onlyTheFirstOfConcurrentRecordsWins() throws Exception {
+    ContentHashIndex localIndex = new ContentHashIndex(new OverwritingDataStore());
+    ExecutorService threads = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> recorded = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        String importedId = "id" + i;
+        recorded.add(
+            threads.submit(() -> localIndex.recordImport(jobId, null, HASH, importedId)));
+      }
+      List<String> ids = new ArrayList<>();
+      for (Future<String> id : recorded) {
+        ids.add(id.get());
+      }
+      String firstId = localIndex.findImportedId(jobId, null, HASH).get();
+      assertThat(ids).containsExactlyElementsIn(Collections.nCopies(ids.size(), firstId));
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  @Test
+  public void recordImport_reportsUncheckedStoreFailuresAsIOExceptions() throws Exception {
+    doThrow(new IllegalStateException("Store unavailable"))
+        .when(dataStore)
+        .create(eq(jobId), anyString(), any(ImportedContent.class));
+
+    assertThrows(IOException.class, () -> index.recordImport(jobId, "album", HASH, "newId"));
+  }
+
+  /** Keeps data in memory and, like some real stores, overwrites an entry created twice. */
+  private static class OverwritingDataStore implements TemporaryPerJobDataStore {
+    private final Map<String, DataModel> data = new ConcurrentHashMap<>();
+
+    @Override
+    public <T extends DataModel> void create(UUID jobId, String key, T model) {
+      data.put(jobId + key, model);
+    }
+
+    @Override
+    public <T extends DataModel> T findData(UUID jobId, String key, Class<T> type) {
+      return type.cast(data.get(jobId + key));
+    }
+  }
+}
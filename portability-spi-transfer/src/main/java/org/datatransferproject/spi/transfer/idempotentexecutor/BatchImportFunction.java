@@ -0,0 +1,12 @@
+package org.datatransferproject.spi.transfer.idempotentexecutor;
+
+import java.util.List;
+
+/**
+ * Imports several items at once, e.g. through a single batch request to the destination service.
+ */
+@FunctionalInterface
+public interface BatchImportFunction<T, R> {
+  /** Returns one result per item, in the same order as {@code items}. */
+  List<ItemImportResult<R>> apply(List<T> items) throws Exception;
+}
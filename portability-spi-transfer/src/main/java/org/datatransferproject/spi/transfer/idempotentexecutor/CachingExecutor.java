@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import javax.annotation.Nullable;
+import org.datatransferproject.types.common.models.DataVertical;
 import org.datatransferproject.types.transfer.errors.ErrorDetail;
 
 /**
@@ -81,6 +82,12 @@ public interface CachingExecutor {
    */
   void setJobId(UUID jobId);
 
+  /**
+   * Sets the data type and service of the job's imports, for executors that record metrics about
+   * the items they import.
+   */
+  default void setJobMetricTags(DataVertical dataType, String service) {}
+
   /** Get the set of recent errors that occurred, and weren't subsequently successful. */
   default Collection<ErrorDetail> getRecentErrors() {
     return getErrors();
@@ -16,8 +16,15 @@
 
 package org.datatransferproject.spi.transfer.idempotentexecutor;
 
+import com.google.common.base.Preconditions;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 import org.datatransferproject.types.common.ImportableItem;
 
@@ -46,16 +53,124 @@ public interface IdempotentImportExecutor extends CachingExecutor {
         });
   }
 
+  /**
+   * Imports a batch of items with a single call of {@code function}; see {@link
+   * #executeBatchAndSwallowIOExceptions}.
+   */
   default <T extends ImportableItem, R extends Serializable>
       List<R> importBatchAndSwallowIOExceptions(
-          List<T> items, ImportFunction<List<T>, List<R>> function) {
+          List<T> items, BatchImportFunction<T, R> function) throws Exception {
+    return executeBatchAndSwallowIOExceptions(
+        items, ImportableItem::getIdempotentId, ImportableItem::getName, function);
+  }
+
+  /**
+   * Imports a batch of items with a single call of {@code function}, recording the result of each
+   * item under its own idempotent ID just as {@link #executeAndSwallowIOExceptions} would. Items
+   * whose ID is already cached are not passed to {@code function}, and items that share an ID are
+   * only passed once.
+   *
+   * <p>If {@code function} throws an IO exception, it is recorded as the failure of every item it
+   * was given. Items that failed with an IO exception are sent once more, together in one smaller
+   * batch, before their failure is recorded. Any other exception, whether thrown or returned for an
+   * item, is passed through once the results of the rest of the batch have been recorded.
+   *
+   * @return the value of each item, in the same order as {@code items}, or null if it failed
+   */
+  default <T, R extends Serializable> List<R> executeBatchAndSwallowIOExceptions(
+      List<T> items,
+      Function<T, String> idempotentIdFunction,
+      Function<T, String> itemNameFunction,
+      BatchImportFunction<T, R> function)
+      throws Exception {
+    Map<String, T> itemsToImport = new LinkedHashMap<>();
+    for (T item : items) {
+      String idempotentId = idempotentIdFunction.apply(item);
+      if (!isKeyCached(idempotentId)) {
+        itemsToImport.putIfAbsent(idempotentId, item);
+      }
+    }
+
+    Map<String, ItemImportResult<R>> results = applyBatch(itemsToImport, function);
+    Map<String, T> itemsToResend = new LinkedHashMap<>();
+    results.forEach(
+        (idempotentId, result) -> {
+          if (result.getStatus() == ItemImportResult.Status.ERROR
+              && result.getException() instanceof IOException) {
+            itemsToResend.put(idempotentId, itemsToImport.get(idempotentId));
+          }
+        });
 
-    // The general idea is:
-    //   1. go through the items, filter out isKeyCached(item)
-    //   2. pass the remaining ones to function
-    //   3. save the resulting objects to cache, one by one
-    //   4. return the result that function returned
+    Exception toRethrow = null;
+    try {
+      results.putAll(applyBatch(itemsToResend, function));
+    } catch (Exception e) {
+      // Still record what the first attempt got through, the failures stand as they were
+      toRethrow = e;
+    }
+
+    for (Map.Entry<String, ItemImportResult<R>> entry : results.entrySet()) {
+      String idempotentId = entry.getKey();
+      String itemName = itemNameFunction.apply(itemsToImport.get(idempotentId));
+      ItemImportResult<R> result = entry.getValue();
+      if (result.getStatus() == ItemImportResult.Status.SUCCESS) {
+        recordSuccess(idempotentId, itemName, result.getData());
+      } else {
+        recordError(idempotentId, itemName, result.getException());
+        if (toRethrow == null && !(result.getException() instanceof IOException)) {
+          toRethrow = result.getException();
+        }
+      }
+    }
+    if (toRethrow != null) {
+      throw toRethrow;
+    }
+
+    List<R> values = new ArrayList<>(items.size());
+    for (T item : items) {
+      String idempotentId = idempotentIdFunction.apply(item);
+      R value = isKeyCached(idempotentId) ? getCachedValue(idempotentId) : null;
+      values.add(value);
+    }
+    return values;
+  }
+
+  /**
+   * Records {@code value} as the result of {@code idempotentId}, just as a successful call to
+   * {@link #executeAndSwallowIOExceptions} would, for a result obtained some other way.
+   */
+  <T extends Serializable> void recordSuccess(String idempotentId, String itemName, T value)
+      throws IOException;
+
+  /**
+   * Records {@code exception} as the failure of {@code idempotentId}, just as a failed call to
+   * {@link #executeAndSwallowIOExceptions} would, without throwing it.
+   */
+  void recordError(String idempotentId, String itemName, Exception exception) throws IOException;
 
-    throw new UnsupportedOperationException();
+  /** Passes {@code items} to {@code function}, returning the result of each keyed by its ID. */
+  private static <T, R extends Serializable> Map<String, ItemImportResult<R>> applyBatch(
+      Map<String, T> items, BatchImportFunction<T, R> function) throws Exception {
+    Map<String, ItemImportResult<R>> results = new LinkedHashMap<>();
+    if (items.isEmpty()) {
+      return results;
+    }
+    List<T> batch = new ArrayList<>(items.values());
+    List<ItemImportResult<R>> batchResults;
+    try {
+      batchResults = function.apply(batch);
+      Preconditions.checkState(
+          batchResults.size() == batch.size(),
+          "Expected one result per item, got %s results for %s items",
+          batchResults.size(),
+          batch.size());
+    } catch (IOException e) {
+      batchResults = Collections.nCopies(batch.size(), ItemImportResult.error(e, null));
+    }
+    int i = 0;
+    for (String idempotentId : items.keySet()) {
+      results.put(idempotentId, batchResults.get(i++));
+    }
+    return results;
   }
 }
@@ -19,30 +19,53 @@ package org.datatransferproject.spi.transfer.idempotentexecutor;
 import static java.lang.String.format;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Stopwatch;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import java.util.UUID;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.types.common.models.DataVertical;
 import org.datatransferproject.types.transfer.errors.ErrorDetail;
 
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import javax.annotation.Nullable;
 
-/** A {@link IdempotentImportExecutor} that stores known values in memory. */
+/**
+ * A {@link IdempotentImportExecutor} that stores known values in memory. Safe to share between
+ * threads importing different items concurrently.
+ */
 public class InMemoryIdempotentImportExecutor implements IdempotentImportExecutor {
-  private final Map<String, Serializable> knownValues = new HashMap<>();
-  private final Map<String, ErrorDetail> errors = new HashMap<>();
-  private final Map<String, ErrorDetail> recentErrors = new HashMap<>();
+  private static final String IN_FLIGHT_OPERATION = "import-item";
+
+  private final Map<String, Serializable> knownValues =
+      Collections.synchronizedMap(new HashMap<>());
+  private final Map<String, ErrorDetail> errors =
+      Collections.synchronizedMap(new HashMap<>());
+  private final Map<String, ErrorDetail> recentErrors =
+      Collections.synchronizedMap(new HashMap<>());
   private final Monitor monitor;
+  @Nullable private final DtpInternalMetricRecorder metricRecorder;
   private UUID jobId;
+  private DataVertical dataType;
+  private String service;
 
   public InMemoryIdempotentImportExecutor(Monitor monitor) {
+    this(monitor, null);
+  }
+
+  /** @param metricRecorder if set, records the latency of every item imported */
+  public InMemoryIdempotentImportExecutor(
+      Monitor monitor, @Nullable DtpInternalMetricRecorder metricRecorder) {
     this.monitor = monitor;
+    this.metricRecorder = metricRecorder;
   }
 
   @Override
@@ -60,33 +83,65 @@ public class InMemoryIdempotentImportExecutor implements IdempotentImportExecuto
   @SuppressWarnings("unchecked")
   public <T extends Serializable> T executeOrThrowException(
       String idempotentId, String itemName, Callable<T> callable) throws Exception {
-    String jobIdPrefix = "Job " + jobId + ": ";
-
     if (knownValues.containsKey(idempotentId)) {
       monitor.debug(
           () ->
-              jobIdPrefix
+              jobIdPrefix()
                   + format("Using cached key %s from cache for %s", idempotentId, itemName));
       return (T) knownValues.get(idempotentId);
     }
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    boolean success = false;
+    recordStarted();
     try {
       T result = callable.call();
-      knownValues.put(idempotentId, result);
-      monitor.debug(
-          () -> jobIdPrefix + format("Storing key %s in cache for %s", idempotentId, itemName));
-      errors.remove(idempotentId);
+      success = true;
+      recordSuccess(idempotentId, itemName, result);
       return result;
     } catch (Exception e) {
-      ErrorDetail errorDetail =
-          ErrorDetail.builder()
-              .setId(idempotentId)
-              .setTitle(itemName)
-              .setException(Throwables.getStackTraceAsString(e))
-              .build();
-      errors.put(idempotentId, errorDetail);
-      recentErrors.put(idempotentId, errorDetail);
-      monitor.severe(() -> jobIdPrefix + "Problem with importing item: " + errorDetail);
+      recordError(idempotentId, itemName, e);
       throw e;
+    } finally {
+      recordFinished(success, stopwatch);
+    }
+  }
+
+  @Override
+  public <T extends Serializable> void recordSuccess(
+      String idempotentId, String itemName, T value) {
+    knownValues.put(idempotentId, value);
+    monitor.debug(
+        () -> jobIdPrefix() + format("Storing key %s in cache for %s", idempotentId, itemName));
+    errors.remove(idempotentId);
+  }
+
+  @Override
+  public void recordError(String idempotentId, String itemName, Exception exception) {
+    ErrorDetail errorDetail =
+        ErrorDetail.builder()
+            .setId(idempotentId)
+            .setTitle(itemName)
+            .setException(Throwables.getStackTraceAsString(exception))
+            .build();
+    errors.put(idempotentId, errorDetail);
+    recentErrors.put(idempotentId, errorDetail);
+    monitor.severe(() -> jobIdPrefix() + "Problem with importing item: " + errorDetail);
+  }
+
+  private String jobIdPrefix() {
+    return "Job " + jobId + ": ";
+  }
+
+  private void recordStarted() {
+    if (metricRecorder != null) {
+      metricRecorder.inFlightChanged(IN_FLIGHT_OPERATION, 1);
+    }
+  }
+
+  private void recordFinished(boolean success, Stopwatch stopwatch) {
+    if (metricRecorder != null) {
+      metricRecorder.inFlightChanged(IN_FLIGHT_OPERATION, -1);
+      metricRecorder.importItemFinished(dataType, service, success, stopwatch.elapsed());
     }
   }
 
@@ -109,7 +164,9 @@ public class InMemoryIdempotentImportExecutor implements IdempotentImportExecuto
 
   @Override
   public Collection<ErrorDetail> getErrors() {
-    return ImmutableList.copyOf(errors.values());
+    synchronized (errors) {
+      return ImmutableList.copyOf(errors.values());
+    }
   }
 
   @Override
@@ -117,9 +174,17 @@ public class InMemoryIdempotentImportExecutor implements IdempotentImportExecuto
     this.jobId = jobId;
   }
 
+  @Override
+  public void setJobMetricTags(DataVertical dataType, String service) {
+    this.dataType = dataType;
+    this.service = service;
+  }
+
   @Override
   public Collection<ErrorDetail> getRecentErrors() {
-    return ImmutableList.copyOf(recentErrors.values());
+    synchronized (recentErrors) {
+      return ImmutableList.copyOf(recentErrors.values());
+    }
   }
 
   @Override
@@ -1,5 +1,6 @@
 package org.datatransferproject.spi.transfer.idempotentexecutor;
 
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.ExtensionContext;
 
 /**
@@ -13,7 +14,9 @@ public class InMemoryIdempotentImportExecutorExtension
   @Override
   public synchronized IdempotentImportExecutor getIdempotentImportExecutor(ExtensionContext extensionContext) {
     if (idempotentImportExecutor == null) {
-      idempotentImportExecutor = new InMemoryIdempotentImportExecutor(extensionContext.getMonitor());
+      idempotentImportExecutor = new InMemoryIdempotentImportExecutor(
+          extensionContext.getMonitor(),
+          extensionContext.getService(DtpInternalMetricRecorder.class));
     }
     return idempotentImportExecutor;
   }
@@ -21,7 +24,10 @@ public class InMemoryIdempotentImportExecutorExtension
   @Override
   public synchronized IdempotentImportExecutor getRetryingIdempotentImportExecutor(ExtensionContext extensionContext){
     if(retryingIdempotentImportExecutor == null) {
-      retryingIdempotentImportExecutor = new RetryingInMemoryIdempotentImportExecutor(extensionContext.getMonitor(), extensionContext.getSetting("retryLibrary", null));
+      retryingIdempotentImportExecutor = new RetryingInMemoryIdempotentImportExecutor(
+          extensionContext.getMonitor(),
+          extensionContext.getSetting("retryLibrary", null),
+          extensionContext.getService(DtpInternalMetricRecorder.class));
     }
     return retryingIdempotentImportExecutor;
   }
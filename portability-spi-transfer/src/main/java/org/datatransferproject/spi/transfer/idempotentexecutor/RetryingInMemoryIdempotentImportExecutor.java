@@ -19,36 +19,60 @@ package org.datatransferproject.spi.transfer.idempotentexecutor;
 import static java.lang.String.format;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Stopwatch;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.io.Serializable;
 import java.time.Clock;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import javax.annotation.Nullable;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.types.common.models.DataVertical;
 import org.datatransferproject.types.transfer.errors.ErrorDetail;
 import org.datatransferproject.types.transfer.retry.RetryException;
 import org.datatransferproject.types.transfer.retry.RetryStrategyLibrary;
 import org.datatransferproject.types.transfer.retry.RetryingCallable;
 
-/** A {@link IdempotentImportExecutor} that stores known values in memory. */
+/**
+ * A {@link IdempotentImportExecutor} that stores known values in memory. Safe to share between
+ * threads importing different items concurrently.
+ */
 public class RetryingInMemoryIdempotentImportExecutor implements IdempotentImportExecutor {
-
-  private final Map<String, Serializable> knownValues = new HashMap<>();
-  private final Map<String, ErrorDetail> errors = new HashMap<>();
-  private final Map<String, ErrorDetail> recentErrors = new HashMap<>();
+  private static final String IN_FLIGHT_OPERATION = "import-item";
+
+  private final Map<String, Serializable> knownValues =
+      Collections.synchronizedMap(new HashMap<>());
+  private final Map<String, ErrorDetail> errors =
+      Collections.synchronizedMap(new HashMap<>());
+  private final Map<String, ErrorDetail> recentErrors =
+      Collections.synchronizedMap(new HashMap<>());
   private final Monitor monitor;
+  @Nullable private final DtpInternalMetricRecorder metricRecorder;
   private UUID jobId;
+  private DataVertical dataType;
+  private String service;
   private final RetryStrategyLibrary retryStrategyLibrary;
 
   public RetryingInMemoryIdempotentImportExecutor(
       Monitor monitor, RetryStrategyLibrary  retryStrategyLibrary) {
+    this(monitor, retryStrategyLibrary, null);
+  }
+
+  /** @param metricRecorder if set, records the latency and retries of every item imported */
+  public RetryingInMemoryIdempotentImportExecutor(
+      Monitor monitor,
+      RetryStrategyLibrary retryStrategyLibrary,
+      @Nullable DtpInternalMetricRecorder metricRecorder) {
     this.monitor = monitor;
     this.retryStrategyLibrary = retryStrategyLibrary;
+    this.metricRecorder = metricRecorder;
   }
 
   @Override
@@ -73,7 +97,10 @@ public class RetryingInMemoryIdempotentImportExecutor implements IdempotentImpor
             callable,
             retryStrategyLibrary,
             Clock.systemUTC(),
-            monitor);
+            monitor,
+            dataType,
+            service,
+            metricRecorder);
 
     if (knownValues.containsKey(idempotentId)) {
       monitor.debug(
@@ -82,12 +109,13 @@ public class RetryingInMemoryIdempotentImportExecutor implements IdempotentImpor
                   + format("Using cached key %s from cache for %s", idempotentId, itemName));
       return (T) knownValues.get(idempotentId);
     }
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    boolean success = false;
+    recordStarted();
     try {
       T result = retryingCallable.call();
-      knownValues.put(idempotentId, result);
-      monitor.debug(
-          () -> jobIdPrefix + format("Storing key %s in cache for %s", idempotentId, itemName));
-      errors.remove(idempotentId);
+      success = true;
+      recordSuccess(idempotentId, itemName, result);
       return result;
     } catch (RetryException e) {
       ErrorDetail.Builder errorDetailBuilder = ErrorDetail.builder();
@@ -109,6 +137,45 @@ public class RetryingInMemoryIdempotentImportExecutor implements IdempotentImpor
         // We throw e.getCause() to get the original exception.
         throw e.getCause();
       }
+    } finally {
+      recordFinished(success, stopwatch);
+    }
+  }
+
+  @Override
+  public <T extends Serializable> void recordSuccess(
+      String idempotentId, String itemName, T value) {
+    knownValues.put(idempotentId, value);
+    monitor.debug(
+        () ->
+            "Job " + jobId + ": "
+                + format("Storing key %s in cache for %s", idempotentId, itemName));
+    errors.remove(idempotentId);
+  }
+
+  @Override
+  public void recordError(String idempotentId, String itemName, Exception exception) {
+    ErrorDetail errorDetail =
+        ErrorDetail.builder()
+            .setId(idempotentId)
+            .setTitle(itemName)
+            .setException(Throwables.getStackTraceAsString(exception))
+            .build();
+    errors.put(idempotentId, errorDetail);
+    recentErrors.put(idempotentId, errorDetail);
+    monitor.severe(() -> "Job " + jobId + ": Problem with importing item: " + errorDetail);
+  }
+
+  private void recordStarted() {
+    if (metricRecorder != null) {
+      metricRecorder.inFlightChanged(IN_FLIGHT_OPERATION, 1);
+    }
+  }
+
+  private void recordFinished(boolean success, Stopwatch stopwatch) {
+    if (metricRecorder != null) {
+      metricRecorder.inFlightChanged(IN_FLIGHT_OPERATION, -1);
+      metricRecorder.importItemFinished(dataType, service, success, stopwatch.elapsed());
     }
   }
 
@@ -131,7 +198,9 @@ public class RetryingInMemoryIdempotentImportExecutor implements IdempotentImpor
 
   @Override
   public Collection<ErrorDetail> getErrors() {
-    return ImmutableList.copyOf(errors.values());
+    synchronized (errors) {
+      return ImmutableList.copyOf(errors.values());
+    }
   }
 
   @Override
@@ -139,9 +208,17 @@ public class RetryingInMemoryIdempotentImportExecutor implements IdempotentImpor
     this.jobId = jobId;
   }
 
+  @Override
+  public void setJobMetricTags(DataVertical dataType, String service) {
+    this.dataType = dataType;
+    this.service = service;
+  }
+
   @Override
   public Collection<ErrorDetail> getRecentErrors() {
-    return ImmutableList.copyOf(recentErrors.values());
+    synchronized (recentErrors) {
+      return ImmutableList.copyOf(recentErrors.values());
+    }
   }
 
   @Override
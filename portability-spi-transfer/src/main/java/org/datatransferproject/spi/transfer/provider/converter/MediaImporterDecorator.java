@@ -1,6 +1,12 @@
 package org.datatransferproject.spi.transfer.provider.converter;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
@@ -11,30 +17,95 @@ import org.datatransferproject.types.transfer.auth.AuthData;
 
 /**
  *  Allows using existing Photo and Video adapters to create a Media adapter.
+ *
+ *  <p>When a page holds both photos and videos, the two importers run side by side so that small
+ *  photos don't wait behind large videos. Each call runs at most the two legs at once, one of them
+ *  on the calling thread. Albums are created once, through the photo importer, before either leg
+ *  starts; both legs are still given the albums so they can look up what was created.
  */
 public class MediaImporterDecorator<AD extends AuthData> implements
     Importer<AD, MediaContainerResource> {
 
+  private static final ExecutorService VIDEO_LEG_EXECUTOR =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("media-importer-video-leg-%d")
+              .build());
+
   private final Importer<AD, PhotosContainerResource> photosImporter;
   private final Importer<AD, VideosContainerResource> videosImporter;
+  private final ExecutorService videoLegExecutor;
 
   public MediaImporterDecorator(Importer<AD, PhotosContainerResource> photosImporter,
       Importer<AD, VideosContainerResource> videosImporter) {
+    this(photosImporter, videosImporter, VIDEO_LEG_EXECUTOR);
+  }
+
+  @VisibleForTesting
+  MediaImporterDecorator(Importer<AD, PhotosContainerResource> photosImporter,
+      Importer<AD, VideosContainerResource> videosImporter, ExecutorService videoLegExecutor) {
     this.photosImporter = photosImporter;
     this.videosImporter = videosImporter;
+    this.videoLegExecutor = videoLegExecutor;
   }
 
   @Override
   public ImportResult importItem(UUID jobId, IdempotentImportExecutor idempotentExecutor,
       AD authData, MediaContainerResource data) throws Exception {
     PhotosContainerResource photosResource = MediaContainerResource.mediaToPhoto(data);
-    ImportResult photosResult = photosImporter
-        .importItem(jobId, idempotentExecutor, authData, photosResource);
-
     VideosContainerResource videosResource = MediaContainerResource.mediaToVideo(data);
-    ImportResult videosResult = videosImporter
-        .importItem(jobId, idempotentExecutor, authData, videosResource);
 
-    return ImportResult.merge(photosResult, videosResult);
+    if (photosResource.getPhotos().isEmpty() || videosResource.getVideos().isEmpty()) {
+      // Nothing to overlap, one of the legs only has albums to look at
+      ImportResult photosResult = photosImporter
+          .importItem(jobId, idempotentExecutor, authData, photosResource);
+      ImportResult videosResult = videosImporter
+          .importItem(jobId, idempotentExecutor, authData, videosResource);
+      return ImportResult.merge(photosResult, videosResult);
+    }
+
+    ImportResult albumsResult = ImportResult.OK;
+    if (!photosResource.getAlbums().isEmpty()) {
+      albumsResult = photosImporter.importItem(jobId, idempotentExecutor, authData,
+          new PhotosContainerResource(photosResource.getAlbums(), null));
+      if (albumsResult.getType() == ImportResult.ResultType.ERROR) {
+        return albumsResult;
+      }
+    }
+
+    Future<ImportResult> videosLeg = videoLegExecutor.submit(
+        () -> videosImporter.importItem(jobId, idempotentExecutor, authData, videosResource));
+    ImportResult photosResult;
+    try {
+      photosResult = photosImporter
+          .importItem(jobId, idempotentExecutor, authData, photosResource);
+    } catch (Exception e) {
+      // Let the videos already under way finish rather than abandon them part way through
+      try {
+        awaitLeg(videosLeg);
+      } catch (Exception videosException) {
+        e.addSuppressed(videosException);
+      }
+      throw e;
+    }
+    ImportResult videosResult = awaitLeg(videosLeg);
+
+    return ImportResult.merge(albumsResult, ImportResult.merge(photosResult, videosResult));
+  }
+
+  private static ImportResult awaitLeg(Future<ImportResult> leg) throws Exception {
+    try {
+      return leg.get();
+    } catch (InterruptedException e) {
+      leg.cancel(true);
+      Thread.currentThread().interrupt();
+      throw e;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
   }
 }
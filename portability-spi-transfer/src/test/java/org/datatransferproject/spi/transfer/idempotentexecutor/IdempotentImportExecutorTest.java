@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.spi.transfer.idempotentexecutor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.types.transfer.errors.ErrorDetail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IdempotentImportExecutorTest {
+
+  private InMemoryIdempotentImportExecutor executor;
+
+  @BeforeEach
+  public void setUp() {
+    executor = new InMemoryIdempotentImportExecutor(mock(Monitor.class));
+  }
+
+  @Test
+  public void executeBatchAndSwallowIOExceptions_mapsResultsToItems() throws Exception {
+    List<String> items = ImmutableList.of("a", "b", "c");
+
+    List<String> values =
+        executor.executeBatchAndSwallowIOExceptions(
+            items,
+            Function.identity(),
+            Function.identity(),
+            batch ->
+                batch.stream()
+                    .map(
+                        item ->
+                            item.equals("b")
+                                ? ItemImportResult.<String>error(new IOException("b failed"), null)
+                                : ItemImportResult.success(item.toUpperCase()))
+                    .collect(Collectors.toList()));
+
+    assertThat(values).containsExactly("A", null, "C").inOrder();
+    assertThat(executor.isKeyCached("a")).isTrue();
+    assertThat(executor.isKeyCached("b")).isFalse();
+    assertThat(executor.getErrors().stream().map(ErrorDetail::id).collect(Collectors.toList()))
+        .containsExactly("b");
+  }
+
+  @Test
+  public void executeBatchAndSwallowIOExceptions_skipsCachedItems() throws Exception {
+    executor.executeAndSwallowIOExceptions("a", "a", () -> "cached A");
+    List<String> importedItems = new ArrayList<>();
+
+    List<String> values =
+        executor.executeBatchAndSwallowIOExceptions(
+            Arrays.asList("a", "b"),
+            Function.identity(),
+            Function.identity(),
+            batch -> {
+              importedItems.addAll(batch);
+              return batch.stream()
+                  .map(item -> ItemImportResult.success(item.toUpperCase()))
+                  .collect(Collectors.toList());
+            });
+
+    assertThat(importedItems).containsExactly("b");
+    assertThat(values).containsExactly("cached A", "B").inOrder();
+  }
+
+  @Test
+  public void executeBatchAndSwallowIOExceptions_recordsBatchFailureForEveryItem()
+      throws Exception {
+    List<String> values =
+        executor.executeBatchAndSwallowIOExceptions(
+            ImmutableList.of("a", "b"),
+            Function.identity(),
+            Function.identity(),
+            batch -> {
+              throw new IOException("batch failed");
+            });
+
+    assertThat(values).containsExactly(null, null);
+    assertThat(executor.getErrors()).hasSize(2);
+  }
+
+  @Test
+  public void executeBatchAndSwallowIOExceptions_sendsItemsSharingAnIdOnce() throws Exception {
+    List<String> importedItems = new ArrayList<>();
+
+    List<String> values =
+        executor.executeBatchAndSwallowIOExceptions(
+            Arrays.asList("a", "b", "a"),
+            Function.identity(),
+            Function.identity(),
+            batch -> {
+              importedItems.addAll(batch);
+              return batch.stream()
+                  .map(item -> ItemImportResult.success(item.toUpperCase()))
+                  .collect(Collectors.toList());
+            });
+
+    assertThat(importedItems).containsExactly("a", "b").inOrder();
+    assertThat(values).containsExactly("A", "B", "A").inOrder();
+  }
+
+  @Test
+  public void executeBatchAndSwallowIOExceptions_resendsFailedItemsOnce() throws Exception {
+    List<List<String>> batches = new ArrayList<>();
+
+    List<String> values =
+        executor.executeBatchAndSwallowIOExceptions(
+            ImmutableList.of("a", "b", "c"),
+            Function.identity(),
+            Function.identity(),
+            batch -> {
+              batches.add(ImmutableList.copyOf(batch));
+              return batch.stream()
+                  .map(
+                      item ->
+                          item.equals("a") || batches.size() > 1 && item.equals("b")
+                              ? ItemImportResult.success(item.toUpperCase())
+                              : ItemImportResult.<String>error(
+                                  new IOException(item + " failed"), null))
+                  .collect(Collectors.toList());
+            });
+
+    assertThat(batches)
+        .containsExactly(ImmutableList.of("a", "b", "c"), ImmutableList.of("b", "c"))
+        .inOrder();
+    assertThat(values).containsExactly("A", "B", null).inOrder();
+    assertThat(executor.getErrors().stream().map(ErrorDetail::id).collect(Collectors.toList()))
+        .containsExactly("c");
+  }
+
+  @Test
+  public void executeBatchAndSwallowIOExceptions_recordsSuccessesBeforeOtherExceptions() {
+    IllegalStateException failure = new IllegalStateException("b failed");
+
+    IllegalStateException thrown =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                executor.executeBatchAndSwallowIOExceptions(
+                    ImmutableList.of("a", "b", "c"),
+                    Function.identity(),
+                    Function.identity(),
+                    batch ->
+                        batch.stream()
+                            .map(
+                                item ->
+                                    item.equals("b")
+                                        ? ItemImportResult.<String>error(failure, null)
+                                        : ItemImportResult.success(item.toUpperCase()))
+                            .collect(Collectors.toList())));
+
+    assertThat(thrown).isSameAs(failure);
+    assertThat(executor.isKeyCached("a")).isTrue();
+    assertThat(executor.isKeyCached("c")).isTrue();
+    assertThat(executor.getErrors()).hasSize(1);
+  }
+}
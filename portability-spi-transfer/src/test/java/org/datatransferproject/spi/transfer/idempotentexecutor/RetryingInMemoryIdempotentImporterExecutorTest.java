@@ -1,6 +1,7 @@
 package org.datatransferproject.spi.transfer.idempotentexecutor;
 
 import com.google.common.collect.ImmutableList;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.types.transfer.retry.*;
 import org.junit.Test;
@@ -9,8 +10,13 @@ import java.io.IOException;
 import java.util.Optional;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.datatransferproject.types.common.models.DataVertical.PHOTOS;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class RetryingInMemoryIdempotentImporterExecutorTest {
 
@@ -264,4 +270,26 @@ public class RetryingInMemoryIdempotentImporterExecutorTest {
                 )
         );
     }
+
+    @Test
+    public void metricRecorder_recordsItemsAndFailedAttempts() throws Exception {
+        DtpInternalMetricRecorder metricRecorder = mock(DtpInternalMetricRecorder.class);
+        RetryingInMemoryIdempotentImportExecutor retryingExecutor = new RetryingInMemoryIdempotentImportExecutor(
+                mock(Monitor.class),
+                new RetryStrategyLibrary( ImmutableList.of(), new SkipRetryStrategy() ),
+                metricRecorder
+        );
+        retryingExecutor.setJobMetricTags(PHOTOS, "service");
+
+        retryingExecutor.executeOrThrowException("ok", "name", () -> "imported");
+        retryingExecutor.executeOrThrowException("failed", "name",
+                () -> { throw new IOException("Test IO exception");}
+        );
+
+        verify(metricRecorder).importItemFinished(eq(PHOTOS), eq("service"), eq(true), any());
+        verify(metricRecorder).importItemFinished(eq(PHOTOS), eq("service"), eq(false), any());
+        verify(metricRecorder).retryAttemptFailed(eq(PHOTOS), eq("service"), eq(1), any());
+        verify(metricRecorder, times(2)).inFlightChanged("import-item", 1);
+        verify(metricRecorder, times(2)).inFlightChanged("import-item", -1);
+    }
 }
@@ -1,8 +1,15 @@
 package org.datatransferproject.spi.transfer.provider.converter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.datatransferproject.spi.transfer.provider.ImportResult;
 import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.types.common.models.media.MediaAlbum;
@@ -84,4 +91,61 @@ public class MediaImporterDecoratorTest {
     assertEquals(new ImportResult(throwable), res);
   }
 
+  @Test
+  public void shouldImportPhotosAndVideosConcurrently() throws Exception {
+    CountDownLatch videosStarted = new CountDownLatch(1);
+    mediaImporter = new MediaImporterDecorator<>(
+        (id, ex, ad, data) -> {
+          // Only returns if the videos are imported while the photos are still in progress
+          assertTrue(videosStarted.await(10, TimeUnit.SECONDS));
+          return ImportResult.OK;
+        },
+        (id, ex, ad, data) -> {
+          videosStarted.countDown();
+          return ImportResult.OK;
+        });
+
+    MediaContainerResource mcr = new MediaContainerResource(null, photos, videos);
+    assertEquals(ImportResult.OK, mediaImporter.importItem(null, null, null, mcr));
+  }
+
+  @Test
+  public void shouldCreateAlbumsBeforeEitherLeg() throws Exception {
+    List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    mediaImporter = new MediaImporterDecorator<>(
+        (id, ex, ad, data) -> {
+          calls.add(data.getPhotos().isEmpty() ? "albums" : "photos");
+          return ImportResult.OK;
+        },
+        (id, ex, ad, data) -> {
+          calls.add("videos");
+          return ImportResult.OK;
+        });
+
+    MediaContainerResource mcr = new MediaContainerResource(albums, photos, videos);
+    mediaImporter.importItem(null, null, null, mcr);
+
+    assertEquals(3, calls.size());
+    assertEquals("albums", calls.get(0));
+    assertTrue(calls.containsAll(List.of("photos", "videos")));
+  }
+
+  @Test
+  public void shouldWaitForVideosWhenPhotosThrow() throws Exception {
+    CountDownLatch videosFinished = new CountDownLatch(1);
+    IOException photosException = new IOException("photos failed");
+    mediaImporter = new MediaImporterDecorator<>(
+        (id, ex, ad, data) -> {
+          throw photosException;
+        },
+        (id, ex, ad, data) -> {
+          videosFinished.countDown();
+          return ImportResult.OK;
+        });
+
+    MediaContainerResource mcr = new MediaContainerResource(null, photos, videos);
+    assertEquals(photosException,
+        assertThrows(IOException.class, () -> mediaImporter.importItem(null, null, null, mcr)));
+    assertEquals(0, videosFinished.getCount());
+  }
 }
@@ -35,6 +35,9 @@ public class CallableSizeCalculator implements Callable<Map<String, Long>> {
       long size = stream.getBytes();
       if (size <= 0) {
         size = discardForLength(stream.getStream());
+      } else {
+        // Only the length was needed; closing also ends the metered read of the item
+        stream.getStream().close();
       }
 
       result.put(item.getIdempotentId(), size);
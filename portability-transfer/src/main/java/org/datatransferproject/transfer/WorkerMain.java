@@ -38,6 +38,7 @@ import org.datatransferproject.security.AesSymmetricKeyGenerator;
 import org.datatransferproject.security.SymmetricKeyGenerator;
 import org.datatransferproject.spi.cloud.extension.CloudExtension;
 import org.datatransferproject.spi.cloud.storage.AppCredentialStore;
+import org.datatransferproject.spi.cloud.storage.ChunkedJobStore;
 import org.datatransferproject.spi.cloud.storage.JobStore;
 import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
 import org.datatransferproject.spi.service.extension.ServiceExtension;
@@ -90,8 +91,15 @@ public class WorkerMain {
     monitor.info(() -> "Using CloudExtension: " + cloudExtension.getClass().getName());
 
     JobStore jobStore = cloudExtension.getJobStore();
-    extensionContext.registerService(JobStore.class, jobStore);
-    extensionContext.registerService(TemporaryPerJobDataStore.class, jobStore);
+    // Storing streams in chunks lets a failed write resume and skips content stored before. Both
+    // services get the chunked store, since extensions read and write their data through either.
+    // The job store has to support updating data, which the Azure table store doesn't.
+    JobStore dataStore =
+        extensionContext.getSetting("chunkedTemporaryStoreEnabled", false)
+            ? new ChunkedJobStore(jobStore)
+            : jobStore;
+    extensionContext.registerService(JobStore.class, dataStore);
+    extensionContext.registerService(TemporaryPerJobDataStore.class, dataStore);
 
     AppCredentialStore appCredentialStore = cloudExtension.getAppCredentialStore();
     extensionContext.registerService(AppCredentialStore.class, appCredentialStore);
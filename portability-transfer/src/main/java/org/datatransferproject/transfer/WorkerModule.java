@@ -31,6 +31,7 @@ import java.io.InputStream;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import org.datatransferproject.api.launcher.DelegatingExtensionContext;
 import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.ExtensionContext;
@@ -38,12 +39,14 @@ import org.datatransferproject.api.launcher.Flag;
 import org.datatransferproject.api.launcher.MetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.config.FlagBindingModule;
+import org.datatransferproject.launcher.metrics.InMemoryDtpInternalMetricRecorder;
 import org.datatransferproject.launcher.metrics.LoggingDtpInternalMetricRecorder;
 import org.datatransferproject.launcher.metrics.ServiceAwareMetricRecorder;
 import org.datatransferproject.security.SymmetricKeyGenerator;
 import org.datatransferproject.spi.cloud.extension.CloudExtension;
 import org.datatransferproject.spi.cloud.storage.AppCredentialStore;
 import org.datatransferproject.spi.cloud.storage.JobStore;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
 import org.datatransferproject.spi.transfer.extension.TransferExtension;
 import org.datatransferproject.spi.transfer.hooks.JobHooks;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
@@ -56,8 +59,10 @@ import org.datatransferproject.spi.transfer.security.AuthDataDecryptService;
 import org.datatransferproject.spi.transfer.security.PublicKeySerializer;
 import org.datatransferproject.spi.transfer.security.SecurityExtension;
 import org.datatransferproject.spi.transfer.security.TransferKeyGenerator;
+import org.datatransferproject.transfer.copier.PendingContainerBudget;
 import org.datatransferproject.transfer.copier.InMemoryDataCopier;
 import org.datatransferproject.transfer.copier.InMemoryDataCopierClassLoader;
+import org.datatransferproject.transfer.copier.SpilledContainerResource;
 import org.datatransferproject.types.transfer.retry.RetryStrategyLibrary;
 import org.datatransferproject.types.transfer.serviceconfig.TransferServiceConfig;
 
@@ -122,6 +127,8 @@ final class WorkerModule extends FlagBindingModule {
 
     // Ensure a DtpInternalMetricRecorder exists
     LoggingDtpInternalMetricRecorder.registerRecorderIfNeeded(context);
+    // Keep a per-job summary of throughput and latency on top of it
+    InMemoryDtpInternalMetricRecorder.registerSummarizingRecorder(context);
     bind(DtpInternalMetricRecorder.class)
         .toInstance(context.getService(DtpInternalMetricRecorder.class));
   }
@@ -156,6 +163,13 @@ final class WorkerModule extends FlagBindingModule {
     return cloudExtension.getJobStore();
   }
 
+  @Provides
+  @Singleton
+  TemporaryPerJobDataStore getTemporaryPerJobDataStore() {
+    // The store given to the transfer extensions, which may wrap the JobStore
+    return context.getService(TemporaryPerJobDataStore.class);
+  }
+
   @Provides
   @Singleton
   AppCredentialStore getBucketStore() {
@@ -270,6 +284,20 @@ final class WorkerModule extends FlagBindingModule {
         0, interval, TimeUnit.MILLISECONDS);
   }
 
+  @Provides
+  @Singleton
+  @Nullable
+  PendingContainerBudget getPendingContainerBudget(JobStore jobStore, ObjectMapper objectMapper) {
+    int budgetMb = context.getSetting("pendingContainerBudgetMb", 0); // Default: no budget
+    if (budgetMb <= 0) {
+      return null;
+    }
+    // Spilled resources are kept on the job stack by reference
+    context.getTypeManager().registerTypes(SpilledContainerResource.class);
+    return new PendingContainerBudget(
+        jobStore, objectMapper, getMonitor(), budgetMb * 1024L * 1024L);
+  }
+
   @Provides
   @Singleton
   Monitor getMonitor() {
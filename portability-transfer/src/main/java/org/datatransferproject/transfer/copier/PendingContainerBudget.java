@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.transfer.copier;
+
+import static java.lang.String.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
+import org.datatransferproject.types.common.ExportInformation;
+import org.datatransferproject.types.common.models.ContainerResource;
+import org.datatransferproject.types.common.models.DataModel;
+
+/**
+ * Keeps track of how much memory the container resources a copier has set aside to copy later take
+ * up for a job, and moves the ones that would take it over budget out to the job's {@link
+ * TemporaryPerJobDataStore}.
+ *
+ * <p>Only those pending container resources are ever spilled. The page being copied is handed to
+ * the importer as is, since it needs the whole page at once, so a page larger than the budget is
+ * only reported by {@link #reportOversizedPage}.
+ *
+ * <p>Sizes are estimated as the length of a model's JSON form, which is cheap to compute without
+ * keeping the JSON around and close enough to tell a handful of ids from a page of thousands of
+ * items.
+ *
+ * <p>A spilled resource is replaced by a {@link SpilledContainerResource} holding only its key;
+ * {@link #restore} reads it back when it is about to be copied and {@link #release} removes it
+ * from the store once the copy iteration is done. Spilled data is left in place until then so a
+ * job resumed from a saved stack can still read it.
+ *
+ * <p>Not thread safe, a copier uses a budget from the one thread that runs the job.
+ */
+public class PendingContainerBudget {
+  private static final String SPILL_KEY_PREFIX = "spilled-container-";
+
+  private final TemporaryPerJobDataStore dataStore;
+  private final ObjectMapper objectMapper;
+  private final Monitor monitor;
+  private final long budgetBytes;
+  // Resources kept in memory and what they were counted as, by identity since not every
+  // ContainerResource implements equals
+  private final Map<ContainerResource, Long> heldResources = new IdentityHashMap<>();
+  private long heldBytes = 0;
+
+  public PendingContainerBudget(
+      TemporaryPerJobDataStore dataStore,
+      ObjectMapper objectMapper,
+      Monitor monitor,
+      long budgetBytes) {
+    this.dataStore = dataStore;
+    this.objectMapper = objectMapper;
+    this.monitor = monitor;
+    this.budgetBytes = budgetBytes;
+  }
+
+  public long getBudgetBytes() {
+    return budgetBytes;
+  }
+
+  /** Bytes counted against the budget by resources that are waiting in memory. */
+  public long getHeldBytes() {
+    return heldBytes;
+  }
+
+  /**
+   * Estimates the size of {@code model} from its JSON form, or returns -1 if it can't be
+   * serialized.
+   */
+  public long estimateSize(DataModel model) {
+    CountingOutputStream counter = new CountingOutputStream(ByteStreams.nullOutputStream());
+    try {
+      objectMapper.writeValue(counter, model);
+    } catch (IOException e) {
+      return -1;
+    }
+    return counter.getCount();
+  }
+
+  /**
+   * Reports an exported page that is larger than the whole budget on its own. The page still has
+   * to be handed to the importer in one piece, so this is only a signal to page the export more
+   * finely.
+   */
+  public void reportOversizedPage(String jobIdPrefix, int copyIteration, DataModel page) {
+    long size = estimateSize(page);
+    if (size > budgetBytes) {
+      monitor.info(
+          () ->
+              format(
+                  "%sExported page of %d bytes in copy iteration %d is over the pending"
+                      + " container budget of %d bytes",
+                  jobIdPrefix, size, copyIteration, budgetBytes));
+    }
+  }
+
+  /**
+   * Counts the container resource of {@code exportInfo} against the budget before it is set
+   * aside to be copied later. If there isn't room for it, the resource is written to the data
+   * store and the returned {@link ExportInformation} refers to it by key instead.
+   */
+  public ExportInformation admit(UUID jobId, ExportInformation exportInfo) throws IOException {
+    ContainerResource resource = exportInfo.getContainerResource();
+    if (resource == null
+        || resource instanceof SpilledContainerResource
+        || heldResources.containsKey(resource)) {
+      return exportInfo;
+    }
+    long size = estimateSize(resource);
+    if (size < 0) {
+      // Nothing we could write out anyway, keep it in memory uncounted
+      return exportInfo;
+    }
+    if (heldBytes + size <= budgetBytes) {
+      heldResources.put(resource, size);
+      heldBytes += size;
+      return exportInfo;
+    }
+
+    String key = SPILL_KEY_PREFIX + UUID.randomUUID();
+    dataStore.create(
+        jobId, key, new ByteArrayInputStream(objectMapper.writeValueAsBytes(resource)));
+    monitor.debug(
+        () ->
+            format(
+                "Job %s: spilled a container resource of %d bytes to %s, %d of %d bytes held",
+                jobId, size, key, heldBytes, budgetBytes));
+    return exportInfo.copyWithResource(new SpilledContainerResource(key, size));
+  }
+
+  /**
+   * Returns {@code exportInfo} with its container resource loaded back from the data store if it
+   * was spilled, and stops counting it against the budget otherwise.
+   */
+  public ExportInformation restore(UUID jobId, ExportInformation exportInfo) throws IOException {
+    ContainerResource resource = exportInfo.getContainerResource();
+    if (resource instanceof SpilledContainerResource) {
+      String key = ((SpilledContainerResource) resource).getKey();
+      try (InputStream stream = dataStore.getStream(jobId, key).getStream()) {
+        return exportInfo.copyWithResource(objectMapper.readValue(stream, ContainerResource.class));
+      }
+    }
+    Long size = heldResources.remove(resource);
+    if (size != null) {
+      heldBytes -= size;
+    }
+    return exportInfo;
+  }
+
+  /**
+   * Removes the spilled copy of the container resource of {@code exportInfo}, if there is one, once
+   * it has been copied.
+   */
+  public void release(UUID jobId, ExportInformation exportInfo) {
+    ContainerResource resource = exportInfo.getContainerResource();
+    if (!(resource instanceof SpilledContainerResource)) {
+      return;
+    }
+    String key = ((SpilledContainerResource) resource).getKey();
+    try {
+      dataStore.removeData(jobId, key);
+    } catch (UnsupportedOperationException e) {
+      // Not every store can remove data, it goes when the job's data does
+      monitor.debug(() -> format("Job %s: unable to remove spilled data %s", jobId, key));
+    }
+  }
+}
@@ -26,11 +26,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import javax.annotation.Nullable;
 import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.launcher.monitor.events.EventCode;
 import org.datatransferproject.spi.cloud.connection.ConnectionProvider;
 import org.datatransferproject.spi.cloud.storage.JobStore;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
 import org.datatransferproject.spi.cloud.types.PortabilityJob;
 import org.datatransferproject.spi.cloud.types.PortabilityJob.TransferMode;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
@@ -71,6 +73,10 @@ public abstract class PortabilityAbstractInMemoryDataCopier implements InMemoryD
   protected final Monitor monitor;
   protected final DtpInternalMetricRecorder metricRecorder;
   protected final JobStore jobStore;
+  /** Where exporters put the items they store for the importer, read to work out their sizes. */
+  protected final TemporaryPerJobDataStore temporaryStore;
+  /** Limits how much exported data is held in memory, or null to not keep track. */
+  @Nullable protected final PendingContainerBudget pendingContainerBudget;
 
   public PortabilityAbstractInMemoryDataCopier(
       Provider<Exporter> exporterProvider,
@@ -81,6 +87,30 @@ public abstract class PortabilityAbstractInMemoryDataCopier implements InMemoryD
       @Annotations.RetryingExecutor IdempotentImportExecutor retryingIdempotentImportExecutor,
       DtpInternalMetricRecorder dtpInternalMetricRecorder,
       JobStore jobStore) {
+    this(
+        exporterProvider,
+        importerProvider,
+        retryStrategyLibraryProvider,
+        monitor,
+        idempotentImportExecutor,
+        retryingIdempotentImportExecutor,
+        dtpInternalMetricRecorder,
+        jobStore,
+        jobStore,
+        null);
+  }
+
+  public PortabilityAbstractInMemoryDataCopier(
+      Provider<Exporter> exporterProvider,
+      Provider<Importer> importerProvider,
+      Provider<RetryStrategyLibrary> retryStrategyLibraryProvider,
+      Monitor monitor,
+      IdempotentImportExecutor idempotentImportExecutor,
+      @Annotations.RetryingExecutor IdempotentImportExecutor retryingIdempotentImportExecutor,
+      DtpInternalMetricRecorder dtpInternalMetricRecorder,
+      JobStore jobStore,
+      TemporaryPerJobDataStore temporaryStore,
+      @Nullable PendingContainerBudget pendingContainerBudget) {
     this.exporterProvider = exporterProvider;
     this.importerProvider = importerProvider;
     this.retryStrategyLibraryProvider = retryStrategyLibraryProvider;
@@ -89,6 +119,8 @@ public abstract class PortabilityAbstractInMemoryDataCopier implements InMemoryD
     this.retryingIdempotentImportExecutor = retryingIdempotentImportExecutor;
     this.metricRecorder = dtpInternalMetricRecorder;
     this.jobStore = jobStore;
+    this.temporaryStore = temporaryStore;
+    this.pendingContainerBudget = pendingContainerBudget;
   }
 
   public abstract void resetCopyIterationCounter();
@@ -124,6 +156,9 @@ public abstract class PortabilityAbstractInMemoryDataCopier implements InMemoryD
 
     DataModel exportedData = exportResult.getExportedData();
     if (exportedData != null) {
+      if (pendingContainerBudget != null) {
+        pendingContainerBudget.reportOversizedPage(jobIdPrefix, copyIteration, exportedData);
+      }
       PortabilityJob job = jobStore.findJob(jobId);
       TransferMode transferMode =
           job.transferMode() == null ? TransferMode.DATA_TRANSFER : job.transferMode();
@@ -166,7 +201,8 @@ public abstract class PortabilityAbstractInMemoryDataCopier implements InMemoryD
             Clock.systemUTC(),
             monitor,
             JobMetadata.getDataType(),
-            JobMetadata.getExportService());
+            JobMetadata.getExportService(),
+            metricRecorder);
     boolean exportSuccess = false;
     Stopwatch exportStopwatch = Stopwatch.createStarted();
     try {
@@ -214,7 +250,8 @@ public abstract class PortabilityAbstractInMemoryDataCopier implements InMemoryD
             Clock.systemUTC(),
             monitor,
             JobMetadata.getDataType(),
-            JobMetadata.getImportService());
+            JobMetadata.getImportService(),
+            metricRecorder);
     boolean importSuccess = false;
     Stopwatch importStopwatch = Stopwatch.createStarted();
     try {
@@ -263,7 +300,8 @@ public abstract class PortabilityAbstractInMemoryDataCopier implements InMemoryD
     }
 
     CallableSizeCalculator callableSizeCalculator =
-        new CallableSizeCalculator(jobId, new ConnectionProvider(jobStore), items);
+        new CallableSizeCalculator(
+            jobId, new ConnectionProvider(temporaryStore, metricRecorder), items);
     try {
       RetryingCallable<Map<String, Long>> retryingImporter =
           new RetryingCallable<>(
@@ -272,7 +310,8 @@ public abstract class PortabilityAbstractInMemoryDataCopier implements InMemoryD
               Clock.systemUTC(),
               monitor,
               JobMetadata.getDataType(),
-              JobMetadata.getImportService());
+              JobMetadata.getImportService(),
+              metricRecorder);
       jobStore.addBytes(jobId, retryingImporter.call());
     } catch (RetryException | RuntimeException e) {
       throw convertToCopyException(jobIdPrefix, "size estimation", e);
@@ -20,17 +20,19 @@ import java.io.IOException;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.spi.cloud.storage.JobStore;
+import org.datatransferproject.spi.cloud.storage.TemporaryPerJobDataStore;
 import org.datatransferproject.spi.transfer.idempotentexecutor.IdempotentImportExecutor;
-import org.datatransferproject.spi.transfer.provider.ExportResult;
 import org.datatransferproject.spi.transfer.provider.Exporter;
 import org.datatransferproject.spi.transfer.provider.Importer;
 import org.datatransferproject.spi.transfer.types.ContinuationData;
 import org.datatransferproject.spi.transfer.types.CopyException;
 import org.datatransferproject.transfer.Annotations;
+import org.datatransferproject.transfer.JobMetadata;
 import org.datatransferproject.types.common.ExportInformation;
 import org.datatransferproject.types.common.models.ContainerResource;
 import org.datatransferproject.types.transfer.auth.AuthData;
@@ -42,7 +44,6 @@ public class PortabilityInMemoryDataCopier extends PortabilityAbstractInMemoryDa
 
   private static final AtomicInteger COPY_ITERATION_COUNTER = new AtomicInteger();
 
-  @Inject
   public PortabilityInMemoryDataCopier(
       Provider<Exporter> exporterProvider,
       Provider<Importer> importerProvider,
@@ -52,6 +53,31 @@ public class PortabilityInMemoryDataCopier extends PortabilityAbstractInMemoryDa
       @Annotations.RetryingExecutor IdempotentImportExecutor retryingIdempotentImportExecutor,
       DtpInternalMetricRecorder dtpInternalMetricRecorder,
       JobStore jobStore) {
+    this(
+        exporterProvider,
+        importerProvider,
+        retryStrategyLibraryProvider,
+        monitor,
+        idempotentImportExecutor,
+        retryingIdempotentImportExecutor,
+        dtpInternalMetricRecorder,
+        jobStore,
+        jobStore,
+        null);
+  }
+
+  @Inject
+  public PortabilityInMemoryDataCopier(
+      Provider<Exporter> exporterProvider,
+      Provider<Importer> importerProvider,
+      Provider<RetryStrategyLibrary> retryStrategyLibraryProvider,
+      Monitor monitor,
+      IdempotentImportExecutor idempotentImportExecutor,
+      @Annotations.RetryingExecutor IdempotentImportExecutor retryingIdempotentImportExecutor,
+      DtpInternalMetricRecorder dtpInternalMetricRecorder,
+      JobStore jobStore,
+      TemporaryPerJobDataStore temporaryStore,
+      @Nullable PendingContainerBudget pendingContainerBudget) {
     super(
         exporterProvider,
         importerProvider,
@@ -60,7 +86,9 @@ public class PortabilityInMemoryDataCopier extends PortabilityAbstractInMemoryDa
         idempotentImportExecutor,
         retryingIdempotentImportExecutor,
         dtpInternalMetricRecorder,
-        jobStore);
+        jobStore,
+        temporaryStore,
+        pendingContainerBudget);
   }
 
   @Override
@@ -78,6 +106,10 @@ public class PortabilityInMemoryDataCopier extends PortabilityAbstractInMemoryDa
       throws IOException, CopyException {
     idempotentImportExecutor.setJobId(jobId);
     retryingIdempotentImportExecutor.setJobId(jobId);
+    idempotentImportExecutor.setJobMetricTags(
+        JobMetadata.getDataType(), JobMetadata.getImportService());
+    retryingIdempotentImportExecutor.setJobMetricTags(
+        JobMetadata.getDataType(), JobMetadata.getImportService());
     copyHelper(exportAuthData, importAuthData, jobId, exportInfo);
   }
 
@@ -105,12 +137,15 @@ public class PortabilityInMemoryDataCopier extends PortabilityAbstractInMemoryDa
     // then do sub resources, this ensures all parents are populated before children get
     // processed.
 
-    ExportResult<?> exportResult =
+    // Only hold on to the continuation data: the exported page has been imported by now, and
+    // keeping it referenced here would keep every page of the resource in memory until the
+    // recursion below unwinds.
+    ContinuationData continuationData =
         copyIteration(
-            jobId, exportAuthData, importAuthData, exportInfo, jobIdPrefix, copyIteration);
+                jobId, exportAuthData, importAuthData, exportInfo, jobIdPrefix, copyIteration)
+            .getContinuationData();
 
     // Import and Export were successful, determine what to do next
-    ContinuationData continuationData = exportResult.getContinuationData();
 
     if (null != continuationData) {
       // Process the next page of items for the resource
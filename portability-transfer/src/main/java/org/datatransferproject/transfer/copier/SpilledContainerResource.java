@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.datatransferproject.transfer.copier;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+import org.datatransferproject.types.common.models.ContainerResource;
+
+/**
+ * Stands in for a {@link ContainerResource} that was too large to keep in memory while waiting to
+ * be copied. The resource itself was written to the job store under {@link #getKey()} and is read
+ * back by {@link PendingContainerBudget#restore} when its turn comes.
+ */
+@JsonTypeName("org.dataportability:SpilledContainerResource")
+public class SpilledContainerResource extends ContainerResource {
+  private final String key;
+  private final long estimatedBytes;
+
+  @JsonCreator
+  public SpilledContainerResource(
+      @JsonProperty("key") String key, @JsonProperty("estimatedBytes") long estimatedBytes) {
+    this.key = key;
+    this.estimatedBytes = estimatedBytes;
+  }
+
+  /** The job store key the resource was written under. */
+  public String getKey() {
+    return key;
+  }
+
+  /** The size of the resource when serialized, as estimated when it was spilled. */
+  public long getEstimatedBytes() {
+    return estimatedBytes;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SpilledContainerResource that = (SpilledContainerResource) o;
+    return estimatedBytes == that.estimatedBytes && Objects.equals(key, that.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(key, estimatedBytes);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("key", key)
+        .add("estimatedBytes", estimatedBytes)
+        .toString();
+  }
+}
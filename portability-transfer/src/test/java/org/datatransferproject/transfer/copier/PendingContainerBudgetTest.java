@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 The Data Transfer Project Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.datatransferproject.transfer.copier;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.UUID;
+import org.datatransferproject.api.launcher.Monitor;
+import org.datatransferproject.cloud.local.LocalJobStore;
+import org.datatransferproject.types.common.ExportInformation;
+import org.datatransferproject.types.common.models.IdOnlyContainerResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class PendingContainerBudgetTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private UUID jobId;
+  private IdOnlyContainerResource resource;
+  private long resourceSize;
+
+  @BeforeEach
+  public void setUp() {
+    jobId = UUID.randomUUID();
+    resource = new IdOnlyContainerResource("album-1");
+    resourceSize = newBudget(0).estimateSize(resource);
+  }
+
+  @Test
+  public void admit_keepsResourcesThatFitInMemory() throws Exception {
+    PendingContainerBudget budget = newBudget(resourceSize);
+    ExportInformation exportInfo = new ExportInformation(null, resource);
+
+    ExportInformation admitted = budget.admit(jobId, exportInfo);
+
+    assertThat(admitted).isSameInstanceAs(exportInfo);
+    assertThat(budget.getHeldBytes()).isEqualTo(resourceSize);
+
+    assertThat(budget.restore(jobId, admitted)).isSameInstanceAs(exportInfo);
+    assertThat(budget.getHeldBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void admit_spillsResourcesOverBudgetAndRestoresThem() throws Exception {
+    PendingContainerBudget budget = newBudget(resourceSize);
+    budget.admit(jobId, new ExportInformation(null, new IdOnlyContainerResource("album-0")));
+    ExportInformation exportInfo = new ExportInformation(null, resource);
+
+    ExportInformation admitted = budget.admit(jobId, exportInfo);
+
+    assertThat(admitted.getContainerResource()).isInstanceOf(SpilledContainerResource.class);
+    assertThat(((SpilledContainerResource) admitted.getContainerResource()).getEstimatedBytes())
+        .isEqualTo(resourceSize);
+    assertThat(budget.getHeldBytes()).isEqualTo(resourceSize);
+
+    assertThat(budget.restore(jobId, admitted)).isEqualTo(exportInfo);
+    // The store can't remove data, which must not fail the copy
+    budget.release(jobId, admitted);
+  }
+
+  private PendingContainerBudget newBudget(long budgetBytes) {
+    Monitor monitor = Mockito.mock(Monitor.class);
+    return new PendingContainerBudget(
+        new LocalJobStore(monitor), objectMapper, monitor, budgetBytes);
+  }
+}
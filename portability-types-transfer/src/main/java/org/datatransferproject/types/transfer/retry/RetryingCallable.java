@@ -22,6 +22,8 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.Callable;
+import javax.annotation.Nullable;
+import org.datatransferproject.api.launcher.DtpInternalMetricRecorder;
 import org.datatransferproject.api.launcher.Monitor;
 import org.datatransferproject.types.common.models.DataVertical;
 
@@ -38,6 +40,7 @@ public class RetryingCallable<T> implements Callable<T> {
   private final Monitor monitor;
   private final DataVertical dataType;
   private final String service;
+  @Nullable private final DtpInternalMetricRecorder metricRecorder;
 
   private volatile int attempts;
   private volatile Exception mostRecentException;
@@ -49,12 +52,25 @@ public class RetryingCallable<T> implements Callable<T> {
       Monitor monitor,
       DataVertical dataType,
       String service) {
+    this(callable, retryStrategyLibrary, clock, monitor, dataType, service, null);
+  }
+
+  /** @param metricRecorder if set, records every failed attempt */
+  public RetryingCallable(
+      Callable<T> callable,
+      RetryStrategyLibrary retryStrategyLibrary,
+      Clock clock,
+      Monitor monitor,
+      DataVertical dataType,
+      String service,
+      @Nullable DtpInternalMetricRecorder metricRecorder) {
     this.callable = callable;
     this.retryStrategyLibrary = retryStrategyLibrary;
     this.clock = clock;
     this.monitor = monitor;
     this.dataType = dataType;
     this.service = service;
+    this.metricRecorder = metricRecorder;
     this.attempts = 0;
   }
 
@@ -86,7 +102,11 @@ public class RetryingCallable<T> implements Callable<T> {
       } catch (Exception e) {
         mostRecentException = e;
         monitor.info(() -> "RetryingCallable caught an exception", e);
-        long elapsedMillis = Duration.between(start, clock.instant()).toMillis();
+        Duration elapsed = Duration.between(start, clock.instant());
+        long elapsedMillis = elapsed.toMillis();
+        if (metricRecorder != null) {
+          metricRecorder.retryAttemptFailed(dataType, service, attempts, elapsed);
+        }
         // TODO: do we want to reset anything (eg, number of retries) if we see a different
         // RetryStrategy?
         RetryStrategy strategy = retryStrategyLibrary.checkoutRetryStrategy(e);